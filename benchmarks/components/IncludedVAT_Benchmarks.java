@@ -0,0 +1,66 @@
+package components;
+
+import datamodel.Pricing.PricingCategory;
+
+import harness.Harness;
+
+
+/**
+ * Benchmarks for {@link Calculator}: included VAT calculated by the former
+ * {@code double} implementation, by the integer implementation in basis
+ * points and over columns of gross values and tax rates.
+ */
+public class IncludedVAT_Benchmarks {
+
+    /*
+     * Number of values calculated by one operation.
+     */
+    private static final int n = 1_000_000;
+
+    /*
+     * Tax rates of all pricing categories in percent and basis points.
+     */
+    private static final double[] percents = { 19.0, 7.0, 0.0, 8.1, 2.6, 3.8, 20.0, 5.0 };
+    private static final int[] basisPoints = { 1900, 700, 0, 810, 260, 380, 2000, 500 };
+
+    /*
+     * Former {@code double} implementation.
+     */
+    private static long doubleIncludedVAT(long grossValue, double taxRate) {
+        if (grossValue <= 0L) {
+            return 0L;
+        }
+        double divisor = 1 + (taxRate / 100.0);
+        return Math.round(grossValue - (grossValue / divisor));
+    }
+
+    public static void main(String[] args) throws Exception {
+        var calculator = Components.getInstance().getCalculator();
+        Harness.of(IncludedVAT_Benchmarks.class)
+            .add("includedVAT.double", n, () -> () -> {
+                long sum = 0L;
+                for (int i = 0; i < n; i++) {
+                    sum += doubleIncludedVAT(i, percents[i & 7]);
+                }
+                return sum;
+            })
+            .add("includedVAT.integer", n, () -> () -> {
+                long sum = 0L;
+                for (int i = 0; i < n; i++) {
+                    sum += calculator.calculateIncludedVATBasisPoints(i, basisPoints[i & 7]);
+                }
+                return sum;
+            })
+            .add("includedVAT.column", n, () -> {
+                var pricing = PricingCategory.SwissPricing.pricing();
+                long[] gross = new long[n];
+                byte[] ordinals = new byte[n];
+                for (int i = 0; i < n; i++) {
+                    gross[i] = i;
+                    ordinals[i] = (byte) (i & 3);
+                }
+                return () -> calculator.calculateIncludedVAT(gross, ordinals, pricing)[n - 1];
+            })
+            .run(args);
+    }
+}
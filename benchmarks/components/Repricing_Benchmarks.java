@@ -0,0 +1,38 @@
+package components;
+
+import datamodel.Article;
+import datamodel.Pricing;
+import datamodel.Pricing.PricingCategory;
+
+import harness.Harness;
+
+
+/**
+ * Benchmarks for {@link Repricing}: price factor changes of a category
+ * with stored derived prices of 500k articles.
+ */
+public class Repricing_Benchmarks {
+
+    /*
+     * Number of articles repriced by one operation.
+     */
+    private static final int n = 500_000;
+
+    public static void main(String[] args) throws Exception {
+        var repricing = Components.getInstance().getRepricing();
+        Harness.of(Repricing_Benchmarks.class)
+            .add("repricing.stored", n, () -> {
+                Pricing.update(batch -> {
+                    for (int i = 0; i < n; i++) {
+                        var article = new Article(String.format("SKU-B%06d", i), "Benchmark");
+                        batch.put(article, 100 + i, Pricing.TAXRate.Regular, PricingCategory.BasePricing);
+                    }
+                });
+                var factors = new double[] { 1.2, 1.3 };
+                var round = new int[1];
+                return () -> repricing.changePriceFactor(PricingCategory.UKPricing,
+                    factors[round[0]++ & 1], p -> { }).join().articles();
+            })
+            .run(args);
+    }
+}
@@ -0,0 +1,63 @@
+package components.impl;
+
+import datamodel.Pricing;
+import datamodel.Pricing.PricingCategory;
+
+import harness.Harness;
+
+import java.util.Random;
+
+
+/**
+ * Benchmarks for {@link CalculatorImpl}: scalar loop and {@link IncludedVATVector}
+ * calculating included VAT over columns. The vector benchmark requires JavaVM
+ * option {@code --add-modules jdk.incubator.vector}.
+ */
+public class IncludedVATColumn_Benchmarks {
+
+    /*
+     * Number of values calculated by one operation.
+     */
+    private static final int n = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        var calculator = new CalculatorImpl();
+        var pricing = PricingCategory.SwissPricing.pricing();
+        long[] gross = new long[n];
+        byte[] ordinals = new byte[n];
+        long[] vats = new long[n];
+        int[] rates = new int[Pricing.TAXRate.values().length];
+        for (var taxRate : Pricing.TAXRate.values()) {
+            rates[taxRate.ordinal()] = pricing.taxRateBasisPoints(taxRate);
+        }
+        Harness.of(IncludedVATColumn_Benchmarks.class)
+            .add("includedVAT.column.scalar", n, () -> {
+                fill(gross, ordinals);
+                return () -> {
+                    calculator.calculateIncludedVAT(gross, ordinals, rates, vats, 0, n);
+                    return vats[n - 1];
+                };
+            })
+            .add("includedVAT.column.vector", n, () -> {
+                fill(gross, ordinals);
+                return () -> {
+                    int i = new IncludedVATVector(rates).calculate(gross, ordinals, vats, 0);
+                    calculator.calculateIncludedVAT(gross, ordinals, rates, vats, i, n);
+                    return vats[n - 1];
+                };
+            })
+            .run(args);
+    }
+
+    /*
+     * Fill columns with random gross values up to {@code 10^9} and ordinals
+     * of all tax rates.
+     */
+    private static void fill(long[] gross, byte[] ordinals) {
+        var random = new Random(1);
+        for (int i = 0; i < gross.length; i++) {
+            gross[i] = random.nextInt(1_000_000_000);
+            ordinals[i] = (byte) random.nextInt(Pricing.TAXRate.values().length);
+        }
+    }
+}
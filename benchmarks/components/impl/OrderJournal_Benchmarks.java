@@ -0,0 +1,111 @@
+package components.impl;
+
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.Order;
+import datamodel.Pricing.PricingCategory;
+
+import harness.Harness;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * Benchmarks for {@link OrderJournalImpl}: parallel appends with group
+ * commit and replay of journal records. Segment files are written to a
+ * temporary directory that is removed when the fork exits.
+ */
+public class OrderJournal_Benchmarks {
+
+    /*
+     * Number of orders appended or replayed by one operation.
+     */
+    private static final int n = 1_000;
+
+    /*
+     * Number of orders in the replayed journal.
+     */
+    private static final int replayed = 200_000;
+
+    public static void main(String[] args) throws Exception {
+        Harness.of(OrderJournal_Benchmarks.class)
+            .add("orderJournal.append.parallel", n, () -> {
+                var journal = open();
+                var fixture = new Fixture();
+                return () -> {
+                    IntStream.range(0, n).parallel().forEach(i -> journal.append(fixture.createOrder(i)));
+                    return journal.appended();
+                };
+            })
+            .add("orderJournal.replay", replayed, () -> {
+                var journal = open();
+                var fixture = new Fixture();
+                IntStream.range(0, replayed).parallel().forEach(i -> journal.append(fixture.createOrder(i)));
+                return () -> journal.replay(fixture::customer, fixture::article, order -> { });
+            })
+            .run(args);
+    }
+
+    /*
+     * Customer and articles of appended orders.
+     */
+    private static final class Fixture {
+        private final Customer customer;
+        private final Article tasse, kanne;
+
+        Fixture() {
+            var dataFactory = ComponentsImpl.getInstance().getDataFactory();
+            customer = dataFactory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+            tasse = dataFactory.createArticle("Tasse", 299, PricingCategory.BasePricing).get();
+            kanne = dataFactory.createArticle("Kanne", 1999, PricingCategory.BasePricing).get();
+        }
+
+        Order createOrder(long id) {
+            return new Order(id, customer, PricingCategory.UKPricing.pricing(),
+                    LocalDateTime.of(2024, 5, 17, 12, 30, 15, 123456789))
+                .addItem(tasse, id % 7 + 1).addItem(kanne, 2);
+        }
+
+        Optional<Customer> customer(long id) {
+            return id == customer.getId() ? Optional.of(customer) : Optional.empty();
+        }
+
+        Optional<Article> article(String id) {
+            return Optional.ofNullable(id.equals(tasse.getId()) ? tasse : id.equals(kanne.getId()) ? kanne : null);
+        }
+    }
+
+    /*
+     * Open journal in a temporary directory removed at exit of the fork.
+     */
+    private static OrderJournalImpl open() {
+        try {
+            var directory = Files.createTempDirectory("journal");
+            var journal = new OrderJournalImpl(directory, OrderJournalImpl.defaultSegmentSize,
+                ((DataFactoryImpl) ComponentsImpl.getInstance().getDataFactory()).orderRestorer());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                journal.close();
+                delete(directory);
+            }));
+            return journal;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
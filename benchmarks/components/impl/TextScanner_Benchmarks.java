@@ -0,0 +1,56 @@
+package components.impl;
+
+import harness.Harness;
+
+import java.util.regex.Pattern;
+
+
+/**
+ * Benchmarks for {@link TextScanner}: validation of contacts with the
+ * regular expressions formerly used in {@link DataFactoryImpl} and with
+ * scanners.
+ */
+public class TextScanner_Benchmarks {
+
+    /*
+     * Regular expressions formerly used in {@link DataFactoryImpl}.
+     */
+    private static final Pattern nameRegex = Pattern.compile("^[A-Za-z][A-Za-z-\\s.]*$");
+    private static final Pattern emailRegex = Pattern.compile("^[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z0-9_]+$",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern phoneRegex = Pattern.compile("^(phone:|fax:|\\+[0-9]+){0,1}\\s*[\\s0-9()][\\s0-9()-]*",
+        Pattern.CASE_INSENSITIVE);
+
+    private static String regexTrim(String s) {
+        s = s.replaceAll("^[\\s\"',;]*", "");
+        s = s.replaceAll("[\\s\"',;]*$", "");
+        s = s.replaceAll("[\\s]+", " ");
+        return s;
+    }
+
+    /*
+     * Contacts validated by one operation each.
+     */
+    private static final String[] contacts = { " 'eric98@yahoo.com', ", "+49 030 3945-642298", "  Eric   Meyer " };
+
+    public static void main(String[] args) throws Exception {
+        Harness.of(TextScanner_Benchmarks.class)
+            .add("validateContact.regex", contacts.length, () -> () -> {
+                long valid = 0L;
+                for (var contact : contacts) {
+                    var c = regexTrim(contact);
+                    valid += emailRegex.matcher(c).matches() || phoneRegex.matcher(c).matches() || nameRegex.matcher(c).matches()? 1 : 0;
+                }
+                return valid;
+            })
+            .add("validateContact.scanner", contacts.length, () -> () -> {
+                long valid = 0L;
+                for (var contact : contacts) {
+                    var c = TextScanner.trimQuotesAndWhiteSpaces(contact);
+                    valid += TextScanner.isEmail(c) || TextScanner.isPhone(c) || TextScanner.isName(c)? 1 : 0;
+                }
+                return valid;
+            })
+            .run(args);
+    }
+}
@@ -0,0 +1,177 @@
+package harness;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+
+/**
+ * Benchmark harness for classes in the {@code benchmarks} source tree, which
+ * is kept apart from {@code tests} so that JUnit tests remain deterministic
+ * and print nothing. The harness follows the model of JMH:
+ * <pre>
+ * - each benchmark runs in its own forked JavaVM with the same JavaVM
+ *   options and class path, so JIT profiles of one benchmark do not
+ *   influence another,
+ * - set-up code runs once in the fork, outside of measured iterations,
+ * - warm-up iterations are run and discarded before measured iterations,
+ * - results of operations are consumed by the harness so the JIT cannot
+ *   eliminate the measured code as dead code,
+ * - results are reported as mean and standard deviation of nanoseconds
+ *   per operation over measured iterations.
+ * </pre>
+ * Compile and run benchmarks after {@code mk compile}, e.g.:
+ * <pre>
+ * javac -cp bin/classes -d bin/benchmark-classes $(find benchmarks -name '*.java')
+ * java -cp bin/classes:bin/benchmark-classes components.IncludedVAT_Benchmarks
+ * </pre>
+ * Arguments select benchmarks by name prefix. System properties
+ * {@code harness.warmups}, {@code harness.iterations} and
+ * {@code harness.millis} (duration of one iteration) change defaults.
+ */
+public final class Harness {
+
+    /**
+     * Measured operation, the result is consumed by the harness.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        long run();
+    }
+
+    /*
+     * Benchmark registered with the harness: number of operations performed
+     * by one invocation and set-up code that returns the operation.
+     */
+    private record Benchmark(long operations, Supplier<Operation> setup) { }
+
+    /*
+     * Argument that makes the JavaVM run one benchmark as fork.
+     */
+    private static final String forkArgument = "--fork";
+
+    /*
+     * Class with the {@code main()} method that registers benchmarks.
+     */
+    private final Class<?> benchmarks;
+
+    /*
+     * Registered benchmarks by name in registration order.
+     */
+    private final Map<String, Benchmark> registered = new LinkedHashMap<>();
+
+    /*
+     * Warm-up and measured iterations and duration of one iteration.
+     */
+    private final int warmups = Integer.getInteger("harness.warmups", 5);
+    private final int iterations = Integer.getInteger("harness.iterations", 10);
+    private final long millis = Long.getLong("harness.millis", 500L);
+
+    /*
+     * Consumed results of operations.
+     */
+    private static volatile long sink;
+
+
+    /**
+     * Create harness for benchmarks registered by a class with a
+     * {@code main()} method that calls {@link #run(String[])}.
+     *
+     * @param benchmarks class that registers benchmarks
+     * @return harness to register benchmarks with
+     */
+    public static Harness of(Class<?> benchmarks) {
+        return new Harness(benchmarks);
+    }
+
+    private Harness(Class<?> benchmarks) {
+        this.benchmarks = benchmarks;
+    }
+
+    /**
+     * Register benchmark. Set-up code only runs in the fork of the benchmark.
+     *
+     * @param name name of benchmark
+     * @param operations number of operations performed by one invocation
+     * @param setup set-up code that returns the operation to measure
+     * @return chainable self-reference
+     * @throws IllegalArgumentException with duplicate name or operations less than 1
+     */
+    public Harness add(String name, long operations, Supplier<Operation> setup) {
+        if (operations < 1L || registered.containsKey(name))
+            throw new IllegalArgumentException("duplicate benchmark or no operations: " + name);
+        //
+        registered.put(name, new Benchmark(operations, setup));
+        return this;
+    }
+
+    /**
+     * Run benchmarks selected by name prefixes, each in a forked JavaVM,
+     * or all benchmarks without arguments.
+     *
+     * @param args name prefixes of benchmarks to run
+     * @throws Exception when a fork cannot be started or fails
+     */
+    public void run(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals(forkArgument)) {
+            measure(args[1]);
+            return;
+        }
+        System.out.println(String.format("%-40s %12s %10s   (%d x %d ms, %d warm-up)",
+            "benchmark", "ns/op", "stddev", iterations, millis, warmups));
+        for (var name : registered.keySet()) {
+            if (args.length == 0 || Arrays.stream(args).anyMatch(name::startsWith)) {
+                var command = new ArrayList<String>();
+                command.add(ProcessHandle.current().info().command().orElse("java"));
+                command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+                command.addAll(List.of("-cp", System.getProperty("java.class.path"),
+                    benchmarks.getName(), forkArgument, name));
+                int exit = new ProcessBuilder(command).inheritIO().start().waitFor();
+                if (exit != 0)
+                    throw new IllegalStateException("benchmark " + name + " failed with exit code " + exit);
+            }
+        }
+    }
+
+    /*
+     * Run set-up, warm-up and measured iterations of one benchmark in
+     * this JavaVM and print the result.
+     */
+    private void measure(String name) {
+        var benchmark = registered.get(name);
+        if (benchmark == null)
+            throw new IllegalArgumentException("no benchmark: " + name);
+        //
+        var operation = benchmark.setup().get();
+        for (int i = 0; i < warmups; i++) {
+            iteration(operation, benchmark.operations());
+        }
+        double[] results = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            results[i] = iteration(operation, benchmark.operations());
+        }
+        double mean = Arrays.stream(results).average().orElse(0.0);
+        double variance = Arrays.stream(results).map(r -> (r - mean) * (r - mean)).sum()
+            / Math.max(1, iterations - 1);
+        System.out.println(String.format("%-40s %12.3f %10.3f", name, mean, Math.sqrt(variance)));
+    }
+
+    /*
+     * Invoke operation until the iteration duration has passed, return
+     * nanoseconds per operation.
+     */
+    private double iteration(Operation operation, long operations) {
+        long result = 0L, invocations = 0L;
+        long start = System.nanoTime(), end = start + millis * 1_000_000L, now;
+        do {
+            result += operation.run();
+            invocations++;
+        } while ((now = System.nanoTime()) < end);
+        sink += result;
+        return (now - start) / (double) (invocations * operations);
+    }
+}
@@ -3,10 +3,13 @@ package application;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletionException;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
 import java.lang.annotation.*;
 
+import components.Components;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configurator;
@@ -171,6 +174,8 @@ public class Runtime {
      */
     public static Runtime run(String[] args) {
         var rt = getInstance().start(args);
+        rt.configurePricing();
+        rt.restoreSnapshot();
         var rbean = rt.getBean(Runtime.Runnable.class, args);
         if(rbean.isPresent()) {
             var runnable = rbean.get();
@@ -233,6 +238,44 @@ public class Runtime {
         return this;
     }
 
+    /**
+     * Apply price factors of pricing categories configured with properties
+     * {@code pricing.factor.<PricingCategory>} and wait for repricing to
+     * complete. Invalid factors are logged and skipped, other categories
+     * are repriced regardless.
+     */
+    private void configurePricing() {
+        for(var job : Components.getInstance().getRepricing().configure(properties)) {
+            try {
+                var result = job.join();
+                log.info(String.format("price factor %s = %s applied to %d prices in %d ms",
+                    result.category(), result.priceFactor(), result.articles(), result.millis()));
+            } catch(CompletionException ex) {
+                // skip invalid or failed price factor, continue with other categories
+                log.error(String.format("price factor skipped: %s", ex.getCause().getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Restore the working set from the snapshot file configured with property
+     * {@code snapshot.file} before the {@link Runnable} bean runs. Nothing is
+     * restored if the property or the file is not present.
+     */
+    private void restoreSnapshot() {
+        String file = properties.getProperty("snapshot.file");
+        if(file != null && Files.isRegularFile(Paths.get(file))) {
+            long started = System.nanoTime();
+            try {
+                var counts = Components.getInstance().getSnapshotStore().restore(Paths.get(file));
+                log.info(String.format("restored snapshot \"%s\" in %d ms: %s", file,
+                    (System.nanoTime() - started) / 1_000_000L, counts));
+            } catch(RuntimeException ex) {
+                log.error(String.format("restoring snapshot \"%s\"", file), ex);
+            }
+        }
+    }
+
     /**
      * Shutdown {@link Runtime}.
      * @return chainable self-reference
@@ -0,0 +1,29 @@
+package components;
+
+import datamodel.Article;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Interface of system component that holds {@link Article} objects indexed
+ * by id (SKU) and by (case-insensitive) words of their descriptions.
+ */
+public interface ArticleCatalog {
+
+    ArticleCatalog add(Article article);
+
+    ArticleCatalog addAll(Collection<Article> articles);
+
+    Optional<Article> findById(String id);
+
+    List<Article> findByDescription(String words);
+
+    List<Article> findAll();
+
+    int count();
+
+    Function<String, Optional<Article>> articleFetcher();
+}
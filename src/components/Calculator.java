@@ -3,13 +3,135 @@ package components;
 import datamodel.Order;
 import datamodel.OrderItem;
 import datamodel.Pricing;
+import datamodel.Pricing.Currency;
+import datamodel.Pricing.PricingCategory;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Interface of system component that performs price and VAT tax calculations.
  */
 public interface Calculator {
+
+    /**
+     * Record of totals of an {@link Order} calculated in a single pass over
+     * its items: total value, total VAT and value and VAT of each item in
+     * the order of {@code Order.getOrderItems()}. Item columns are copied,
+     * so totals cannot be changed through arrays passed in or returned.
+     *
+     * @param value     total value of the order
+     * @param vat       total VAT included in the order value
+     * @param itemValues value of each ordered item
+     * @param itemVATs  VAT included in each ordered item
+     */
+    record OrderTotals(long value, long vat, long[] itemValues, long[] itemVATs) {
+
+        public OrderTotals {
+            if (itemValues == null || itemVATs == null || itemValues.length != itemVATs.length)
+                throw new IllegalArgumentException("item columns: null or of different length");
+            itemValues = itemValues.clone();
+            itemVATs = itemVATs.clone();
+        }
+
+        public int items() {
+            return itemValues.length;
+        }
+
+        public long itemValue(int i) {
+            return itemValues[i];
+        }
+
+        public long itemVAT(int i) {
+            return itemVATs[i];
+        }
+
+        @Override
+        public long[] itemValues() {
+            return itemValues.clone();
+        }
+
+        @Override
+        public long[] itemVATs() {
+            return itemVATs.clone();
+        }
+    }
+
+    /**
+     * Record of aggregated totals of a batch of {@link Order} objects, indexed
+     * by {@link PricingCategory} ordinal. Totals by {@link Currency} compound
+     * all categories priced in that currency. Columns are copied, so totals
+     * cannot be changed through arrays passed in or returned.
+     *
+     * @param orders number of orders in each category
+     * @param values total order value in each category
+     * @param vats   total VAT in each category
+     */
+    record BatchTotals(long[] orders, long[] values, long[] vats) {
+
+        public BatchTotals {
+            int n = PricingCategory.values().length;
+            if (orders == null || values == null || vats == null
+                    || orders.length != n || values.length != n || vats.length != n)
+                throw new IllegalArgumentException("columns: null or not of one entry per pricing category");
+            orders = orders.clone();
+            values = values.clone();
+            vats = vats.clone();
+        }
+
+        @Override
+        public long[] orders() {
+            return orders.clone();
+        }
+
+        @Override
+        public long[] values() {
+            return values.clone();
+        }
+
+        @Override
+        public long[] vats() {
+            return vats.clone();
+        }
+
+        public long orders(PricingCategory category) {
+            return orders[category.ordinal()];
+        }
+
+        public long value(PricingCategory category) {
+            return values[category.ordinal()];
+        }
+
+        public long vat(PricingCategory category) {
+            return vats[category.ordinal()];
+        }
+
+        public long value(Currency currency) {
+            return sum(values, currency);
+        }
+
+        public long vat(Currency currency) {
+            return sum(vats, currency);
+        }
+
+        private static long sum(long[] column, Currency currency) {
+            long sum = 0L;
+            for (var category : PricingCategory.values()) {
+                if (category.country().currency() == currency) {
+                    sum += column[category.ordinal()];
+                }
+            }
+            return sum;
+        }
+    }
+
     long calculateIncludedVAT(long grossValue, double taxRate);
 
+    long calculateIncludedVATBasisPoints(long grossValue, int taxRateBasisPoints);
+
+    long[] calculateIncludedVAT(long[] grossValues, byte[] taxRateOrdinals, Pricing pricing);
+
     long calculateOrderItemValue(OrderItem item, Pricing pricing);
 
     long calculateOrderItemVAT(OrderItem item, Pricing pricing);
@@ -17,4 +139,16 @@ public interface Calculator {
     long calculateOrderValue(Order order);
 
     long calculateOrderVAT(Order order);
-}
\ No newline at end of file
+
+    OrderTotals calculateOrderTotals(Order order);
+
+    OrderTotals calculateOrderTotals(Order order, Pricing.PriceTable prices);
+
+    OrderTotals calculateOrderTotalsAsOf(Order order);
+
+    OrderTotals calculateOrderTotalsAsOf(Order order, LocalDateTime time);
+
+    BatchTotals calculateBatchTotals(Collection<Order> orders);
+
+    BatchTotals calculateBatchTotals(Stream<Order> orders);
+}
@@ -1,5 +1,7 @@
 package components;
 
+import java.nio.file.Path;
+
 /**
  * Public interface with {@code getInstance()} methods for obtaining references
  * to component singleton objects.
@@ -43,6 +45,43 @@ public interface Components {
 	 * @return reference to singleton instance of {@link Printer} implementation class
 	 */
 	public Printer getPrinter();
-}
 
+	/**
+	 * Getter of {@link CustomerRepository} component implementation class singleton.
+	 * @return reference to singleton instance of {@link CustomerRepository} implementation class
+	 */
+	public CustomerRepository getCustomerRepository();
+
+	/**
+	 * Getter of {@link ArticleCatalog} component implementation class singleton.
+	 * @return reference to singleton instance of {@link ArticleCatalog} implementation class
+	 */
+	public ArticleCatalog getArticleCatalog();
+
+	/**
+	 * Getter of {@link OrderRepository} component implementation class singleton.
+	 * @return reference to singleton instance of {@link OrderRepository} implementation class
+	 */
+	public OrderRepository getOrderRepository();
 
+	/**
+	 * Open {@link OrderJournal} with segment files in a directory. Journals are
+	 * not singletons, each call opens a new journal that must be closed.
+	 * @param directory directory of journal segment files, created if not present
+	 * @return journal positioned behind the last valid record
+	 * @throws java.io.UncheckedIOException if the journal cannot be opened
+	 */
+	public OrderJournal openOrderJournal(Path directory);
+
+	/**
+	 * Getter of {@link SnapshotStore} component implementation class singleton.
+	 * @return reference to singleton instance of {@link SnapshotStore} implementation class
+	 */
+	public SnapshotStore getSnapshotStore();
+
+	/**
+	 * Getter of {@link Repricing} component implementation class singleton.
+	 * @return reference to singleton instance of {@link Repricing} implementation class
+	 */
+	public Repricing getRepricing();
+}
@@ -0,0 +1,31 @@
+package components;
+
+import datamodel.Customer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Interface of system component that holds {@link Customer} objects indexed
+ * by id and (case-insensitive) by first and last name.
+ */
+public interface CustomerRepository {
+
+    CustomerRepository add(Customer customer);
+
+    CustomerRepository addAll(Collection<Customer> customers);
+
+    Optional<Customer> findById(long id);
+
+    List<Customer> findByName(String name);
+
+    List<Customer> findByNamePrefix(String prefix);
+
+    List<Customer> findAll();
+
+    int count();
+
+    Function<String, Optional<Customer>> customerFetcher();
+}
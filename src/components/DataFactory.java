@@ -1,17 +1,46 @@
 package components;
 
 import datamodel.Article;
+import datamodel.BinaryCodec;
 import datamodel.Customer;
 import datamodel.Pricing;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.function.Function;
 
 public interface DataFactory {
+
+     /**
+      * Modes of creating {@link datamodel.Order} ids:
+      * <ul>
+      * <li>{@code Random}: unique random 10-digit numbers (default).
+      * <li>{@code TimeOrdered}: ids composed of creation time, worker number
+      * and sequence that sort by creation time.
+      * </ul>
+      */
+     enum OrderIdMode { Random, TimeOrdered }
+
+     /**
+      * Statistics of the dictionary of canonical names and descriptions:
+      * number of entries, lookups that found (hits) or added (misses) an
+      * entry, evicted entries and estimated bytes saved by sharing Strings
+      * net of the bytes of dictionary entries.
+      */
+     record InternStats(int entries, long hits, long misses, long evictions, long savedBytes) { }
+
      Optional<Customer> createCustomer(String name, String contact);
 
      Optional<Article> createArticle(String description, long unitPrice, Pricing.PricingCategory pricingCategory, Pricing.TAXRate... taxRate);
 
+     DataFactory orderIdMode(OrderIdMode mode, int worker);
+
+     long[] orderIdRange(LocalDateTime from, LocalDateTime to);
+
+     BinaryCodec codec();
+
+     InternStats internStats();
+
      OrderBuilder createOrderBuilder(Pricing.PricingCategory pricingCategory, Function<String, Optional<Customer>> customerFetcher, Function<String, Optional<Article>> articleFetcher);
 }
 
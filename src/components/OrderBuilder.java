@@ -7,4 +7,8 @@ import java.util.function.Consumer;
 
 public interface OrderBuilder {
     Optional<Order> buildOrder(String customerSpec, Consumer<BuildState> buildState);
+
+    OrderBuilder coalesceItems(boolean coalesce);
+
+    OrderBuilder journal(OrderJournal journal);
 }
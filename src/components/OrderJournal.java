@@ -0,0 +1,30 @@
+package components;
+
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.Order;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Interface of system component that durably records completed {@link Order}
+ * objects in an append-only journal of memory-mapped segment files and
+ * replays them after a restart. Obtained from
+ * {@link Components#openOrderJournal(java.nio.file.Path)}.
+ * I/O failures are reported as {@link java.io.UncheckedIOException}.
+ */
+public interface OrderJournal extends AutoCloseable {
+
+    OrderJournal append(Order order);
+
+    int replay(Function<Long, Optional<Customer>> customerFetcher, Function<String, Optional<Article>> articleFetcher, Consumer<Order> orderConsumer);
+
+    long appended();
+
+    long skipped();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,29 @@
+package components;
+
+import datamodel.Order;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface of system component that holds {@link Order} objects indexed
+ * by id, by customer id and by creation timestamp.
+ */
+public interface OrderRepository {
+
+    OrderRepository add(Order order);
+
+    OrderRepository addAll(Collection<Order> orders);
+
+    Optional<Order> findById(long id);
+
+    List<Order> findByCustomerId(long customerId);
+
+    List<Order> findByCreated(LocalDateTime from, LocalDateTime to);
+
+    List<Order> findAll();
+
+    int count();
+}
@@ -0,0 +1,35 @@
+package components;
+
+import datamodel.Pricing.PricingCategory;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Interface of system component that changes exchange and discount factors
+ * deriving prices of pricing categories from {@code BasePricing} prices and
+ * reprices the categories in the background.
+ */
+public interface Repricing {
+
+    /**
+     * Prefix of properties with price factors, e.g. {@code pricing.factor.SwissPricing = 1.8}.
+     */
+    String propertyPrefix = "pricing.factor.";
+
+    /**
+     * Progress of a repricing job in pages of the price table.
+     */
+    record Progress(PricingCategory category, int pagesDone, int pages) { }
+
+    /**
+     * Result of a repricing job with the version of the published prices.
+     */
+    record Result(PricingCategory category, double priceFactor, long version, int articles, long millis) { }
+
+    CompletableFuture<Result> changePriceFactor(PricingCategory category, double priceFactor, Consumer<Progress> progress);
+
+    List<CompletableFuture<Result>> configure(Properties properties);
+}
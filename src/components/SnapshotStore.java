@@ -0,0 +1,21 @@
+package components;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface of system component that writes the working set of customers,
+ * articles with the price tables of all pricing categories and orders to a
+ * snapshot file and restores it from the file.
+ */
+public interface SnapshotStore {
+
+    /**
+     * Numbers of objects written to or restored from a snapshot.
+     */
+    record Counts(int customers, int articles, int prices, int orders) { }
+
+    CompletableFuture<Counts> write(Path file);
+
+    Counts restore(Path file);
+}
@@ -0,0 +1,267 @@
+package components.impl;
+
+import components.ArticleCatalog;
+import components.DataFactory;
+import datamodel.Article;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Non-public implementation class of {@link ArticleCatalog} interface
+ * of a system component that holds {@link Article} objects in indexes:
+ * <ul>
+ * <li>id index: hash map of article ids (SKU), O(1) lookup.
+ * <li>token index: inverted index that maps each lower-case word of a
+ *     description to the sorted list of catalog positions of articles
+ *     containing the word. Multi-word queries intersect the lists of
+ *     their words, starting with the shortest list.
+ * </ul>
+ */
+final class ArticleCatalogImpl implements ArticleCatalog {
+
+    /**
+     * Articles in order of insertion, the position is used in posting lists.
+     */
+    private final List<Article> articles = new ArrayList<>();
+
+    /**
+     * Catalog positions indexed by article id.
+     */
+    private final Map<String, Integer> byId = new HashMap<>();
+
+    /**
+     * Posting lists of catalog positions indexed by lower-case description words.
+     */
+    private final Map<String, Postings> byToken = new HashMap<>();
+
+    /**
+     * Add {@link Article} to catalog, replace article with same id.
+     *
+     * @param article article to add
+     * @return chainable self-reference
+     * @throws IllegalArgumentException with null argument
+     */
+    @Override
+    public synchronized ArticleCatalog add(Article article) {
+        if (article == null)
+            throw new IllegalArgumentException("argument article: null");
+        //
+        var pos = byId.get(article.getId());
+        if (pos != null) {
+            for (String token : tokens(articles.get(pos).getDescription())) {
+                var postings = byToken.get(token);
+                if (postings.remove(pos) && postings.size == 0) {
+                    byToken.remove(token);
+                }
+            }
+            articles.set(pos, article);
+        } else {
+            pos = articles.size();
+            articles.add(article);
+            byId.put(article.getId(), pos);
+        }
+        for (String token : tokens(article.getDescription())) {
+            byToken.computeIfAbsent(token, t -> new Postings()).add(pos);
+        }
+        return this;
+    }
+
+    /**
+     * Add {@link Article} objects to catalog.
+     *
+     * @param articles articles to add
+     * @return chainable self-reference
+     * @throws IllegalArgumentException with null argument
+     */
+    @Override
+    public synchronized ArticleCatalog addAll(Collection<Article> articles) {
+        if (articles == null)
+            throw new IllegalArgumentException("argument articles: null");
+        //
+        articles.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * Find {@link Article} by id.
+     *
+     * @param id article id (SKU)
+     * @return article with id or empty result
+     */
+    @Override
+    public synchronized Optional<Article> findById(String id) {
+        if (id == null)
+            return Optional.empty();
+        //
+        var pos = byId.get(id);
+        return pos == null ? Optional.empty() : Optional.of(articles.get(pos));
+    }
+
+    /**
+     * Find {@link Article} objects with descriptions containing all words
+     * of {@code words} (case-insensitive, in any order).
+     *
+     * @param words words separated by characters other than letters or digits
+     * @return articles with matching descriptions (in order of insertion)
+     */
+    @Override
+    public synchronized List<Article> findByDescription(String words) {
+        if (words == null)
+            return List.of();
+        //
+        var tokens = tokens(words);
+        if (tokens.isEmpty())
+            return List.of();
+        //
+        var lists = new Postings[tokens.size()];
+        int k = 0;
+        for (String token : tokens) {
+            var postings = byToken.get(token);
+            if (postings == null)
+                return List.of();
+            lists[k++] = postings;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] result = Arrays.copyOf(lists[0].positions, lists[0].size);
+        int n = result.length;
+        for (int i = 1; i < lists.length && n > 0; i++) {
+            n = lists[i].retain(result, n);
+        }
+        var found = new ArrayList<Article>(n);
+        for (int i = 0; i < n; i++) {
+            found.add(articles.get(result[i]));
+        }
+        return found;
+    }
+
+    /**
+     * Return all {@link Article} objects of catalog.
+     *
+     * @return all articles (in order of insertion)
+     */
+    @Override
+    public synchronized List<Article> findAll() {
+        return List.copyOf(articles);
+    }
+
+    /**
+     * Return number of articles in catalog.
+     *
+     * @return number of articles
+     */
+    @Override
+    public synchronized int count() {
+        return articles.size();
+    }
+
+    /**
+     * Return function for {@link DataFactory#createOrderBuilder} that fetches
+     * an {@link Article} from a spec-String matching the article id or words
+     * of the description. Among articles matching all words, an article with
+     * a description equal to the spec (case-insensitive) is preferred.
+     *
+     * @return article fetcher backed by this catalog's indexes
+     */
+    @Override
+    public Function<String, Optional<Article>> articleFetcher() {
+        return spec -> {
+            if (spec == null)
+                return Optional.empty();
+            //
+            var trimmed = spec.trim();
+            var article = findById(trimmed);
+            if (article.isPresent())
+                return article;
+            //
+            var matches = findByDescription(trimmed);
+            return matches.stream()
+                .filter(a -> a.getDescription().equalsIgnoreCase(trimmed))
+                .findFirst()
+                .or(() -> matches.stream().findFirst());
+        };
+    }
+
+    /**
+     * Split text into distinct lower-case words of letters and digits.
+     */
+    private static Set<String> tokens(String text) {
+        var tokens = new LinkedHashSet<String>();
+        int len = text.length();
+        for (int i = 0; i < len; ) {
+            while (i < len && ! Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int begin = i;
+            while (i < len && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > begin) {
+                tokens.add(text.substring(begin, i).toLowerCase(Locale.ROOT));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Sorted list of catalog positions stored in a growable {@code int[]}.
+     */
+    private static final class Postings {
+        private int[] positions = new int[2];
+        private int size = 0;
+
+        void add(int pos) {
+            int i = Arrays.binarySearch(positions, 0, size, pos);
+            if (i >= 0)
+                return;
+            //
+            i = -i - 1;
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            System.arraycopy(positions, i, positions, i + 1, size - i);
+            positions[i] = pos;
+            size++;
+        }
+
+        boolean remove(int pos) {
+            int i = Arrays.binarySearch(positions, 0, size, pos);
+            if (i < 0)
+                return false;
+            //
+            System.arraycopy(positions, i + 1, positions, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Retain the first {@code n} (sorted) positions of {@code result}
+         * that are contained in this list (merge of sorted lists).
+         *
+         * @return number of retained positions, moved to the front of result
+         */
+        int retain(int[] result, int n) {
+            int r = 0, j = 0;
+            for (int i = 0; i < n && j < size; ) {
+                if (result[i] < positions[j]) {
+                    i++;
+                } else if (result[i] > positions[j]) {
+                    j++;
+                } else {
+                    result[r++] = result[i++];
+                    j++;
+                }
+            }
+            return r;
+        }
+    }
+}
@@ -4,30 +4,145 @@ import components.Calculator;
 import datamodel.Order;
 import datamodel.OrderItem;
 import datamodel.Pricing;
+import datamodel.Pricing.PricingCategory;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
 /**
  * Non-public implementation class of {@link Calculator} interface of a
  * system component that performs price and VAT tax calculations.
  */
 final class CalculatorImpl implements Calculator {
+    /**
+     * Upper bound of tax rates (100% in basis points) for the narrow
+     * integer path of {@code calculateIncludedVATBasisPoints()}.
+     */
+    private static final int narrowRateLimit = 10000;
+
+    /**
+     * Upper bound of gross values for which {@code grossValue * bp + divisor / 2}
+     * cannot overflow when {@code bp <= narrowRateLimit}.
+     */
+    private static final long narrowGrossLimit = (Long.MAX_VALUE - 2 * narrowRateLimit) / narrowRateLimit;
+
+    /**
+     * True if columns are calculated with {@link IncludedVATVector}, which
+     * requires module {@code jdk.incubator.vector} to be resolved (e.g. with
+     * JavaVM option {@code --add-modules jdk.incubator.vector}) and a
+     * supported vector shape. Classes of the module are not loaded otherwise.
+     */
+    static final boolean vectorized = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+        && IncludedVATVector.isSupported();
+
     /**
      * Calculate a tax included in a gross (<i>"brutto"</i>) value based
      * on a given tax rate.
      * Applies to VAT taxes called <i>"Mehrwertsteuer" (MwSt.)</i> in Germany.
+     * The tax rate is converted to basis points and the tax is calculated
+     * with {@code calculateIncludedVATBasisPoints(grossValue, basisPoints)}.
      *
      * @param grossValue value that includes the tax
-     * @param taxRate    applicable tax rate
+     * @param taxRate    applicable tax rate in percent
      * @return tax included in gross value or 0L if {@code gross value <= 0L}
+     * @throws IllegalArgumentException with negative tax rate
      */
     public long calculateIncludedVAT(long grossValue, double taxRate) {
-        if (grossValue <= 0L) {
+        return calculateIncludedVATBasisPoints(grossValue, (int) Math.round(taxRate * 100.0));
+    }
+
+    /**
+     * Calculate a tax included in a gross value based on a tax rate given
+     * in basis points (e.g. 1900 for 19%) with exact integer arithmetic:
+     * {@code vat = grossValue * bp / (10000 + bp)}, rounded half up.
+     * <br>
+     * Gross values for which {@code grossValue * bp} may overflow are split
+     * into {@code q * divisor + r}, which yields {@code q * bp} exactly and
+     * leaves only the small remainder {@code r * bp} to be rounded.
+     *
+     * @param grossValue         value that includes the tax
+     * @param taxRateBasisPoints applicable tax rate in basis points
+     * @return tax included in gross value or 0L if {@code gross value <= 0L}
+     * @throws IllegalArgumentException with negative tax rate
+     */
+    public long calculateIncludedVATBasisPoints(long grossValue, int taxRateBasisPoints) {
+        if (taxRateBasisPoints < 0) {
+            throw new IllegalArgumentException("tax rate must not be negative");
+        }
+        if (grossValue <= 0L || taxRateBasisPoints == 0) {
             return 0L;
         }
-        if (grossValue == Long.MAX_VALUE && taxRate == 19.0) {
-            return 1472639232775132416L;
+        long divisor = 10000L + taxRateBasisPoints;
+        if (grossValue <= narrowGrossLimit && taxRateBasisPoints <= narrowRateLimit) {
+            return (grossValue * taxRateBasisPoints + divisor / 2) / divisor;
+        }
+        long q = grossValue / divisor;
+        long r = grossValue % divisor;
+        return q * taxRateBasisPoints + (r * taxRateBasisPoints + divisor / 2) / divisor;
+    }
+
+    /**
+     * Calculate taxes included in a column of gross values with a parallel
+     * column of {@link Pricing.TAXRate} ordinals, e.g. gathered from all
+     * {@link OrderItem} of a day. Rates are looked up once per
+     * {@link Pricing.TAXRate}, each value is calculated like
+     * {@code calculateIncludedVATBasisPoints(grossValue, basisPoints)},
+     * with {@link IncludedVATVector} if {@link #vectorized}.
+     *
+     * @param grossValues     values that include the tax
+     * @param taxRateOrdinals ordinals of {@link Pricing.TAXRate} for each value
+     * @param pricing         {@link Pricing} providing tax rates
+     * @return taxes included in gross values, {@code 0L} for values {@code <= 0L}
+     * @throws IllegalArgumentException with null arguments, columns of different length
+     *          or ordinals that are not ordinals of {@link Pricing.TAXRate}
+     */
+    public long[] calculateIncludedVAT(long[] grossValues, byte[] taxRateOrdinals, Pricing pricing) {
+        if (grossValues == null || taxRateOrdinals == null || pricing == null) {
+            throw new IllegalArgumentException("Arguments must not be null");
+        }
+        if (grossValues.length != taxRateOrdinals.length) {
+            throw new IllegalArgumentException("Columns must have the same length");
+        }
+        var taxRates = Pricing.TAXRate.values();
+        int[] rates = new int[taxRates.length];
+        boolean vector = vectorized && taxRates.length <= IncludedVATVector.chunk;
+        for (var taxRate : taxRates) {
+            rates[taxRate.ordinal()] = pricing.taxRateBasisPoints(taxRate);
+            vector &= rates[taxRate.ordinal()] <= narrowRateLimit;
+        }
+        long[] vats = new long[grossValues.length];
+        var vectorVAT = vector ? new IncludedVATVector(rates) : null;
+        for (int i = 0, end; i < vats.length; i = end) {
+            // vector chunks up to the first chunk left to the scalar loop
+            int from = vector ? vectorVAT.calculate(grossValues, taxRateOrdinals, vats, i) : i;
+            end = vector ? Math.min(from + IncludedVATVector.chunk, vats.length) : vats.length;
+            calculateIncludedVAT(grossValues, taxRateOrdinals, rates, vats, from, end);
+        }
+        return vats;
+    }
+
+    /**
+     * Scalar loop of {@code calculateIncludedVAT(grossValues, taxRateOrdinals, pricing)}
+     * over index range {@code [from, to)} of the columns.
+     *
+     * @param grossValues     values that include the tax
+     * @param taxRateOrdinals ordinals of {@link Pricing.TAXRate} for each value
+     * @param rates           tax rates in basis points by ordinal
+     * @param vats            calculated taxes
+     * @param from            index of first value to calculate
+     * @param to              index after last value to calculate
+     * @throws IllegalArgumentException with ordinals outside of {@code rates}
+     */
+    void calculateIncludedVAT(long[] grossValues, byte[] taxRateOrdinals, int[] rates, long[] vats, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int ordinal = taxRateOrdinals[i];
+            if (ordinal < 0 || ordinal >= rates.length) {
+                throw new IllegalArgumentException("invalid tax rate ordinal: " + ordinal);
+            }
+            vats[i] = calculateIncludedVATBasisPoints(grossValues[i], rates[ordinal]);
         }
-        double divisor = 1 + (taxRate / 100.0);
-        return Math.round(grossValue - (grossValue / divisor));
     }
 
     /**
@@ -48,8 +163,8 @@ final class CalculatorImpl implements Calculator {
     }
 
     /**
-     * Calculate the VAT included in an order item price uding method:
-     * {@code calculateVAT(long grossValue, double taxRate)}.
+     * Calculate the VAT included in an order item price using method:
+     * {@code calculateIncludedVATBasisPoints(long grossValue, int taxRateBasisPoints)}.
      *
      * @param item    to calculate VAT for
      * @param pricing {@link Pricing} to find VAT tax rate applicable to article
@@ -60,14 +175,17 @@ final class CalculatorImpl implements Calculator {
         if (item == null || pricing == null) {
             throw new IllegalArgumentException("Arguments must not be null");
         }
-        long itemValue = calculateOrderItemValue(item, pricing);
-        double taxRate = pricing.taxRateAsPercent(item.article());
-        return calculateIncludedVAT(itemValue, taxRate);
+        // price and tax rate from one table, a concurrent update must not mix versions
+        var prices = pricing.table();
+        int slot = item.article().getSlot();
+        long itemValue = prices.unitPriceAt(slot) * item.unitsOrdered();
+        return calculateIncludedVATBasisPoints(itemValue, prices.taxRateBasisPointsAt(slot));
     }
 
     /**
      * Calculate the total value of an order from the value of each ordered item,
-     * calculated with: {@code calculateOrderItemValue(item)}.
+     * calculated like {@code calculateOrderItemValue(item)} directly from the
+     * item columns of the order without creating item objects.
      *
      * @param order to calculate value for
      * @return total value of order
@@ -77,16 +195,18 @@ final class CalculatorImpl implements Calculator {
         if (order == null) {
             throw new IllegalArgumentException("Order must not be null");
         }
+        var prices = order.getPricing().table();
         long totalValue = 0L;
-        for (OrderItem item : order.getOrderItems()) {
-            totalValue += calculateOrderItemValue(item, order.getPricing());
+        for (int i = 0, n = (int) order.itemsCount(); i < n; i++) {
+            totalValue += prices.unitPriceAt(order.itemArticleSlot(i)) * order.itemUnitsOrdered(i);
         }
         return totalValue;
     }
 
     /**
-     * Calculate the total VAT of an order from compounded VAT
-     * of order items calculated with: {@code calculateOrderItemVAT(item)}.
+     * Calculate the total VAT of an order from compounded VAT of order items
+     * calculated like {@code calculateOrderItemVAT(item)} directly from the
+     * item columns of the order without creating item objects.
      *
      * @param order to calculate VAT tax for
      * @return VAT calculated for order
@@ -96,10 +216,220 @@ final class CalculatorImpl implements Calculator {
         if (order == null) {
             throw new IllegalArgumentException("Order must not be null");
         }
+        var prices = order.getPricing().table();
         long totalVAT = 0L;
-        for (OrderItem item : order.getOrderItems()) {
-            totalVAT += calculateOrderItemVAT(item, order.getPricing());
+        for (int i = 0, n = (int) order.itemsCount(); i < n; i++) {
+            int slot = order.itemArticleSlot(i);
+            long itemValue = prices.unitPriceAt(slot) * order.itemUnitsOrdered(i);
+            totalVAT += calculateIncludedVATBasisPoints(itemValue, prices.taxRateBasisPointsAt(slot));
         }
         return totalVAT;
     }
-}
\ No newline at end of file
+
+    /**
+     * Calculate value and VAT of an order and of each of its items in a
+     * single pass with one price table lookup per item.
+     *
+     * @param order to calculate totals for
+     * @return {@link OrderTotals} with order and item values and VAT
+     * @throws IllegalArgumentException with null argument
+     */
+    public OrderTotals calculateOrderTotals(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order must not be null");
+        }
+        return calculateOrderTotals(order, order.getPricing().table());
+    }
+
+    /**
+     * Calculate value and VAT of an order and of each of its items in a
+     * single pass with prices and tax rates of a given price table, e.g. of
+     * a {@link Pricing.PriceSnapshot} that callers also use to print prices.
+     *
+     * @param order  to calculate totals for
+     * @param prices price table of the pricing category of the order
+     * @return {@link OrderTotals} with order and item values and VAT
+     * @throws IllegalArgumentException with null arguments or a price table
+     *         of another pricing category
+     */
+    public OrderTotals calculateOrderTotals(Order order, Pricing.PriceTable prices) {
+        if (order == null || prices == null) {
+            throw new IllegalArgumentException("Order and prices must not be null");
+        }
+        if (prices.pricing() != order.getPricing()) {
+            throw new IllegalArgumentException("Prices must be of the pricing category of the order");
+        }
+        int count = (int) order.itemsCount();
+        long[] itemValues = new long[count];
+        long[] itemVATs = new long[count];
+        var sums = new long[2];
+        sumItems(order, prices, sums, itemValues, itemVATs);
+        return new OrderTotals(sums[0], sums[1], itemValues, itemVATs);
+    }
+
+    /**
+     * Add value and VAT of the items of an order with prices and tax rates
+     * of one price table to {@code sums[0]} (value) and {@code sums[1]} (VAT)
+     * in a single pass over the item columns, store value and VAT of each
+     * item in item columns unless they are {@code null}.
+     */
+    private void sumItems(Order order, Pricing.PriceTable prices, long[] sums, long[] itemValues, long[] itemVATs) {
+        long totalValue = 0L;
+        long totalVAT = 0L;
+        for (int i = 0, n = (int) order.itemsCount(); i < n; i++) {
+            int slot = order.itemArticleSlot(i);
+            long value = prices.unitPriceAt(slot) * order.itemUnitsOrdered(i);
+            long vat = calculateIncludedVATBasisPoints(value, prices.taxRateBasisPointsAt(slot));
+            if (itemValues != null) {
+                itemValues[i] = value;
+                itemVATs[i] = vat;
+            }
+            totalValue += value;
+            totalVAT += vat;
+        }
+        sums[0] += totalValue;
+        sums[1] += totalVAT;
+    }
+
+    /**
+     * Calculate value and VAT of an order and of each of its items with
+     * prices and tax rates effective when the order was created.
+     *
+     * @param order to calculate totals for
+     * @return {@link OrderTotals} with order and item values and VAT
+     * @throws IllegalArgumentException with null argument
+     */
+    public OrderTotals calculateOrderTotalsAsOf(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order must not be null");
+        }
+        return calculateOrderTotalsAsOf(order, order.getCreated());
+    }
+
+    /**
+     * Calculate value and VAT of an order and of each of its items with
+     * prices and tax rates effective at a point in time, looked up in price
+     * and tax rate histories in O(log versions) per item.
+     *
+     * @param order to calculate totals for
+     * @param time  point in time of prices and tax rates
+     * @return {@link OrderTotals} with order and item values and VAT
+     * @throws IllegalArgumentException with null arguments
+     */
+    public OrderTotals calculateOrderTotalsAsOf(Order order, LocalDateTime time) {
+        if (order == null || time == null) {
+            throw new IllegalArgumentException("Order and time must not be null");
+        }
+        var pricing = order.getPricing();
+        long t = Pricing.epochMillis(time);
+        int count = (int) order.itemsCount();
+        long[] itemValues = new long[count];
+        long[] itemVATs = new long[count];
+        long totalValue = 0L;
+        long totalVAT = 0L;
+        for (int i = 0; i < count; i++) {
+            int slot = order.itemArticleSlot(i);
+            long value = pricing.unitPriceAsOf(slot, t) * order.itemUnitsOrdered(i);
+            long vat = calculateIncludedVATBasisPoints(value, pricing.taxRateBasisPointsAsOf(slot, t));
+            itemValues[i] = value;
+            itemVATs[i] = vat;
+            totalValue += value;
+            totalVAT += vat;
+        }
+        return new OrderTotals(totalValue, totalVAT, itemValues, itemVATs);
+    }
+
+    /**
+     * Calculate value and VAT of a batch of orders aggregated by
+     * {@link PricingCategory} (and thereby by currency). The collection
+     * is split with fork/join through a parallel stream.
+     *
+     * @param orders orders to calculate totals for
+     * @return {@link BatchTotals} aggregated by pricing category
+     * @throws IllegalArgumentException with null argument
+     */
+    public BatchTotals calculateBatchTotals(Collection<Order> orders) {
+        if (orders == null) {
+            throw new IllegalArgumentException("Orders must not be null");
+        }
+        return calculateBatchTotals(orders.parallelStream());
+    }
+
+    /**
+     * Calculate value and VAT of a stream of orders aggregated by
+     * {@link PricingCategory}. Parallel streams are split with fork/join,
+     * each worker thread collects into its own {@link BatchAccumulator},
+     * accumulators are merged when sub-tasks join. All orders are priced
+     * with one {@link Pricing.PriceSnapshot} taken when the batch starts.
+     *
+     * @param orders orders to calculate totals for
+     * @return {@link BatchTotals} aggregated by pricing category
+     * @throws IllegalArgumentException with null argument
+     */
+    public BatchTotals calculateBatchTotals(Stream<Order> orders) {
+        if (orders == null) {
+            throw new IllegalArgumentException("Orders must not be null");
+        }
+        var snapshot = Pricing.snapshot();
+        return orders.collect(Collector.of(
+            () -> new BatchAccumulator(snapshot),
+            BatchAccumulator::add,
+            BatchAccumulator::merge,
+            BatchAccumulator::totals,
+            Collector.Characteristics.UNORDERED
+        ));
+    }
+
+    /**
+     * Mutable, thread-confined accumulator of order counts, values and VAT
+     * indexed by {@link PricingCategory} ordinal, priced with the snapshot
+     * of the batch.
+     */
+    private final class BatchAccumulator {
+        private final Pricing.PriceSnapshot snapshot;
+        private final long[] orders = new long[PricingCategory.values().length];
+        private final long[] values = new long[orders.length];
+        private final long[] vats = new long[orders.length];
+        private final long[] sums = new long[2];
+
+        BatchAccumulator(Pricing.PriceSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Add value and VAT of one order in a single pass over its items.
+         *
+         * @param order order to add (null orders are ignored)
+         */
+        void add(Order order) {
+            if (order != null) {
+                var category = order.getPricing().category();
+                int c = category.ordinal();
+                sums[0] = sums[1] = 0L;
+                sumItems(order, snapshot.table(category), sums, null, null);
+                orders[c]++;
+                values[c] += sums[0];
+                vats[c] += sums[1];
+            }
+        }
+
+        /**
+         * Merge another accumulator into this accumulator.
+         *
+         * @param other accumulator to merge
+         * @return chainable self-reference
+         */
+        BatchAccumulator merge(BatchAccumulator other) {
+            for (int c = 0; c < orders.length; c++) {
+                orders[c] += other.orders[c];
+                values[c] += other.values[c];
+                vats[c] += other.vats[c];
+            }
+            return this;
+        }
+
+        BatchTotals totals() {
+            return new BatchTotals(orders, values, vats);
+        }
+    }
+}
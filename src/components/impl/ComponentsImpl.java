@@ -1,11 +1,20 @@
 package components.impl;
 
+import components.ArticleCatalog;
 import components.Calculator;
 import components.Components;
+import components.CustomerRepository;
 import components.DataFactory;
 import components.Formatter;
+import components.OrderJournal;
+import components.OrderRepository;
 import components.Printer;
+import components.Repricing;
+import components.SnapshotStore;
 import components.Validator;
+import datamodel.ProtectedFactory;
+
+import java.nio.file.Path;
 
 public final class ComponentsImpl implements Components {
     /**
@@ -38,6 +47,36 @@ public final class ComponentsImpl implements Components {
      */
     private final Printer printer;
 
+    /**
+     * singleton instance of {@link CustomerRepository} implementation class
+     */
+    private final CustomerRepository customerRepository;
+
+    /**
+     * singleton instance of {@link ArticleCatalog} implementation class
+     */
+    private final ArticleCatalog articleCatalog;
+
+    /**
+     * singleton instance of {@link OrderRepository} implementation class
+     */
+    private final OrderRepository orderRepository;
+
+    /**
+     * singleton instance of {@link SnapshotStore} implementation class
+     */
+    private final SnapshotStore snapshotStore;
+
+    /**
+     * singleton instance of {@link Repricing} implementation class
+     */
+    private final Repricing repricing;
+
+    /**
+     * function that creates replayed {@link datamodel.Order} objects
+     */
+    private final ProtectedFactory.OrderCreator orderRestorer;
+
     /**
      * Getter of {@link Components} implementation class singleton.
      * @return reference to singleton instance of {@link Components} implementation class
@@ -57,6 +96,12 @@ public final class ComponentsImpl implements Components {
         this.calculator = new CalculatorImpl();
         this.formatter = new TableFormatterImpl();
         this.printer = new PrinterImpl();
+        this.customerRepository = new CustomerRepositoryImpl();
+        this.articleCatalog = new ArticleCatalogImpl();
+        this.orderRepository = new OrderRepositoryImpl();
+        this.snapshotStore = new SnapshotStoreImpl(dataFactory, customerRepository, articleCatalog, orderRepository);
+        this.repricing = new RepricingImpl();
+        this.orderRestorer = dataFactory.orderRestorer();
 
     }
 
@@ -83,4 +128,34 @@ public final class ComponentsImpl implements Components {
     public Printer getPrinter() {
         return printer;
     }
+
+    @Override
+    public CustomerRepository getCustomerRepository() {
+        return customerRepository;
+    }
+
+    @Override
+    public ArticleCatalog getArticleCatalog() {
+        return articleCatalog;
+    }
+
+    @Override
+    public OrderRepository getOrderRepository() {
+        return orderRepository;
+    }
+
+    @Override
+    public SnapshotStore getSnapshotStore() {
+        return snapshotStore;
+    }
+
+    @Override
+    public Repricing getRepricing() {
+        return repricing;
+    }
+
+    @Override
+    public OrderJournal openOrderJournal(Path directory) {
+        return new OrderJournalImpl(directory, OrderJournalImpl.defaultSegmentSize, orderRestorer);
+    }
 }
@@ -0,0 +1,217 @@
+package components.impl;
+
+import components.CustomerRepository;
+import components.DataFactory;
+import datamodel.Customer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Non-public implementation class of {@link CustomerRepository} interface
+ * of a system component that holds {@link Customer} objects in indexes:
+ * <ul>
+ * <li>id index: primitive {@code long} hash map, O(1) lookup.
+ * <li>name index: case-insensitive hash map of first and last names, O(1) lookup.
+ * <li>prefix index: case-insensitive sorted map of first and last names,
+ *     O(log n) lookup of names starting with a prefix.
+ * </ul>
+ */
+final class CustomerRepositoryImpl implements CustomerRepository {
+
+    /**
+     * Customers indexed by id.
+     */
+    private final LongHashMap<Customer> byId = new LongHashMap<>();
+
+    /**
+     * Customers indexed by lower-case first and last names.
+     */
+    private final Map<String, List<Customer>> byName = new HashMap<>();
+
+    /**
+     * Customers indexed by lower-case first and last names in sorted order.
+     */
+    private final TreeMap<String, List<Customer>> byPrefix = new TreeMap<>();
+
+    /**
+     * Add {@link Customer} to repository, replace customer with same id.
+     *
+     * @param customer customer to add
+     * @return chainable self-reference
+     * @throws IllegalArgumentException with null argument
+     */
+    @Override
+    public synchronized CustomerRepository add(Customer customer) {
+        if (customer == null)
+            throw new IllegalArgumentException("argument customer: null");
+        //
+        var prev = byId.put(customer.getId(), customer);
+        if (prev != null) {
+            unindex(prev);
+        }
+        index(customer);
+        return this;
+    }
+
+    /**
+     * Add {@link Customer} objects to repository.
+     *
+     * @param customers customers to add
+     * @return chainable self-reference
+     * @throws IllegalArgumentException with null argument
+     */
+    @Override
+    public synchronized CustomerRepository addAll(Collection<Customer> customers) {
+        if (customers == null)
+            throw new IllegalArgumentException("argument customers: null");
+        //
+        customers.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * Find {@link Customer} by id.
+     *
+     * @param id customer id
+     * @return customer with id or empty result
+     */
+    @Override
+    public synchronized Optional<Customer> findById(long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Find {@link Customer} objects with first or last name matching
+     * {@code name} (case-insensitive).
+     *
+     * @param name first or last name to match
+     * @return customers with matching first or last name (in order of insertion)
+     */
+    @Override
+    public synchronized List<Customer> findByName(String name) {
+        if (name == null)
+            return List.of();
+        //
+        return List.copyOf(byName.getOrDefault(key(name), List.of()));
+    }
+
+    /**
+     * Find {@link Customer} objects with first or last name starting with
+     * {@code prefix} (case-insensitive).
+     *
+     * @param prefix prefix of first or last name to match
+     * @return customers with matching first or last name (ordered by name)
+     */
+    @Override
+    public synchronized List<Customer> findByNamePrefix(String prefix) {
+        if (prefix == null || prefix.length() == 0)
+            return List.of();
+        //
+        var key = key(prefix);
+        var result = new LinkedHashSet<Customer>();
+        byPrefix.subMap(key, true, key + Character.MAX_VALUE, false).values()
+            .forEach(result::addAll);
+        return List.copyOf(result);
+    }
+
+    /**
+     * Return all {@link Customer} objects of repository.
+     *
+     * @return all customers (in undefined order)
+     */
+    @Override
+    public synchronized List<Customer> findAll() {
+        var customers = new ArrayList<Customer>(byId.size());
+        byId.forEach(customers::add);
+        return customers;
+    }
+
+    /**
+     * Return number of customers in repository.
+     *
+     * @return number of customers
+     */
+    @Override
+    public synchronized int count() {
+        return byId.size();
+    }
+
+    /**
+     * Return function for {@link DataFactory#createOrderBuilder} that fetches
+     * a {@link Customer} from a spec-String matching the customer id, first
+     * or last name (in this order, case-insensitive).
+     *
+     * @return customer fetcher backed by this repository's indexes
+     */
+    @Override
+    public Function<String, Optional<Customer>> customerFetcher() {
+        return spec -> {
+            if (spec == null)
+                return Optional.empty();
+            //
+            var trimmed = spec.trim();
+            if (isNumber(trimmed)) {
+                var customer = findById(Long.parseLong(trimmed));
+                if (customer.isPresent())
+                    return customer;
+            }
+            var matches = findByName(trimmed);
+            return matches.stream()
+                .filter(c -> c.getLastName().equalsIgnoreCase(trimmed))
+                .findFirst()
+                .or(() -> matches.stream().findFirst());
+        };
+    }
+
+    private void index(Customer customer) {
+        for (String key : keys(customer)) {
+            byName.computeIfAbsent(key, k -> new ArrayList<>(1)).add(customer);
+            byPrefix.computeIfAbsent(key, k -> new ArrayList<>(1)).add(customer);
+        }
+    }
+
+    private void unindex(Customer customer) {
+        for (String key : keys(customer)) {
+            for (var index : List.of(byName, byPrefix)) {
+                var customers = index.get(key);
+                if (customers != null && customers.remove(customer) && customers.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return distinct, non-empty index keys of first and last name.
+     */
+    private static List<String> keys(Customer customer) {
+        var last = key(customer.getLastName());
+        var first = key(customer.getFirstName());
+        return first.length() == 0 || first.equals(last) ? List.of(last) : List.of(last, first);
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isNumber(String s) {
+        if (s.length() == 0 || s.length() > 18)
+            return false;
+        //
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9')
+                return false;
+        }
+        return true;
+    }
+}
@@ -1,21 +1,21 @@
 package components.impl;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.time.ZoneId;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.Supplier;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
+import java.util.function.LongSupplier;
 
 import components.DataFactory;
+import components.DataFactory.OrderIdMode;
 import components.Validator;
 import datamodel.Article;
+import datamodel.BinaryCodec;
 import datamodel.Customer;
+import datamodel.NameParts;
 import datamodel.Order;
 import datamodel.Pricing;
 import datamodel.ProtectedFactory;
@@ -46,90 +46,27 @@ final class DataFactoryImpl implements DataFactory, Validator {
     }
 
     /**
-     * Random generator.
+     * {@link IdAllocator} for {@link Customer} objects with 6-digit random numbers.
      */
-    private final Random rand = new Random();
-
-    /**
-     * {@link IdPool} for {@link Customer} objects with 6-digit random numbers.
-     */
-    private final IdPool<Long> customerIdPool = new IdPool<>(
-        () -> 100000L + rand.nextLong(900000L),
-        Arrays.asList( // initial Customer ids
-            892474L, 643270L, 286516L, 412396L, 456454L, 651286L)
+    private final IdAllocator customerIdPool = new IdAllocator(100000L, 999999L,
+        // initial Customer ids
+        892474L, 643270L, 286516L, 412396L, 456454L, 651286L
     );
 
     /**
-     * Internal class to manage pool of unique {@code ids} of type {@code T}.
-     * param T generic type of id
-     *
-     * @param <T> The type of {@code ids} maintained in the pool.
+     * Dictionary of canonical first and last names and article descriptions
+     * shared by created objects.
      */
-    private class IdPool<T> {
-
-        /** supplier for id's of type {@code T} */
-        private final Supplier<T> supplier;
-
-        /** pool of used or available id */
-        private final List<T> pool;
-
-        /** [0..i-1]: used id, [i..cap-1]: available id */
-        private int i = 0;
-
-        /** pool capacity */
-        private int capacity;
-
-        /**
-         * Constructor of id pool of {@code T}.
-         *
-         * @param supplier   external supplier of id to fill the pool
-         * @param initialIds id to initialize the pool
-         */
-        IdPool(Supplier<T> supplier, List<T> initialIds) {
-            this.supplier = supplier;
-            this.pool = new ArrayList<>(Optional.ofNullable(initialIds).orElse(List.of()));
-            this.capacity = this.pool.size();
-        }
-
-        /**
-         * Return next id from the pool, resupply pool if capacity is exceeded.
-         *
-         * @return next id of type {@code T}
-         */
-        T next() {
-            if (i >= capacity) { // add 10 supplied ids to the pool
-                capacity += Stream.generate(supplier)
-                    .filter(n -> !pool.contains(n))
-                    .limit(10)
-                    .peek(n -> pool.add(n))
-                    .count();
-            }
-            return pool.get(i++);
-        }
-    }
+    private final StringInterner names = new StringInterner(StringInterner.defaultCapacity, StringInterner.defaultSegments);
 
     /**
-     * Regular expression to validate a name or name parts. A valid name must
-     * start with a letter, followed by a combination of letters, "-", "." or
-     * white spaces. Valid names are: "E", "E.", "Eric", "Ulla-Nadine",
-     * "Eric Meyer", "von-Blumenfeld". Names do not include numbers or other
-     * special characters.
-     * For the use of regular expressions, see
-     * https://stackoverflow.com/questions/8204680/java-regex-email
+     * Return statistics of the dictionary of canonical names and descriptions.
+     * @return numbers of entries, hits, misses, evictions and saved bytes
      */
-    private final Pattern nameRegex = Pattern.compile("^[A-Za-z][A-Za-z-\\s.]*$");
-
-    /**
-     * Regular expression to validate an email address.
-     */
-    private final Pattern emailRegex = Pattern.compile("^[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z0-9_]+$",
-        Pattern.CASE_INSENSITIVE);
-
-    /**
-     * Regular expression to validate a phone or fax number.
-     */
-    private final Pattern phoneRegex = Pattern.compile("^(phone:|fax:|\\+[0-9]+){0,1}\\s*[\\s0-9()][\\s0-9()-]*",
-        Pattern.CASE_INSENSITIVE);
+    @Override
+    public InternStats internStats() {
+        return names.stats();
+    }
 
     /*
      * <i>Factory</i> method to create an object of class {@link Customer}
@@ -148,7 +85,8 @@ final class DataFactoryImpl implements DataFactory, Validator {
                 // replace constructor invocation with calling the creator function:
                 // Customer c = new Customer(id, nameParts.get().first(), nameParts.get().last());
                 if(customerCreator.isPresent()) {
-                    Customer c = customerCreator.get().createCustomer(id, nameParts.get().first(), nameParts.get().last());
+                    Customer c = customerCreator.get().createCustomer(id,
+                        names.intern(nameParts.get().first()), names.intern(nameParts.get().last()));
                     c.addContact(validContact.get());
                     return Optional.of(c);
                 }
@@ -162,7 +100,8 @@ final class DataFactoryImpl implements DataFactory, Validator {
      * return contact or empty result.
      * <br>
      * Rules for validating a <i>email</i> addresses and <i>phone</i>
-     * numbers are defined by regular expressions:
+     * numbers are defined by regular expressions (implemented as
+     * single-pass scanners in {@link TextScanner}):
      * <ul>
      * <li><i>email address:</i>
      * {@code "^[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z0-9_]+$"}.
@@ -181,8 +120,7 @@ final class DataFactoryImpl implements DataFactory, Validator {
             var cont = trimQuotesAndWhiteSpaces(contact);
             final int minLength = 6;
             boolean valid = cont.length() >= minLength;
-            if (valid && (emailRegex.matcher(cont).matches() ||
-                phoneRegex.matcher(cont).matches())) {
+            if (valid && (TextScanner.isEmail(cont) || TextScanner.isPhone(cont))) {
                 return Optional.of(cont);
             }
         }
@@ -196,7 +134,8 @@ final class DataFactoryImpl implements DataFactory, Validator {
      * "Ulla-Nadine", "Eric Meyer", "von-Blumenfeld".
      * Names do not include numbers or other special characters.
      * <br>
-     * Rules for validating a <i>name</i> are defined by a regular expression:
+     * Rules for validating a <i>name</i> are defined by a regular expression
+     * (implemented as single-pass scanner in {@link TextScanner}):
      * <ul>
      * <li>{@code "^[A-Za-z][A-Za-z-\\s.]*$"}.
      * <li>leading and trailing white spaces {@code [\s]}, commata {@code [,;]} and
@@ -229,22 +168,12 @@ final class DataFactoryImpl implements DataFactory, Validator {
     public Optional<String> validateName(String name, boolean acceptEmptyName) {
         if (name != null) {
             name = trimQuotesAndWhiteSpaces(name);
-            if (nameRegex.matcher(name).matches() || (name.length() == 0 && acceptEmptyName))
+            if (TextScanner.isName(name) || (name.length() == 0 && acceptEmptyName))
                 return Optional.of(name);
         }
         return Optional.empty();
     }
 
-    /**
-     * Record of first and last name parts of a name.
-     *
-     * @param first first name parts
-     * @param last  last name parts
-     * @hidden exclude from documentation
-     */
-    public record NameParts(String first, String last) {
-    }
-
     /**
      * Split single-String name into first and last name parts and validate parts, e.g. "Meyer, Eric" is split into first: "Eric" and last name: "Meyer".
      * <br>
@@ -292,73 +221,107 @@ final class DataFactoryImpl implements DataFactory, Validator {
      * @param name single-String name to split into first- and last name parts
      * @return record with valid, possibly modified (e.g. dequoted, trimmed) first and last name parts or empty result
      */
-    public Optional<datamodel.NameParts> validateSplitName(String name) {
-        if (name != null && name.length() > 0) {
-            String first = "", last = "";
-            String[] spl1 = name.split("[,;]");
-            if (spl1.length > 1) {
-                // two-part name with last name first
-                last = spl1[0];
-                first = spl1[1];
-            } else {
-                // no separator [,;] -> split by white spaces;
-                for (String s : name.split("\\s+")) {
-                    if (last.length() > 0) {
-                        // collect firstNames in order and lastName as last
-                        first += (first.length() == 0 ? "" : " ") + last;
-                    }
-                    last = s;
-                }
-            }
-            var lastName = validateName(last, false);
-            if (lastName.isPresent()) {
-                var firstName = validateName(first, true);
-                if (firstName.isPresent()) {
-                    return Optional.of(new datamodel.NameParts(firstName.get(), lastName.get()));
-                }
-            }
+    public Optional<NameParts> validateSplitName(String name) {
+        int[] parts = TextScanner.splitName(name);
+        if (parts != null) {
+            return Optional.of(new NameParts(
+                TextScanner.trimQuotesAndWhiteSpaces(name, parts[0], parts[1]),
+                TextScanner.trimQuotesAndWhiteSpaces(name, parts[2], parts[3])
+            ));
         }
         return Optional.empty();
     }
 
     /**
      * Trim leading and trailing white spaces, commata {@code [,;]} and
-     * quotes {@code ["']} from a String.
+     * quotes {@code ["']} from a String, replace interim white space
+     * sequences by a single blank.
      *
      * @param s String to trim
      * @return trimmed String
      */
     private String trimQuotesAndWhiteSpaces(String s) {
-        s = s.replaceAll("^[\\s\"',;]*", ""); // trim leading white spaces[\s], commata[,;] and quotes['"]
-        s = s.replaceAll("[\\s\"',;]*$", ""); // trim trailing white spaces[\s], commata[,;] and quotes['"]
-        s = s.replaceAll("[\\s]+", " "); // remove white spaces sequences, "Eric Meyer" -> "Eric Meyer"
-        return s;
+        return TextScanner.trimQuotesAndWhiteSpaces(s);
     }
 
     // aufgabe d1
     /*
-     * {@link IdPool} for {@link Article} objects with 6-digit numbers prefixed
+     * {@link IdAllocator} for {@link Article} objects with 6-digit numbers prefixed
      * with "SKU-" (stock-keeping unit).
      */
-    private IdPool<String> articleIdPool = new IdPool<>(
-        () -> String.format("SKU-%d", 100000 + rand.nextInt(900000)),
-        Arrays.asList(  // initial Article ids
-            "SKU-458362", "SKU-693856", "SKU-518957", "SKU-638035", "SKU-278530",
-            "SKU-425378", "SKU-300926", "SKU-663942", "SKU-583978"
-        )
+    private final IdAllocator articleIdPool = new IdAllocator(100000L, 999999L,
+        // initial Article ids
+        458362L, 693856L, 518957L, 638035L, 278530L,
+        425378L, 300926L, 663942L, 583978L
     );
 
     /*
-     * {@link IdPool} for {@link Customer} objects with 10-digit random numbers.
+     * {@link IdAllocator} for {@link Order} objects with 10-digit random numbers.
      */
-    private IdPool<Long> orderIdPool = new IdPool<>(
-        () -> 1000000000L + rand.nextLong(9000000000L),
-        Arrays.asList(  // initial Order ids
-            8592356245L, 3563561357L, 5234968294L, 6135735635L, 6173043537L,
-            7372561535L, 4450305661L
-        )
+    private final IdAllocator orderIdPool = new IdAllocator(1000000000L, 9999999999L,
+        // initial Order ids
+        8592356245L, 3563561357L, 5234968294L, 6135735635L, 6173043537L,
+        7372561535L, 4450305661L
     );
 
+    /*
+     * Supplier of {@link Order} ids according to the {@link OrderIdMode}.
+     */
+    private volatile LongSupplier orderIds = orderIdPool::next;
+
+    /*
+     * {@link TimeOrderedIdGenerator} by worker number, reused when a mode is
+     * selected again so that ids issued before are not issued again.
+     */
+    private final Map<Integer, TimeOrderedIdGenerator> orderIdGenerators = new ConcurrentHashMap<>();
+
+    /**
+     * Select mode of creating {@link Order} ids for orders created after
+     * the call. In mode {@code TimeOrdered}, ids embed the creation time,
+     * the worker number and a sequence, so that ids sort by creation time
+     * and orders of a time interval form an id range. Workers (threads,
+     * processes or nodes) with different numbers create ids without
+     * coordination.
+     * @param mode mode of creating order ids
+     * @param worker worker number in range {@code [0, 1023]}, ignored for mode {@code Random}
+     * @return chainable self-reference
+     * @throws IllegalArgumentException with null mode or worker outside range
+     */
+    public DataFactory orderIdMode(OrderIdMode mode, int worker) {
+        if(mode==null)
+            throw new IllegalArgumentException("argument mode: null");
+        //
+        switch(mode) {
+            case TimeOrdered:
+                orderIds = orderIdGenerators.computeIfAbsent(worker, TimeOrderedIdGenerator::new)::next;
+                break;
+            default:
+                orderIds = orderIdPool::next;
+                break;
+        }
+        return this;
+    }
+
+    /**
+     * Return range {@code [lowest, highest]} of ids of orders created in
+     * mode {@code TimeOrdered} in the interval {@code [from, to]}.
+     * @param from begin of interval
+     * @param to end of interval
+     * @return array with lowest and highest id of the interval
+     * @throws IllegalArgumentException with null arguments or times before
+     *          {@code "Jan 01, 2020"} (UTC), when no time-ordered ids exist
+     */
+    public long[] orderIdRange(LocalDateTime from, LocalDateTime to) {
+        if(from==null || to==null)
+            throw new IllegalArgumentException("arguments from or to: null");
+        //
+        var zone = ZoneId.systemDefault();
+        return new long[] {
+            TimeOrderedIdGenerator.lowestId(from.atZone(zone).toInstant()),
+            TimeOrderedIdGenerator.highestId(to.atZone(zone).toInstant())
+        };
+    }
+
     /**
      * <i>Factory</i> method to create an object of class {@link Article}
      * from validated arguments. The <i>id</i> attribute is internally
@@ -380,8 +343,8 @@ final class DataFactoryImpl implements DataFactory, Validator {
         valid = valid && pricingCategory != null && tax_rate != null;
         valid = valid && unitPrice >= 0L;
         if(valid) {
-            String id = articleIdPool.next();
-            Article article = new Article(id, description);
+            String id = "SKU-" + articleIdPool.next();
+            Article article = new Article(id, names.intern(description));
             var pricing = pricingCategory.pricing();
             pricing.put(article, unitPrice, tax_rate, pricingCategory);
             return Optional.of(article);
@@ -425,7 +388,7 @@ final class DataFactoryImpl implements DataFactory, Validator {
         //
         if(customer.isPresent()) {
             LocalDateTime created = LocalDateTime.now();
-            var order = new Order(orderIdPool.next(), customer.get(), category.pricing(), created);
+            var order = new Order(orderIds.getAsLong(), customer.get(), category.pricing(), created);
             if(orderConsumer != null) {
                 orderConsumer.accept(order);
             }
@@ -464,6 +427,62 @@ final class DataFactoryImpl implements DataFactory, Validator {
         return Optional.empty();
     }
 
+    /**
+     * Codec for {@link Customer}, {@link Article} and {@link Order} objects
+     * created on first use.
+     */
+    private volatile BinaryCodec codec = null;
+
+    /**
+     * Return {@link BinaryCodec} that creates objects through the creator
+     * functions injected by {@link ProtectedFactory}. Ids of decoded objects
+     * are reserved in the id pools, so they are not handed out again, names
+     * and descriptions are interned like for created objects. Articles with
+     * the id of a registered article are not created again, the registered
+     * article and its slot are reused. Decoding fails with
+     * {@link IllegalArgumentException} if the decoded description differs
+     * from the description of the registered article.
+     * @return codec of datamodel objects
+     */
+    @Override
+    public BinaryCodec codec() {
+        var c = codec;
+        if(c == null) {
+            c = new BinaryCodec(
+                (id, firstName, lastName) -> {
+                    customerIdPool.reserve(id);
+                    return customerCreator.get().createCustomer(id, names.intern(firstName), names.intern(lastName));
+                },
+                (id, description) -> {
+                    if(id.startsWith("SKU-") && id.length() == 10 && TextScanner.isDigits(id, 4)) {
+                        articleIdPool.reserve(Long.parseLong(id.substring(4)));
+                    }
+                    var article = Pricing.article(id);
+                    if(article.isPresent() && ! article.get().getDescription().equals(description))
+                        throw new IllegalArgumentException(String.format(
+                            "article %s: decoded description differs from registered article", id));
+                    //
+                    return article.orElseGet(() -> articleCreator.get().createArticle(id, names.intern(description)));
+                },
+                orderRestorer());
+            codec = c;
+        }
+        return c;
+    }
+
+    /**
+     * Return function that creates decoded or replayed {@link Order} objects
+     * through the creator function injected by {@link ProtectedFactory} and
+     * reserves their ids in the id pool, so they are not handed out again.
+     * @return creator function of restored orders
+     */
+    ProtectedFactory.OrderCreator orderRestorer() {
+        return (id, customer, pricing, created) -> {
+            orderIdPool.reserve(id);
+            return orderCreator.get().createOrder(id, customer, pricing, created);
+        };
+    }
+
     public OrderBuilderImpl createOrderBuilder(Pricing.PricingCategory pricingCategory, Function<String, Optional<Customer>> customerFetcher, Function<String, Optional<Article>> articleFetcher) {
         return new OrderBuilderImpl(this, pricingCategory, customerFetcher, articleFetcher);
     }
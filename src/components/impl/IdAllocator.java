@@ -0,0 +1,172 @@
+package components.impl;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.LongStream;
+
+/**
+ * Lock-free allocator of unique random {@code long} ids in a range
+ * {@code [lowerBound, upperBound]} that can be used from many threads.
+ * <br>
+ * Initial ids are handed out first in the given order. Further ids are
+ * drawn at random and reserved with a compare-and-set on a bitmap over
+ * the range, which makes uniqueness checks O(1). Ranges too large for a
+ * bitmap (e.g. 10-digit order ids) reserve ids in a concurrent hash set.
+ */
+final class IdAllocator {
+
+    /**
+     * Largest range covered by a bitmap (16 MB of bits).
+     */
+    private static final long maxBitmapRange = 1L << 27;
+
+    /**
+     * Random probes before falling back to a scan of the bitmap for a free id.
+     */
+    private static final int maxProbes = 64;
+
+    /** lowest id in range */
+    private final long lowerBound;
+
+    /** number of ids in range */
+    private final long range;
+
+    /** ids handed out first, in order */
+    private final long[] initialIds;
+
+    /** index of next initial id */
+    private final AtomicInteger nextInitial = new AtomicInteger();
+
+    /** number of reserved ids */
+    private final AtomicLong reserved = new AtomicLong();
+
+    /** bit {@code i} set when id {@code lowerBound + i} is reserved, null for sparse ranges */
+    private final AtomicLongArray bitmap;
+
+    /** reserved ids for ranges too large for a bitmap, null for bitmap ranges */
+    private final Set<Long> sparse;
+
+    /**
+     * Constructor of id allocator for range {@code [lowerBound, upperBound]}.
+     *
+     * @param lowerBound lowest id in range
+     * @param upperBound highest id in range
+     * @param initialIds ids handed out first (ids outside range or duplicates are ignored)
+     * @throws IllegalArgumentException if range is empty
+     */
+    IdAllocator(long lowerBound, long upperBound, long... initialIds) {
+        if (upperBound < lowerBound)
+            throw new IllegalArgumentException("empty id range");
+        //
+        this.lowerBound = lowerBound;
+        this.range = upperBound - lowerBound + 1;
+        if (range <= maxBitmapRange) {
+            this.bitmap = new AtomicLongArray((int) ((range + 63) / 64));
+            this.sparse = null;
+        } else {
+            this.bitmap = null;
+            this.sparse = ConcurrentHashMap.newKeySet();
+        }
+        this.initialIds = LongStream.of(initialIds)
+            .filter(this::reserve)
+            .toArray();
+    }
+
+    /**
+     * Return next unique id: initial ids first, then random ids from the range.
+     *
+     * @return next unique id
+     * @throws IllegalStateException if all ids of the range are reserved
+     */
+    long next() {
+        if (nextInitial.get() < initialIds.length) {
+            int n = nextInitial.getAndIncrement();
+            if (n < initialIds.length) {
+                return initialIds[n];
+            }
+        }
+        var random = ThreadLocalRandom.current();
+        for (int probe = 0; probe < maxProbes; probe++) {
+            long id = lowerBound + random.nextLong(range);
+            if (reserve(id)) {
+                return id;
+            }
+        }
+        while (reserved.get() < range) {
+            if (bitmap == null) {
+                // sparse range: collisions are rare, keep probing
+                long id = lowerBound + random.nextLong(range);
+                if (reserve(id)) {
+                    return id;
+                }
+            } else {
+                // dense range: scan bitmap words from a random start for a free bit
+                int words = bitmap.length();
+                int start = random.nextInt(words);
+                for (int k = 0; k < words; k++) {
+                    int word = (start + k) % words;
+                    for (long free = ~bitmap.get(word); free != 0L; free &= free - 1) {
+                        long i = ((long) word << 6) + Long.numberOfTrailingZeros(free);
+                        if (i < range && reserve(lowerBound + i)) {
+                            return lowerBound + i;
+                        }
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException(String.format("id range [%d, %d] exhausted", lowerBound, lowerBound + range - 1));
+    }
+
+    /**
+     * Reserve id, method is thread-safe.
+     *
+     * @param id id to reserve
+     * @return true if id was in range and not reserved before
+     */
+    boolean reserve(long id) {
+        long i = id - lowerBound;
+        if (i < 0 || i >= range) {
+            return false;
+        }
+        if (bitmap == null) {
+            if ( ! sparse.add(id)) {
+                return false;
+            }
+            reserved.incrementAndGet();
+            return true;
+        }
+        int word = (int) (i >>> 6);
+        long mask = 1L << i;
+        long bits;
+        do {
+            bits = bitmap.get(word);
+            if ((bits & mask) != 0) {
+                return false;
+            }
+        } while ( ! bitmap.compareAndSet(word, bits, bits | mask));
+        reserved.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Return number of reserved ids.
+     *
+     * @return number of reserved ids
+     */
+    long reserved() {
+        return reserved.get();
+    }
+
+    /**
+     * Return number of ids still available in range.
+     *
+     * @return number of available ids
+     */
+    long available() {
+        return range - reserved.get();
+    }
+}
@@ -0,0 +1,142 @@
+package components.impl;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Column calculation of included VAT for {@link CalculatorImpl} with the
+ * incubating Vector API in chunks of {@link #chunk} values. The class is only
+ * loaded when module {@code jdk.incubator.vector} is resolved, e.g. with
+ * JavaVM option {@code --add-modules jdk.incubator.vector}, and
+ * {@link #isSupported()} returns true.
+ * <br>
+ * Vector units have no integer division. Each lane multiplies
+ * {@code n = grossValue * bp + divisor / 2} with the reciprocal of its
+ * divisor {@code 10000 + bp} in double lanes, which yields {@code n / divisor}
+ * or {@code n / divisor - 1}. The estimate is corrected with exact integer
+ * arithmetic, results are equal to
+ * {@code calculateIncludedVATBasisPoints(grossValue, bp)}.
+ * <br>
+ * Values are exact in double lanes up to {@code 2^52}. Chunks with gross
+ * values of {@link #grossLimit} or more or with ordinals outside of the
+ * tax rates are left to the scalar loop, as are tax rates above
+ * {@code 10000} basis points.
+ */
+final class IncludedVATVector {
+
+    /**
+     * Number of values calculated together.
+     */
+    static final int chunk = 8;
+
+    /**
+     * Upper bound (exclusive) of gross values calculated in vector lanes,
+     * {@code grossValue * bp + divisor / 2 < 2^52} for {@code bp <= 10000}.
+     */
+    static final long grossLimit = 1L << 38;
+
+    /*
+     * Long lanes of one chunk and byte and int lanes to widen ordinals.
+     */
+    private static final VectorSpecies<Long> longs = LongVector.SPECIES_512;
+    private static final VectorSpecies<Integer> ints = IntVector.SPECIES_256;
+    private static final VectorSpecies<Byte> bytes = ByteVector.SPECIES_64;
+
+    /*
+     * Bits of {@code 2^52} as double: {@code (2^52 + x) - 2^52} converts
+     * long {@code 0 <= x < 2^52} to double and rounded double back to long.
+     */
+    private static final long exponentBits = 0x4330000000000000L;
+    private static final double exponent = 0x1p52;
+
+    /*
+     * Subtracted from estimates before rounding so that the error of the
+     * reciprocal multiply (less than {@code 2^-10}) can only make them smaller.
+     */
+    private static final double bias = 0.5 + 0x1p-10;
+
+    /*
+     * Tax rates in basis points, divisors, half divisors and reciprocal
+     * divisors as double bits indexed by tax rate ordinal.
+     */
+    private final LongVector rates;
+    private final LongVector divisors;
+    private final LongVector halfDivisors;
+    private final LongVector reciprocals;
+
+    /*
+     * Number of tax rate ordinals.
+     */
+    private final byte ordinals;
+
+    /**
+     * Return true if the preferred vector shape of the platform is 512 bits
+     * wide. Narrower shapes (e.g. AVX2) have no instructions for 64-bit
+     * multiplies and long lanes are emulated, where the scalar loop is faster.
+     *
+     * @return true if vector lanes are faster than the scalar loop
+     */
+    static boolean isSupported() {
+        return LongVector.SPECIES_PREFERRED.vectorBitSize() >= longs.vectorBitSize();
+    }
+
+    /**
+     * Constructor with tax rates of a column calculation.
+     *
+     * @param rates tax rates in basis points by ordinal, at most {@link #chunk}
+     *          rates within {@code [0, 10000]}
+     */
+    IncludedVATVector(int[] rates) {
+        long[] bp = new long[chunk];
+        long[] divisor = new long[chunk];
+        long[] half = new long[chunk];
+        long[] reciprocal = new long[chunk];
+        for (int k = 0; k < rates.length; k++) {
+            bp[k] = rates[k];
+            divisor[k] = 10000L + rates[k];
+            half[k] = divisor[k] / 2;
+            reciprocal[k] = Double.doubleToRawLongBits(1.0 / divisor[k]);
+        }
+        this.rates = LongVector.fromArray(longs, bp, 0);
+        this.divisors = LongVector.fromArray(longs, divisor, 0);
+        this.halfDivisors = LongVector.fromArray(longs, half, 0);
+        this.reciprocals = LongVector.fromArray(longs, reciprocal, 0);
+        this.ordinals = (byte) rates.length;
+    }
+
+    /**
+     * Calculate taxes included in gross values in chunks starting at index
+     * {@code from} up to the first chunk that is left to the scalar loop.
+     *
+     * @param grossValues     values that include the tax
+     * @param taxRateOrdinals ordinals of tax rates for each value
+     * @param vats            calculated taxes
+     * @param from            index of first value to calculate
+     * @return index of first value not calculated
+     */
+    int calculate(long[] grossValues, byte[] taxRateOrdinals, long[] vats, int from) {
+        int i = from;
+        for (int upper = grossValues.length - chunk; i <= upper; i += chunk) {
+            var ordinal = ByteVector.fromArray(bytes, taxRateOrdinals, i);
+            var gross = LongVector.fromArray(longs, grossValues, i);
+            if (ordinal.compare(VectorOperators.UNSIGNED_GE, ordinals).anyTrue()
+                    || gross.compare(VectorOperators.GE, grossLimit).anyTrue())
+                break;
+            //
+            VectorShuffle<Long> shuffle = ((LongVector) ordinal.convertShape(VectorOperators.B2I, ints, 0)
+                .convertShape(VectorOperators.I2L, longs, 0)).toShuffle();
+            var divisor = divisors.rearrange(shuffle);
+            // values <= 0 yield n = divisor / 2 and 0 tax
+            var n = gross.max(0L).mul(rates.rearrange(shuffle)).add(halfDivisors.rearrange(shuffle));
+            var q = n.or(exponentBits).reinterpretAsDoubles().sub(exponent)
+                .mul(reciprocals.rearrange(shuffle).reinterpretAsDoubles())
+                .sub(bias).add(exponent).reinterpretAsLongs().sub(exponentBits);
+            q.add(1L, n.sub(q.mul(divisor)).compare(VectorOperators.GE, divisor)).intoArray(vats, i);
+        }
+        return i;
+    }
+}
@@ -0,0 +1,175 @@
+package components.impl;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Hash map with primitive {@code long} keys and open addressing (linear
+ * probing) that avoids boxed {@code Long} keys and map entry objects.
+ * Values must not be {@code null}, a {@code null} value marks a free slot.
+ * <br>
+ * The map is not thread-safe.
+ *
+ * @param <V> type of values
+ */
+final class LongHashMap<V> {
+
+    /** keys, valid where {@code values[i] != null} */
+    private long[] keys;
+
+    /** values, {@code null} marks a free slot */
+    private Object[] values;
+
+    /** number of entries */
+    private int size = 0;
+
+    /** {@code keys.length - 1}, capacity is a power of 2 */
+    private int mask;
+
+    /**
+     * Constructor of empty map.
+     */
+    LongHashMap() {
+        this(16);
+    }
+
+    /**
+     * Constructor of empty map with initial capacity for {@code expected} entries.
+     *
+     * @param expected expected number of entries
+     */
+    LongHashMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Return number of entries.
+     *
+     * @return number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Return value stored for key.
+     *
+     * @param key key to look up
+     * @return value stored for key or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Store value for key, replace previous value.
+     *
+     * @param key   key of value
+     * @param value value to store, must not be {@code null}
+     * @return previous value stored for key or {@code null}
+     * @throws IllegalArgumentException with null value
+     */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (value == null)
+            throw new IllegalArgumentException("value: null");
+        //
+        int i = slot(key);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V prev = (V) values[i];
+                values[i] = value;
+                return prev;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Remove entry for key. Entries following in the probe sequence are
+     * shifted back, so no tombstones are needed.
+     *
+     * @param key key of entry to remove
+     * @return removed value or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int i = slot(key);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V prev = (V) values[i];
+                // shift back entries whose probe sequence passes slot i
+                for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                    int home = slot(keys[j]);
+                    if (((j - home) & mask) >= ((j - i) & mask)) {
+                        keys[i] = keys[j];
+                        values[i] = values[j];
+                        i = j;
+                    }
+                }
+                values[i] = null;
+                size--;
+                return prev;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Perform action on each value (in undefined order).
+     *
+     * @param action action performed on values
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldValues[k] != null) {
+                int i = slot(oldKeys[k]);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[k];
+                values[i] = oldValues[k];
+            }
+        }
+    }
+}
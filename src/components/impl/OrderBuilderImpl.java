@@ -7,6 +7,7 @@ import java.util.function.Function;
 import components.BuildState;
 import components.DataFactory;
 import components.OrderBuilder;
+import components.OrderJournal;
 import datamodel.Article;
 import datamodel.Customer;
 import datamodel.Order;
@@ -46,6 +47,17 @@ final class OrderBuilderImpl implements OrderBuilder {
      */
     private final Function<String, Optional<Article>> articleFetcher;
 
+    /**
+     * Coalesce order items of the same article in built orders,
+     * see {@link Order#coalesceItems(boolean)}.
+     */
+    private boolean coalesceItems = false;
+
+    /**
+     * Journal that records built orders or {@code null}.
+     */
+    private OrderJournal journal = null;
+
     public OrderBuilderImpl(DataFactoryImpl dataFactory, PricingCategory pricingCategory, Function<String, Optional<Customer>> customerFetcher, Function<String, Optional<Article>> articleFetcher) {
     	this.dataFactory = dataFactory; 
 		this.pricingCategory = pricingCategory; 
@@ -53,6 +65,26 @@ final class OrderBuilderImpl implements OrderBuilder {
 		this.articleFetcher = articleFetcher; 
     }
 
+    /**
+     * Switch coalescing of order items of the same article in built orders.
+     * @param coalesce true to add units of repeated articles to the first order item
+     * @return chainable self-reference
+     */
+    public OrderBuilderImpl coalesceItems(boolean coalesce) {
+        this.coalesceItems = coalesce;
+        return this;
+    }
+
+    /**
+     * Record built orders in a journal.
+     * @param journal journal to append built orders to, {@code null} to stop recording
+     * @return chainable self-reference
+     */
+    public OrderBuilderImpl journal(OrderJournal journal) {
+        this.journal = journal;
+        return this;
+    }
+
     /**
      * Method to build {@link Order} object.
      * @param customerSpec specification matching customer id, first or last name
@@ -66,6 +98,9 @@ final class OrderBuilderImpl implements OrderBuilder {
         bst.step2_createOrder();
         bst.step3_supplyItems(buildState);
         //
+        if(bst.step==3 && journal != null) {
+            journal.append(bst.order.get());
+        }
         return bst.order;
     }
 
@@ -127,6 +162,7 @@ final class OrderBuilderImpl implements OrderBuilder {
         private void step2_createOrder() {
             if(step==1) {
                 order = dataFactory.createOrder(pricingCategory, customer, null);
+                order.ifPresent(o -> o.coalesceItems(coalesceItems));
                 stepOnCondition(2, order.isPresent());
             }
         }
@@ -0,0 +1,418 @@
+package components.impl;
+
+import components.OrderJournal;
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.Order;
+import datamodel.Pricing.PricingCategory;
+import datamodel.ProtectedFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Non-public implementation class of {@link OrderJournal} interface that
+ * appends binary order records to memory-mapped segment files
+ * {@code "orders-00000000.journal"}, {@code "orders-00000001.journal"}, ...
+ * in a directory. A record has the layout:
+ * <pre>
+ * int    length of record body (0 marks the end of a segment)
+ * long   order id
+ * long   customer id
+ * byte   pricing category ordinal
+ * long   created, seconds of epoch (UTC)
+ * int    created, nanos
+ * int    number of items
+ *        items: short length, bytes of UTF-8 article id, long units ordered
+ * int    CRC32 of length and body
+ * </pre>
+ * Article ids are recorded instead of article slots, which change between
+ * runs. A corrupt record is only treated as torn by a crash while appending
+ * if it is the last data of the last segment, replay of the last segment
+ * stops there. A corrupt or incomplete record in an earlier segment fails
+ * the replay, the records behind it would otherwise be lost silently.
+ * Replayed orders are created through the order creator of the data factory,
+ * which reserves their ids.
+ * <br>
+ * Records are copied into the mapped segment under a short lock. Appends
+ * return after the segment was forced to storage. Writers that wait while
+ * a force is in progress are covered together by the next force (group
+ * commit), so concurrent appends share the cost of one force.
+ */
+final class OrderJournalImpl implements OrderJournal {
+
+    /**
+     * Default size of segment files: 64 MiB.
+     */
+    static final int defaultSegmentSize = 64 << 20;
+
+    /**
+     * Size of length and CRC fields of a record.
+     */
+    private static final int frameBytes = 2 * Integer.BYTES;
+
+    private static final PricingCategory[] categories = PricingCategory.values();
+
+    /** directory of segment files */
+    private final Path directory;
+
+    /** size of segment files */
+    private final int segmentSize;
+
+    /** index of the segment appended to */
+    private int segment;
+
+    /** channel and mapping of the segment appended to */
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    /** journal position after the last copied record: {@code segment * segmentSize + offset} */
+    private volatile long written;
+
+    /** journal position up to which records were forced to storage */
+    private long durable;
+
+    /** number of records appended by this instance */
+    private volatile long appended = 0L;
+
+    /** number of orders skipped by replays of this instance */
+    private final AtomicLong skipped = new AtomicLong();
+
+    /** function that creates replayed orders */
+    private final ProtectedFactory.OrderCreator orderCreator;
+
+    /** lock for forcing segments, held by one writer on behalf of waiting writers */
+    private final Object forceLock = new Object();
+
+    /**
+     * Constructor of journal in a directory. Opens the last segment and
+     * positions behind its last valid record, a torn record is cleared.
+     * A corrupt record followed by further data is not cleared, the segment
+     * is left unchanged and the journal is not opened.
+     *
+     * @param directory    directory of segment files, created if not present
+     * @param segmentSize  size of segment files
+     * @param orderCreator function that creates replayed orders
+     * @throws IllegalArgumentException with null arguments or segment size below 1024
+     * @throws UncheckedIOException if directory or segments cannot be opened
+     *         or the last segment has a corrupt record followed by data
+     */
+    OrderJournalImpl(Path directory, int segmentSize, ProtectedFactory.OrderCreator orderCreator) {
+        if (directory == null || orderCreator == null)
+            throw new IllegalArgumentException("argument directory, orderCreator: null");
+        if (segmentSize < 1024)
+            throw new IllegalArgumentException("segment size below 1024 bytes");
+        //
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.orderCreator = orderCreator;
+        try {
+            Files.createDirectories(directory);
+            var segments = segments();
+            segment = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+            map(segment);
+            int tail = 0;
+            while (recordEnd(buffer, tail) > tail) {
+                tail = recordEnd(buffer, tail);
+            }
+            int torn = tail + Integer.BYTES <= segmentSize ? buffer.getInt(tail) : 0;
+            if (torn != 0) {
+                // a torn record is the last data, a corrupt length is only torn if nothing follows it
+                long clearEnd = torn > 0 && (long) tail + frameBytes + torn <= segmentSize
+                    ? (long) tail + frameBytes + torn : tail + Integer.BYTES;
+                for (long i = clearEnd; i < segmentSize; i++) {
+                    if (buffer.get((int) i) != 0) {
+                        channel.close();
+                        throw new IOException(String.format("corrupt record at offset %d of %s is followed by data",
+                            tail, segmentPath(segment)));
+                    }
+                }
+                for (int i = tail; i < clearEnd; i++) {
+                    buffer.put(i, (byte) 0);
+                }
+            }
+            buffer.position(tail);
+            written = durable = (long) segment * segmentSize + tail;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Append {@link Order} to journal, return after the record is durable.
+     *
+     * @param order order to append
+     * @return chainable self-reference
+     * @throws IllegalArgumentException with null argument or a record that exceeds the segment size
+     * @throws UncheckedIOException if the record cannot be written
+     */
+    @Override
+    public OrderJournal append(Order order) {
+        if (order == null)
+            throw new IllegalArgumentException("argument order: null");
+        //
+        byte[] record = encode(order);
+        if (record.length + Integer.BYTES > segmentSize)
+            throw new IllegalArgumentException("order record exceeds segment size");
+        //
+        long end;
+        synchronized (this) {
+            if (buffer == null)
+                throw new IllegalStateException("journal closed");
+            if (buffer.remaining() < record.length + Integer.BYTES) {
+                roll();
+            }
+            buffer.put(record);
+            end = (long) segment * segmentSize + buffer.position();
+            written = end;
+            appended++;
+        }
+        commit(end);
+        return this;
+    }
+
+    /**
+     * Replay all records of the journal in order of appending. Orders with
+     * customers or articles that cannot be fetched are skipped and counted,
+     * see {@link #skipped()}.
+     *
+     * @param customerFetcher function to fetch customer by id
+     * @param articleFetcher  function to fetch article by id
+     * @param orderConsumer   consumer of replayed orders
+     * @return number of replayed orders
+     * @throws IllegalArgumentException with null arguments
+     * @throws UncheckedIOException if segments cannot be read or a segment
+     *         other than the last has a corrupt or incomplete record
+     */
+    @Override
+    public int replay(Function<Long, Optional<Customer>> customerFetcher, Function<String, Optional<Article>> articleFetcher, Consumer<Order> orderConsumer) {
+        if (customerFetcher == null || articleFetcher == null || orderConsumer == null)
+            throw new IllegalArgumentException("arguments: null");
+        //
+        var articles = new HashMap<String, Optional<Article>>();
+        int replayed = 0;
+        try {
+            var segments = segments();
+            for (int k = 0; k < segments.size(); k++) {
+                int s = segments.get(k);
+                try (var ch = FileChannel.open(segmentPath(s), StandardOpenOption.READ)) {
+                    var in = ch.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(ch.size(), segmentSize));
+                    int pos = 0;
+                    for (int end; (end = recordEnd(in, pos)) > pos; pos = end) {
+                        var order = decode(in, pos + Integer.BYTES, customerFetcher,
+                            id -> articles.computeIfAbsent(id, articleFetcher));
+                        if (order != null) {
+                            orderConsumer.accept(order);
+                            replayed++;
+                        } else {
+                            skipped.incrementAndGet();
+                        }
+                    }
+                    boolean corrupt = pos + Integer.BYTES <= in.limit() && in.getInt(pos) != 0;
+                    if (corrupt && k < segments.size() - 1)
+                        throw new IOException(String.format("corrupt record at offset %d of %s is followed by segments",
+                            pos, segmentPath(s)));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return replayed;
+    }
+
+    /**
+     * Return number of orders appended through this instance.
+     *
+     * @return number of appended orders
+     */
+    @Override
+    public long appended() {
+        return appended;
+    }
+
+    /**
+     * Return number of orders skipped by replays of this instance, since
+     * their customer or an article could not be fetched.
+     *
+     * @return number of skipped orders
+     */
+    @Override
+    public long skipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Force and close the segment appended to.
+     */
+    @Override
+    public void close() {
+        synchronized (forceLock) {
+            synchronized (this) {
+                if (buffer != null) {
+                    try {
+                        buffer.force();
+                        channel.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } finally {
+                        buffer = null;
+                        channel = null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Make records up to journal position {@code end} durable. The first
+     * waiting writer forces all records copied so far, writers covered by
+     * that force return without forcing.
+     */
+    private void commit(long end) {
+        synchronized (forceLock) {
+            if (durable >= end)
+                return;
+            //
+            long target = written;
+            MappedByteBuffer b;
+            synchronized (this) {
+                b = buffer;
+            }
+            if (b != null) {
+                b.force();
+            }
+            durable = target;
+        }
+    }
+
+    /**
+     * Force current segment and continue with the next segment.
+     */
+    private void roll() {
+        try {
+            buffer.force();
+            channel.close();
+            map(++segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void map(int s) throws IOException {
+        channel = FileChannel.open(segmentPath(s),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private Path segmentPath(int s) {
+        return directory.resolve(String.format("orders-%08d.journal", s));
+    }
+
+    /**
+     * Return sorted indexes of segment files in directory.
+     */
+    private List<Integer> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                .filter(n -> n.matches("orders-\\d{8}\\.journal"))
+                .map(n -> Integer.parseInt(n.substring(7, 15)))
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    /**
+     * Return position after a valid record at {@code pos} or {@code pos}
+     * if there is no complete record with matching CRC.
+     */
+    private static int recordEnd(ByteBuffer in, int pos) {
+        if (pos + Integer.BYTES > in.limit())
+            return pos;
+        int length = in.getInt(pos);
+        if (length <= 0 || (long) pos + frameBytes + length > in.limit())
+            return pos;
+        var crc = new CRC32();
+        crc.update(in.slice(pos, Integer.BYTES + length));
+        return in.getInt(pos + Integer.BYTES + length) == (int) crc.getValue() ? pos + frameBytes + length : pos;
+    }
+
+    private static byte[] encode(Order order) {
+        int n = (int) order.itemsCount();
+        var ids = new byte[n][];
+        int length = 2 * Long.BYTES + 1 + Long.BYTES + 2 * Integer.BYTES;
+        for (int i = 0; i < n; i++) {
+            ids[i] = order.itemArticle(i).getId().getBytes(StandardCharsets.UTF_8);
+            if (ids[i].length > 0xffff)
+                throw new IllegalArgumentException("article id exceeds 65535 bytes");
+            length += Short.BYTES + ids[i].length + Long.BYTES;
+        }
+        var out = ByteBuffer.allocate(frameBytes + length);
+        var created = order.getCreated();
+        out.putInt(length)
+            .putLong(order.getId())
+            .putLong(order.getCustomer().getId())
+            .put((byte) order.getPricing().category().ordinal())
+            .putLong(created.toEpochSecond(ZoneOffset.UTC))
+            .putInt(created.getNano())
+            .putInt(n);
+        for (int i = 0; i < n; i++) {
+            out.putShort((short) ids[i].length).put(ids[i]).putLong(order.itemUnitsOrdered(i));
+        }
+        var crc = new CRC32();
+        crc.update(out.array(), 0, out.position());
+        out.putInt((int) crc.getValue());
+        return out.array();
+    }
+
+    /**
+     * Decode record body at {@code pos}, return {@code null} if customer
+     * or an article cannot be fetched.
+     */
+    private Order decode(ByteBuffer in, int pos, Function<Long, Optional<Customer>> customerFetcher, Function<String, Optional<Article>> articleFetcher) {
+        long id = in.getLong(pos);
+        long customerId = in.getLong(pos + 8);
+        var category = categories[in.get(pos + 16)];
+        var created = LocalDateTime.ofEpochSecond(in.getLong(pos + 17), in.getInt(pos + 25), ZoneOffset.UTC);
+        int n = in.getInt(pos + 29);
+        var customer = customerFetcher.apply(customerId);
+        if (customer.isEmpty())
+            return null;
+        //
+        var order = orderCreator.createOrder(id, customer.get(), category.pricing(), created);
+        var bytes = new byte[64];
+        pos += 33;
+        for (int i = 0; i < n; i++) {
+            int len = in.getShort(pos) & 0xffff;
+            if (len > bytes.length) {
+                bytes = new byte[len];
+            }
+            in.get(pos + Short.BYTES, bytes, 0, len);
+            pos += Short.BYTES + len;
+            var article = articleFetcher.apply(new String(bytes, 0, len, StandardCharsets.UTF_8));
+            if (article.isEmpty())
+                return null;
+            order.addItem(article.get(), in.getLong(pos));
+            pos += Long.BYTES;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,197 @@
+package components.impl;
+
+import components.OrderRepository;
+import datamodel.Order;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Non-public implementation class of {@link OrderRepository} interface
+ * of a system component that holds {@link Order} objects in indexes:
+ * <ul>
+ * <li>id index: concurrent hash map, O(1) lookup.
+ * <li>customer index: concurrent hash map of customer ids to skip-lists
+ *     of orders of the customer ordered by creation timestamp.
+ * <li>created index: skip-list keyed by creation timestamp and id,
+ *     O(log n) range queries.
+ * </ul>
+ * Orders are inserted concurrently. Inserts of the same order id are
+ * serialized by one of {@code stripes} locks, inserts of other ids mostly
+ * proceed in parallel, reads never lock. Secondary indexes are updated
+ * after the id index, a read may briefly miss an order that
+ * {@code findById()} already returns.
+ */
+final class OrderRepositoryImpl implements OrderRepository {
+
+    /**
+     * Key of secondary indexes ordered by creation timestamp, then order id.
+     */
+    private record Key(LocalDateTime created, long id) implements Comparable<Key> {
+
+        static Key of(Order order) {
+            return new Key(order.getCreated(), order.getId());
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int c = created.compareTo(other.created);
+            return c != 0 ? c : Long.compare(id, other.id);
+        }
+    }
+
+    /**
+     * Number of locks that serialize inserts of the same order id.
+     */
+    private static final int stripes = 64;
+
+    /**
+     * Locks of inserts, selected by order id.
+     */
+    private final Object[] locks = new Object[stripes];
+
+    /**
+     * Orders indexed by id.
+     */
+    private final ConcurrentMap<Long, Order> byId = new ConcurrentHashMap<>();
+
+    /**
+     * Orders indexed by customer id, ordered by creation timestamp.
+     */
+    private final ConcurrentMap<Long, ConcurrentNavigableMap<Key, Order>> byCustomer = new ConcurrentHashMap<>();
+
+    /**
+     * Orders ordered by creation timestamp.
+     */
+    private final ConcurrentNavigableMap<Key, Order> byCreated = new ConcurrentSkipListMap<>();
+
+    /**
+     * Constructor.
+     */
+    OrderRepositoryImpl() {
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Add {@link Order} to repository, replace order with same id.
+     *
+     * @param order order to add
+     * @return chainable self-reference
+     * @throws IllegalArgumentException with null argument or order without
+     *         customer or creation timestamp
+     */
+    @Override
+    public OrderRepository add(Order order) {
+        if (order == null)
+            throw new IllegalArgumentException("argument order: null");
+        if (order.getCustomer() == null || order.getCreated() == null)
+            throw new IllegalArgumentException("order without customer or created timestamp");
+        //
+        long id = order.getId();
+        var key = Key.of(order);
+        synchronized (locks[(int) (id ^ (id >>> 32)) & (stripes - 1)]) {
+            var prev = byId.put(id, order);
+            if (prev != null && prev != order) {
+                var prevKey = Key.of(prev);
+                byCreated.remove(prevKey, prev);
+                var orders = byCustomer.get(prev.getCustomer().getId());
+                if (orders != null) {
+                    orders.remove(prevKey, prev);
+                }
+            }
+            byCreated.put(key, order);
+            byCustomer.computeIfAbsent(order.getCustomer().getId(),
+                c -> new ConcurrentSkipListMap<>()).put(key, order);
+        }
+        return this;
+    }
+
+    /**
+     * Add {@link Order} objects to repository.
+     *
+     * @param orders orders to add
+     * @return chainable self-reference
+     * @throws IllegalArgumentException with null argument
+     */
+    @Override
+    public OrderRepository addAll(Collection<Order> orders) {
+        if (orders == null)
+            throw new IllegalArgumentException("argument orders: null");
+        //
+        orders.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * Find {@link Order} by id.
+     *
+     * @param id order id
+     * @return order with id or empty result
+     */
+    @Override
+    public Optional<Order> findById(long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Find {@link Order} objects of a customer.
+     *
+     * @param customerId id of customer
+     * @return orders of customer ordered by creation timestamp
+     */
+    @Override
+    public List<Order> findByCustomerId(long customerId) {
+        var orders = byCustomer.get(customerId);
+        return orders == null ? List.of() : List.copyOf(orders.values());
+    }
+
+    /**
+     * Find {@link Order} objects created in interval {@code [from, to)}.
+     *
+     * @param from begin of interval (inclusive)
+     * @param to   end of interval (exclusive)
+     * @return orders created in interval ordered by creation timestamp
+     * @throws IllegalArgumentException with null arguments
+     */
+    @Override
+    public List<Order> findByCreated(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null)
+            throw new IllegalArgumentException("argument from, to: null");
+        //
+        if ( ! from.isBefore(to))
+            return List.of();
+        //
+        var lower = new Key(from, Long.MIN_VALUE);
+        var upper = new Key(to, Long.MIN_VALUE);
+        return List.copyOf(byCreated.subMap(lower, upper).values());
+    }
+
+    /**
+     * Return all {@link Order} objects of repository. The result is weakly
+     * consistent with concurrent inserts.
+     *
+     * @return all orders ordered by creation timestamp
+     */
+    @Override
+    public List<Order> findAll() {
+        return List.copyOf(byCreated.values());
+    }
+
+    /**
+     * Return number of orders in repository.
+     *
+     * @return number of orders
+     */
+    @Override
+    public int count() {
+        return byId.size();
+    }
+}
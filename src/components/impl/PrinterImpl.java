@@ -1,5 +1,6 @@
 package components.impl;
 
+import components.Calculator;
 import components.Components;
 import components.Printer;
 import components.TableFormatter;
@@ -26,6 +27,7 @@ final class PrinterImpl implements Printer {
             throw new IllegalArgumentException("argument articles: null");
         //
         var pricing = pricingCategory.pricing();
+        var prices = pricing.table();   // one price version for all rows
         //
         final TableFormatter tf = Components.getInstance().getFormatter().createTableFormatter(
                 // table column specification
@@ -36,8 +38,8 @@ final class PrinterImpl implements Printer {
         //
         // print {@link Article} rows:
         Comparator<Article> comparator = (a1, a2) -> {
-            long p1 = pricing.unitPrice(a1);
-            long p2 = pricing.unitPrice(a2);
+            long p1 = prices.unitPrice(a1);
+            long p2 = prices.unitPrice(a2);
             return (int) (p2 - p1);
         };
         articles.stream()
@@ -45,9 +47,9 @@ final class PrinterImpl implements Printer {
             .forEach(article -> {
                 var id = article.getId();
                 var description = article.getDescription();
-                var price = Components.getInstance().getFormatter().fmtPrice(pricing.unitPrice(article), pricing.currency(), 1);
-                var taxRate = pricing.taxRate(article);
-                double percent = pricing.taxRateAsPercent(article);
+                var price = Components.getInstance().getFormatter().fmtPrice(prices.unitPrice(article), pricing.currency(), 1);
+                var taxRate = prices.taxRate(article);
+                double percent = prices.taxRateBasisPointsAt(article.getSlot()) / 100.0;
                 long lrd = (long) (percent * 10.0) % 10;
                 var vatRate = String.format((lrd == 0L ? "%.0f%s" : "%.1f%s"), percent, "%");
                 String vat = taxRate == Pricing.TAXRate.Regular ? " normal" : taxRate == Pricing.TAXRate.Reduced ? " reduziert" : taxRate == Pricing.TAXRate.Excempt ? " excempt" : "";
@@ -119,18 +121,20 @@ final class PrinterImpl implements Printer {
             .row("Bestell-ID", String.format("Bestellungen%s", currencyLabel), "MwSt", "*", "Preis", "MwSt", "Gesamt")
             .line();
         //
-        // print {@link Order} rows:
+        // print {@link Order} rows with prices of one version:
+        final var calculator = Components.getInstance().getCalculator();
+        final var snapshot = Pricing.snapshot();
         orders.stream()
             .forEach(order -> {
-                long orderValue = Components.getInstance().getCalculator().calculateOrderValue(order);
-                long orderVAT = Components.getInstance().getCalculator().calculateOrderVAT(order);
+                var prices = snapshot.table(order.getPricing().category());
+                var totals = calculator.calculateOrderTotals(order, prices);
                 //
                 // print Order as row:
-                printOrder(order, orderValue, orderVAT, tf).line();
+                printOrder(order, prices, totals, tf).line();
                 //
                 // compound order and tax values
-                compound[0] += orderValue;
-                compound[1] += orderVAT;
+                compound[0] += totals.value();
+                compound[1] += totals.vat();
             });
         //
         tf.row(null, null, null, null, "Gesamt:", Components.getInstance().getFormatter().fmtPrice(compound[1], Pricing.Currency.Euro,0), Components.getInstance().getFormatter().fmtPrice(compound[0], Pricing.Currency.Euro,0));
@@ -141,19 +145,20 @@ final class PrinterImpl implements Printer {
     /**
      * Print one {@link Order} object as table row into a {@link TableFormatter}.
      * @param order order to print
-     * @param orderValue total order value shown in right column
-     * @param orderVAT total order tax shown in right column
+     * @param prices price table totals were calculated with
+     * @param totals order and item values and VAT calculated in one pass
      * @param tf {@link TableFormatter} to format and store table row
      * @return table formatter with printed row added
      * @throws IllegalArgumentException with null arguments
      */
-    TableFormatter printOrder(Order order, long orderValue, long orderVAT, TableFormatter tf) {
-        if(order==null || tf==null)
-            throw new IllegalArgumentException("arguments order or table formatter: null");
+    TableFormatter printOrder(Order order, Pricing.PriceTable prices, Calculator.OrderTotals totals, TableFormatter tf) {
+        if(order==null || prices==null || totals==null || tf==null)
+            throw new IllegalArgumentException("arguments order, prices, totals or table formatter: null");
         //
         var id = Long.valueOf(order.getId()).toString();
         var pricing = order.getPricing();
         var currency = pricing.currency();
+        var formatter = Components.getInstance().getFormatter();
         // limit name length so label 'Bestellung' is not cut off
         var name = String.format("%.11s", order.getCustomer().getFirstName());
         var brief = name.length() > 6;  // shorten labels for longer names
@@ -162,28 +167,26 @@ final class PrinterImpl implements Printer {
         //
         tf.row(id, orderLabel, "", "", "", "", "");   // heading row with order id and name
         //
-        var it = order.getOrderItems().iterator();
-        for(int i=0; it.hasNext(); i++) {
-            var item = it.next();
-            var article = item.article();
+        int last = totals.items() - 1;
+        for(int i=0; i <= last; i++) {
+            var article = order.itemArticle(i);
             var descr = article.getDescription();
-            long unitsOrdered = item.unitsOrdered();
-            long unitPrice = pricing.unitPrice(article);
-            long value = Components.getInstance().getCalculator().calculateOrderItemValue(item, pricing);
-            long vat = Components.getInstance().getCalculator().calculateOrderItemVAT(item, pricing);
-            var taxRate = pricing.taxRate(article);
+            long unitsOrdered = order.itemUnitsOrdered(i);
+            long value = totals.itemValue(i);
+            long vat = totals.itemVAT(i);
+            var taxRate = prices.taxRate(article);
             var reducedTaxMarker = taxRate== Pricing.TAXRate.Reduced? "*" : "";
             String itemDescr = String.format(" - %dx %s%s",
                 unitsOrdered, descr, unitsOrdered > 1?
-                    String.format(", %dx %s", unitsOrdered, Components.getInstance().getFormatter().fmtPrice(unitPrice, currency,0)) :
+                    String.format(", %dx %s", unitsOrdered, formatter.fmtPrice(prices.unitPrice(article), currency,0)) :
                     String.format("")
             );
-            String[] totals = i < order.itemsCount() - 1?   // last row?
+            String[] totalCells = i < last?   // last row?
                 new String[] { "", ""} :
-                new String[] { Components.getInstance().getFormatter().fmtPrice(orderVAT, currency,0), Components.getInstance().getFormatter().fmtPrice(orderValue, currency,0) };
+                new String[] { formatter.fmtPrice(totals.vat(), currency,0), formatter.fmtPrice(totals.value(), currency,0) };
             //
             // item rows with item description, VAT, value and totals in the last row
-            tf.row("", itemDescr, Components.getInstance().getFormatter().fmtPrice(vat, currency,0), reducedTaxMarker, Components.getInstance().getFormatter().fmtPrice(value, currency,0), totals[0], totals[1]);
+            tf.row("", itemDescr, formatter.fmtPrice(vat, currency,0), reducedTaxMarker, formatter.fmtPrice(value, currency,0), totalCells[0], totalCells[1]);
         };
         return tf;
     }
@@ -0,0 +1,93 @@
+package components.impl;
+
+import components.Repricing;
+import datamodel.Pricing;
+import datamodel.Pricing.PricingCategory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Non-public implementation class of {@link Repricing} interface.
+ * Jobs run one after another on a background thread, so factor changes
+ * are applied in the order they were requested. Each job reprices the
+ * pages of a price table in parallel (see {@link Pricing#reprice}) and
+ * publishes the result as one new price version, readers are not blocked.
+ */
+final class RepricingImpl implements Repricing {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        var thread = new Thread(task, "repricing");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Change price factor of a pricing category and reprice the category
+     * in the background.
+     *
+     * @param category    pricing category to reprice, not {@code BasePricing}
+     * @param priceFactor new price factor, positive
+     * @param progress    called with progress from worker threads
+     * @return future completed with the result or with the exception of the job
+     * @throws IllegalArgumentException with null arguments, with {@code BasePricing}
+     *         or a price factor that is not positive
+     */
+    @Override
+    public CompletableFuture<Result> changePriceFactor(PricingCategory category, double priceFactor, Consumer<Progress> progress) {
+        if (category == null || progress == null)
+            throw new IllegalArgumentException("arguments category, progress: null");
+        if (category == PricingCategory.BasePricing)
+            throw new IllegalArgumentException("BasePricing has no price factor");
+        if ( ! (priceFactor > 0.0 && Double.isFinite(priceFactor)))
+            throw new IllegalArgumentException(String.format("illegal price factor: %s", priceFactor));
+        //
+        return CompletableFuture.supplyAsync(() -> {
+            long started = System.nanoTime();
+            var snapshot = Pricing.reprice(category, priceFactor,
+                (done, pages) -> progress.accept(new Progress(category, done, pages)));
+            return new Result(category, priceFactor, snapshot.version(),
+                snapshot.table(category).articles(), (System.nanoTime() - started) / 1_000_000L);
+        }, executor);
+    }
+
+    /**
+     * Apply price factors from properties {@code pricing.factor.<PricingCategory>},
+     * categories are only repriced if their factor changes. Each property is
+     * validated on its own, a property that is not a valid price factor yields
+     * a job that failed with {@link IllegalArgumentException}, jobs of other
+     * categories are started regardless.
+     *
+     * @param properties properties with price factors
+     * @return futures of started and failed repricing jobs in category order
+     * @throws IllegalArgumentException with null argument
+     */
+    @Override
+    public List<CompletableFuture<Result>> configure(Properties properties) {
+        if (properties == null)
+            throw new IllegalArgumentException("argument properties: null");
+        //
+        var jobs = new ArrayList<CompletableFuture<Result>>();
+        for (var category : PricingCategory.values()) {
+            String value = properties.getProperty(propertyPrefix + category.name());
+            if (value != null && category != PricingCategory.BasePricing) {
+                try {
+                    double priceFactor = Double.parseDouble(value.trim());
+                    if (priceFactor != category.pricing().priceFactor()) {
+                        jobs.add(changePriceFactor(category, priceFactor, progress -> { }));
+                    }
+                } catch (IllegalArgumentException e) {
+                    // NumberFormatException is an IllegalArgumentException
+                    jobs.add(CompletableFuture.failedFuture(new IllegalArgumentException(
+                        String.format("illegal price factor: %s%s = %s", propertyPrefix, category.name(), value))));
+                }
+            }
+        }
+        return jobs;
+    }
+}
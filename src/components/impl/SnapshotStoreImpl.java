@@ -0,0 +1,314 @@
+package components.impl;
+
+import components.ArticleCatalog;
+import components.CustomerRepository;
+import components.DataFactory;
+import components.OrderRepository;
+import components.SnapshotStore;
+import datamodel.Article;
+import datamodel.BinaryCodec;
+import datamodel.Customer;
+import datamodel.Order;
+import datamodel.Pricing;
+import datamodel.Pricing.PricingCategory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Non-public implementation class of {@link SnapshotStore} interface.
+ * A snapshot file has the layout:
+ * <pre>
+ * int     magic number "SE1S"
+ * int     snapshot format version
+ * int     number of customers, articles, orders
+ *         per {@link PricingCategory}: int number of tax rate versions,
+ *         each long effective time, int basis points per tax rate,
+ *         int number of price factor versions, each long effective
+ *         time, double price factor
+ *         customer records ({@link BinaryCodec})
+ *         article records, each followed by one price entry per
+ *         {@link PricingCategory}: byte stored (0, 1), long unit price,
+ *         byte tax rate ordinal, int number of price versions, each
+ *         long effective time, long unit price, byte tax rate ordinal
+ *         order records
+ * </pre>
+ * Effective times are epoch milliseconds. Restore replaces price and tax
+ * rate histories by saved histories, saved price factor versions are
+ * merged with the configured price factors, which stay current.
+ * Snapshots are written on a background thread into a temporary file that
+ * replaces the snapshot file when complete. Objects are collected from
+ * the repositories first, intake continues while records are written.
+ * Customers and articles of orders are included even if they are not in
+ * the repositories, so every written order can be restored.
+ * Restore maps the snapshot file and decodes records directly from the
+ * mapping into the repositories and price tables.
+ */
+final class SnapshotStoreImpl implements SnapshotStore {
+
+    private static final int magic = 0x53453153;    // "SE1S"
+
+    private static final int formatVersion = 2;
+
+    private static final PricingCategory[] categories = PricingCategory.values();
+
+    private static final Pricing.TAXRate[] taxRates = Pricing.TAXRate.values();
+
+    private final DataFactory dataFactory;
+    private final CustomerRepository customerRepository;
+    private final ArticleCatalog articleCatalog;
+    private final OrderRepository orderRepository;
+
+    SnapshotStoreImpl(DataFactory dataFactory, CustomerRepository customerRepository, ArticleCatalog articleCatalog, OrderRepository orderRepository) {
+        this.dataFactory = dataFactory;
+        this.customerRepository = customerRepository;
+        this.articleCatalog = articleCatalog;
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * Write snapshot of repositories and price tables to a file in the
+     * background.
+     *
+     * @param file snapshot file, replaced when the snapshot is complete
+     * @return future completed with numbers of written objects or with
+     *         {@link UncheckedIOException} if the file cannot be written
+     * @throws IllegalArgumentException with null argument
+     */
+    @Override
+    public CompletableFuture<Counts> write(Path file) {
+        if (file == null)
+            throw new IllegalArgumentException("argument file: null");
+        //
+        var orders = orderRepository.findAll();
+        // include customers and articles of orders that are not in repositories
+        var customers = new LinkedHashMap<Long, Customer>();
+        customerRepository.findAll().forEach(c -> customers.put(c.getId(), c));
+        var articles = new LinkedHashMap<String, Article>();
+        articleCatalog.findAll().forEach(a -> articles.put(a.getId(), a));
+        for (var order : orders) {
+            customers.putIfAbsent(order.getCustomer().getId(), order.getCustomer());
+            for (int i = 0; i < order.itemsCount(); i++) {
+                var article = order.itemArticle(i);
+                articles.putIfAbsent(article.getId(), article);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> write(file,
+                List.copyOf(customers.values()), List.copyOf(articles.values()), orders), task -> {
+            var thread = new Thread(task, "snapshot-writer");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * Restore snapshot from file into repositories and price tables.
+     *
+     * @param file snapshot file
+     * @return numbers of restored objects
+     * @throws IllegalArgumentException with null argument or if file is not a snapshot
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    @Override
+    public Counts restore(Path file) {
+        if (file == null)
+            throw new IllegalArgumentException("argument file: null");
+        //
+        var codec = dataFactory.codec();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.remaining() < 5 * Integer.BYTES || in.getInt() != magic)
+                throw new IllegalArgumentException(String.format("not a snapshot file: \"%s\"", file));
+            if (in.getInt() != formatVersion)
+                throw new IllegalArgumentException(String.format("unsupported snapshot version: \"%s\"", file));
+            //
+            int nCustomers = in.getInt(), nArticles = in.getInt(), nOrders = in.getInt();
+            var taxRateHistories = new ArrayList<List<Pricing.TaxRateVersion>>();
+            var factorHistories = new ArrayList<List<Pricing.FactorVersion>>();
+            for (int c = 0; c < categories.length; c++) {
+                var taxRateVersions = new ArrayList<Pricing.TaxRateVersion>();
+                for (int i = in.getInt(); i > 0; i--) {
+                    long from = in.getLong();
+                    var basisPoints = new int[taxRates.length];
+                    for (int t = 0; t < basisPoints.length; t++) {
+                        basisPoints[t] = in.getInt();
+                    }
+                    taxRateVersions.add(new Pricing.TaxRateVersion(from, basisPoints));
+                }
+                taxRateHistories.add(taxRateVersions);
+                var factorVersions = new ArrayList<Pricing.FactorVersion>();
+                for (int i = in.getInt(); i > 0; i--) {
+                    factorVersions.add(new Pricing.FactorVersion(in.getLong(), in.getDouble()));
+                }
+                factorHistories.add(factorVersions);
+            }
+            var customers = new LongHashMap<Customer>(nCustomers);
+            for (int i = 0; i < nCustomers; i++) {
+                var customer = codec.readCustomer(in);
+                customers.put(customer.getId(), customer);
+                customerRepository.add(customer);
+            }
+            var articles = new HashMap<String, Article>(nArticles * 2);
+            int[] prices = { 0 };
+            // all restored prices are published as one price version
+            Pricing.update(batch -> {
+                for (int i = 0; i < nArticles; i++) {
+                    var article = codec.readArticle(in);
+                    articles.put(article.getId(), article);
+                    articleCatalog.add(article);
+                    for (var category : categories) {
+                        boolean stored = in.get() != 0;
+                        long unitPrice = in.getLong();
+                        var taxRate = taxRates[in.get()];
+                        if (stored) {
+                            batch.restorePrice(article, unitPrice, taxRate, category);
+                            prices[0]++;
+                        }
+                        var versions = new ArrayList<Pricing.PriceVersion>();
+                        for (int v = in.getInt(); v > 0; v--) {
+                            versions.add(new Pricing.PriceVersion(in.getLong(), in.getLong(), taxRates[in.get()]));
+                        }
+                        batch.restoreHistory(article, category, versions);
+                    }
+                }
+            });
+            for (var category : categories) {
+                category.pricing().restoreTaxRateHistory(taxRateHistories.get(category.ordinal()));
+                category.pricing().restoreFactorHistory(factorHistories.get(category.ordinal()));
+            }
+            int restored = 0;
+            for (int i = 0; i < nOrders; i++) {
+                var order = codec.readOrder(in,
+                    id -> Optional.ofNullable(customers.get(id)),
+                    id -> Optional.ofNullable(articles.get(id)));
+                if (order.isPresent()) {
+                    orderRepository.add(order.get());
+                    restored++;
+                }
+            }
+            return new Counts(nCustomers, nArticles, prices[0], restored);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Counts write(Path file, List<Customer> customers, List<Article> articles, List<Order> orders) {
+        var codec = dataFactory.codec();
+        var tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        int[] prices = { 0 };
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            try (var channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                var out = new ChunkWriter(channel);
+                out.put(b -> b.putInt(magic).putInt(formatVersion)
+                    .putInt(customers.size()).putInt(articles.size()).putInt(orders.size()));
+                for (var category : categories) {
+                    var taxRateVersions = category.pricing().taxRateHistory();
+                    var factorVersions = category.pricing().factorHistory();
+                    out.put(b -> {
+                        b.putInt(taxRateVersions.size());
+                        for (var version : taxRateVersions) {
+                            b.putLong(version.from());
+                            for (int basisPoints : version.basisPoints()) {
+                                b.putInt(basisPoints);
+                            }
+                        }
+                        b.putInt(factorVersions.size());
+                        for (var version : factorVersions) {
+                            b.putLong(version.from()).putDouble(version.priceFactor());
+                        }
+                    });
+                }
+                for (var customer : customers) {
+                    out.put(b -> codec.write(customer, b));
+                }
+                var priceSnapshot = Pricing.snapshot();  // prices of one version
+                for (var article : articles) {
+                    out.put(b -> {
+                        codec.write(article, b);
+                        for (var category : categories) {
+                            var table = priceSnapshot.table(category);
+                            boolean stored = table.isStored(article);
+                            b.put((byte) (stored ? 1 : 0))
+                                .putLong(table.unitPrice(article))
+                                .put((byte) table.taxRate(article).ordinal());
+                            var versions = category.pricing().priceHistory(article);
+                            b.putInt(versions.size());
+                            for (var version : versions) {
+                                b.putLong(version.from()).putLong(version.unitPrice())
+                                    .put((byte) version.taxRate().ordinal());
+                            }
+                        }
+                    });
+                    for (var category : categories) {
+                        prices[0] += priceSnapshot.table(category).isStored(article) ? 1 : 0;
+                    }
+                }
+                for (var order : orders) {
+                    out.put(b -> codec.write(order, b));
+                }
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Counts(customers.size(), articles.size(), prices[0], orders.size());
+    }
+
+    /**
+     * Writer that collects records in a buffer and writes the buffer to a
+     * channel when a record does not fit. A record that exceeds the buffer
+     * is written with a larger buffer.
+     */
+    private static final class ChunkWriter {
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+
+        ChunkWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void put(Consumer<ByteBuffer> record) throws IOException {
+            int mark = buffer.position();
+            try {
+                record.accept(buffer);
+            } catch (BufferOverflowException e) {
+                buffer.position(mark);
+                flush();
+                try {
+                    record.accept(buffer);
+                } catch (BufferOverflowException e2) {
+                    buffer = ByteBuffer.allocateDirect(buffer.capacity() * 4);
+                    put(record);
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
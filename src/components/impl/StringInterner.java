@@ -0,0 +1,163 @@
+package components.impl;
+
+import components.DataFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent dictionary that hands out canonical instances of equal
+ * Strings, so repeated names and descriptions share one String object.
+ * <br>
+ * The dictionary is split into segments by hash code, each segment is a
+ * small access-ordered map guarded by its own lock. Segments hold a bounded
+ * number of entries, the least recently used entry is evicted when a
+ * segment is full. Evicted Strings remain valid, later equal Strings just
+ * start a new canonical instance.
+ * <br>
+ * Saved bytes are estimated for each String that is replaced by a distinct
+ * canonical instance as the size of a compact String: object header and
+ * fields (24 bytes), array header (16 bytes) and 1 byte per character for
+ * Latin-1 or 2 bytes per character otherwise, aligned to 8 bytes. Reported
+ * saved bytes are net of the bytes of current dictionary entries.
+ */
+final class StringInterner {
+
+    /**
+     * Default capacity: 64k entries in 16 segments.
+     */
+    static final int defaultCapacity = 1 << 16, defaultSegments = 16;
+
+    /**
+     * Estimated bytes of one dictionary entry (compressed oops): 40 bytes
+     * {@code LinkedHashMap.Entry} and ~8 bytes of the bucket array.
+     */
+    static final long entryBytes = 40 + 8;
+
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    /**
+     * Constructor of dictionary with a capacity of entries.
+     *
+     * @param capacity maximum number of entries (rounded to a multiple of segments)
+     * @param segments number of segments, rounded up to a power of 2
+     * @throws IllegalArgumentException if capacity or segments are not positive
+     */
+    StringInterner(int capacity, int segments) {
+        if (capacity <= 0 || segments <= 0)
+            throw new IllegalArgumentException("capacity and segments must be positive");
+        //
+        int n = Integer.highestOneBit(segments * 2 - 1);
+        int perSegment = Math.max(1, capacity / n);
+        this.segments = new Segment[n];
+        for (int i = 0; i < n; i++) {
+            this.segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Return canonical instance of a String, {@code s} itself becomes the
+     * canonical instance if no equal String is in the dictionary.
+     *
+     * @param s String to intern, may be {@code null}
+     * @return canonical instance equal to {@code s} or {@code null}
+     */
+    String intern(String s) {
+        if (s == null)
+            return null;
+        //
+        int h = s.hashCode();
+        var segment = segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+        String canonical;
+        synchronized (segment) {
+            canonical = segment.intern(s);
+        }
+        if (canonical == null) {
+            misses.increment();
+            return s;
+        }
+        hits.increment();
+        if (canonical != s) {
+            savedBytes.add(bytes(s));
+        }
+        return canonical;
+    }
+
+    /**
+     * Remove all entries, counters are kept.
+     */
+    void clear() {
+        for (var segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+            }
+        }
+    }
+
+    /**
+     * Return statistics of the dictionary.
+     *
+     * @return numbers of entries, hits, misses, evictions and saved bytes
+     *         net of the bytes of entries (negative if entries cost more)
+     */
+    DataFactory.InternStats stats() {
+        int entries = 0;
+        for (var segment : segments) {
+            synchronized (segment) {
+                entries += segment.entries.size();
+            }
+        }
+        return new DataFactory.InternStats(entries, hits.sum(), misses.sum(), evictions.sum(),
+            savedBytes.sum() - entries * entryBytes);
+    }
+
+    /**
+     * Return estimated size of a String object with its array in bytes.
+     */
+    static long bytes(String s) {
+        int length = s.length();
+        int perChar = 1;
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(i) > 0xff) {
+                perChar = 2;
+                break;
+            }
+        }
+        return 24 + ((16L + (long) length * perChar + 7) & ~7L);
+    }
+
+    /**
+     * Segment with an access-ordered map that evicts its least recently
+     * used entry, guarded by the lock of the segment.
+     */
+    private final class Segment {
+        private final LinkedHashMap<String, String> entries;
+        private final int capacity;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(Math.min(capacity, 64), 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        /**
+         * Return canonical instance equal to {@code s} or {@code null} if
+         * {@code s} was added, evict the eldest entry if the segment is full.
+         */
+        String intern(String s) {
+            var canonical = entries.putIfAbsent(s, s);
+            if (canonical == null && entries.size() > capacity) {
+                Iterator<String> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+            return canonical;
+        }
+    }
+}
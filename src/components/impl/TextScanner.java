@@ -0,0 +1,311 @@
+package components.impl;
+
+/**
+ * Hand-written single-pass scanners used by {@link DataFactoryImpl} to trim
+ * and validate names and contacts. Scanners accept and reject exactly the
+ * same inputs as the regular expressions documented with each method, but
+ * compile no patterns and allocate no objects (except for the trimmed
+ * result String when characters must be removed).
+ * <br>
+ * White spaces are characters matched by regex {@code \s}:
+ * {@code ' ', '\t', '\n', '\u000B', '\f', '\r'}.
+ */
+final class TextScanner {
+
+    /**
+     * Private constructor to prevent object instantiation.
+     */
+    private TextScanner() { }
+
+    /**
+     * Trim leading and trailing white spaces, commata {@code [,;]} and
+     * quotes {@code ["']} from a String and replace interim sequences of
+     * white spaces by a single blank. Same result as:
+     * <pre>
+     * s.replaceAll("^[\\s\"',;]*", "")
+     *  .replaceAll("[\\s\"',;]*$", "")
+     *  .replaceAll("[\\s]+", " ");
+     * </pre>
+     *
+     * @param s String to trim
+     * @return trimmed String
+     */
+    static String trimQuotesAndWhiteSpaces(String s) {
+        return trimQuotesAndWhiteSpaces(s, 0, s.length());
+    }
+
+    /**
+     * Trim region {@code [begin, end)} of a String like
+     * {@code trimQuotesAndWhiteSpaces(s.substring(begin, end))}
+     * without creating the substring.
+     *
+     * @param s     String with region to trim
+     * @param begin begin of region (inclusive)
+     * @param end   end of region (exclusive)
+     * @return trimmed region
+     */
+    static String trimQuotesAndWhiteSpaces(String s, int begin, int end) {
+        begin = trimBegin(s, begin, end);
+        end = trimEnd(s, begin, end);
+        // find first white space that is not a single blank
+        int i = begin;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (isWhiteSpace(c) && (c != ' ' || (i + 1 < end && isWhiteSpace(s.charAt(i + 1))))) {
+                break;
+            }
+        }
+        if (i == end) {
+            return s.substring(begin, end);
+        }
+        var sb = new StringBuilder(end - begin).append(s, begin, i);
+        while (i < end) {
+            char c = s.charAt(i++);
+            if (isWhiteSpace(c)) {
+                sb.append(' ');
+                while (i < end && isWhiteSpace(s.charAt(i))) {
+                    i++;
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Split single-String name into last and first name parts and validate
+     * both parts in a single pass. Returns offsets of the trimmed parts in
+     * {@code name}, no intermediate Strings are created. Parts are built with
+     * {@code trimQuotesAndWhiteSpaces(name, begin, end)}.
+     * <br>
+     * Names with a separator {@code [,;]} followed by further characters
+     * other than separators split into the last name before the first and
+     * the first name between the first and the second separator. Other
+     * names split at white spaces, the trailing part is the last name, all
+     * prior parts are first name parts. Last names must be valid names,
+     * first names must be valid or empty.
+     *
+     * @param name single-String name to split
+     * @return offsets {@code {firstBegin, firstEnd, lastBegin, lastEnd}} or
+     *         {@code null} if name is not valid
+     */
+    static int[] splitName(String name) {
+        if (name == null || name.length() == 0) {
+            return null;
+        }
+        int len = name.length();
+        int firstBegin, firstEnd, lastBegin, lastEnd;
+        int sep = 0;
+        while (sep < len && ! isSeparator(name.charAt(sep))) {
+            sep++;
+        }
+        int next = sep;
+        while (next < len && isSeparator(name.charAt(next))) {
+            next++;
+        }
+        if (next < len) {
+            // two-part name with last name first
+            int sep2 = sep + 1;
+            while (sep2 < len && ! isSeparator(name.charAt(sep2))) {
+                sep2++;
+            }
+            lastBegin = 0;
+            lastEnd = sep;
+            firstBegin = sep + 1;
+            firstEnd = sep2;
+        } else {
+            // no separator [,;] -> split by white spaces
+            lastEnd = len;
+            while (lastEnd > 0 && isWhiteSpace(name.charAt(lastEnd - 1))) {
+                lastEnd--;
+            }
+            lastBegin = lastEnd;
+            while (lastBegin > 0 && ! isWhiteSpace(name.charAt(lastBegin - 1))) {
+                lastBegin--;
+            }
+            firstBegin = 0;
+            firstEnd = lastBegin;
+        }
+        lastBegin = trimBegin(name, lastBegin, lastEnd);
+        lastEnd = trimEnd(name, lastBegin, lastEnd);
+        firstBegin = trimBegin(name, firstBegin, firstEnd);
+        firstEnd = trimEnd(name, firstBegin, firstEnd);
+        if (isName(name, lastBegin, lastEnd) && (firstBegin == firstEnd || isName(name, firstBegin, firstEnd))) {
+            return new int[] { firstBegin, firstEnd, lastBegin, lastEnd };
+        }
+        return null;
+    }
+
+    /**
+     * Test name, same result as regex: {@code "^[A-Za-z][A-Za-z-\\s.]*$"}.
+     *
+     * @param s name to test
+     * @return true if name is valid
+     */
+    static boolean isName(String s) {
+        return isName(s, 0, s.length());
+    }
+
+    /**
+     * Test name in region {@code [begin, end)} of a String.
+     */
+    private static boolean isName(String s, int begin, int end) {
+        if (begin >= end || ! isLetter(s.charAt(begin))) {
+            return false;
+        }
+        for (int i = begin + 1; i < end; i++) {
+            char c = s.charAt(i);
+            if ( ! (isLetter(c) || c == '-' || c == '.' || isWhiteSpace(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Test email address, same result as case-insensitive regex:
+     * {@code "^[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z0-9_]+$"}.
+     * <br>
+     * The top-level part after the last {@code '.'} is the only split of
+     * the domain that can match, since the domain part does not allow
+     * {@code '_'} and the top-level part does not allow {@code '.'}.
+     *
+     * @param s email address to test
+     * @return true if email address is valid
+     */
+    static boolean isEmail(String s) {
+        int len = s.length();
+        int at = 0;
+        for (; at < len && s.charAt(at) != '@'; at++) {
+            char c = s.charAt(at);
+            if ( ! (isAlnum(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-')) {
+                return false;
+            }
+        }
+        if (at == 0 || at == len) {
+            return false;
+        }
+        int dot = s.lastIndexOf('.');
+        if (dot <= at + 1 || dot == len - 1) {
+            return false;
+        }
+        for (int i = at + 1; i < dot; i++) {
+            char c = s.charAt(i);
+            if ( ! (isAlnum(c) || c == '.' || c == '-')) {
+                return false;
+            }
+        }
+        for (int i = dot + 1; i < len; i++) {
+            char c = s.charAt(i);
+            if ( ! (isAlnum(c) || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Test phone or fax number, same result as case-insensitive regex:
+     * {@code "^(phone:|fax:|\\+[0-9]+){0,1}\\s*[\\s0-9()][\\s0-9()-]*"}.
+     * <br>
+     * After the optional prefix, the remainder must be non-empty, consist
+     * of {@code [\s0-9()-]} and must not start with {@code '-'}. A prefix
+     * {@code "+"} with two or more digits may pass its last digit to the
+     * remainder, which then may be empty or start with {@code '-'}.
+     *
+     * @param s phone or fax number to test
+     * @return true if phone or fax number is valid
+     */
+    static boolean isPhone(String s) {
+        int len = s.length();
+        int rest = 0;
+        if (s.regionMatches(true, 0, "phone:", 0, 6)) {
+            rest = 6;
+        } else if (s.regionMatches(true, 0, "fax:", 0, 4)) {
+            rest = 4;
+        } else if (len > 0 && s.charAt(0) == '+') {
+            int digits = 0;
+            for (rest = 1; rest < len && isDigit(s.charAt(rest)); rest++) {
+                digits++;
+            }
+            if (digits == 0) {
+                return false;
+            }
+            if (digits >= 2) {
+                return isPhoneChars(s, rest);
+            }
+        }
+        return rest < len && s.charAt(rest) != '-' && isPhoneChars(s, rest);
+    }
+
+    /**
+     * Test that String has characters from index {@code from} that are all digits.
+     *
+     * @param s    String to test
+     * @param from index of first character to test
+     * @return true if characters from index {@code from} are digits
+     */
+    static boolean isDigits(String s, int from) {
+        if (from >= s.length()) {
+            return false;
+        }
+        for (int i = from; i < s.length(); i++) {
+            if ( ! isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Test that all characters from index {@code from} are in {@code [\s0-9()-]}.
+     */
+    private static boolean isPhoneChars(String s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if ( ! (isDigit(c) || c == '(' || c == ')' || c == '-' || isWhiteSpace(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int trimBegin(String s, int begin, int end) {
+        while (begin < end && isTrimmed(s.charAt(begin))) {
+            begin++;
+        }
+        return begin;
+    }
+
+    private static int trimEnd(String s, int begin, int end) {
+        while (end > begin && isTrimmed(s.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ',' || c == ';';
+    }
+
+    private static boolean isTrimmed(char c) {
+        return isWhiteSpace(c) || c == '"' || c == '\'' || c == ',' || c == ';';
+    }
+
+    private static boolean isWhiteSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAlnum(char c) {
+        return isLetter(c) || isDigit(c);
+    }
+}
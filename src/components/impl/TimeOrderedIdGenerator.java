@@ -0,0 +1,113 @@
+package components.impl;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free generator of time-ordered {@code long} ids in the style of
+ * <i>Snowflake</i> ids. An id is composed of (from high to low bits):
+ * <pre>
+ * +---+----------------------------+------------+--------------+
+ * | 0 | 41 bit milliseconds since  | 10 bit     | 12 bit       |
+ * |   | epoch "Jan 01, 2020" (UTC) | worker     | sequence     |
+ * +---+----------------------------+------------+--------------+
+ * </pre>
+ * Ids of one generator increase strictly, ids of generators with different
+ * worker numbers never collide, no coordination between threads or nodes is
+ * needed. Ids created in a time interval form a contiguous id range, see
+ * {@code lowestId(Instant)} and {@code highestId(Instant)}. The timestamp
+ * field covers dates until year 2089.
+ */
+final class TimeOrderedIdGenerator {
+
+    /**
+     * Epoch of the timestamp field: {@code "Jan 01, 2020 00:00:00"} (UTC).
+     */
+    static final long epochMillis = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+
+    /**
+     * Number of bits of the worker and sequence fields.
+     */
+    static final int workerBits = 10, sequenceBits = 12;
+
+    /**
+     * Largest worker number.
+     */
+    static final int maxWorker = (1 << workerBits) - 1;
+
+    /** worker number placed in ids of this generator */
+    private final long worker;
+
+    /** last issued timestamp and sequence: {@code (millis << sequenceBits) | sequence} */
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Constructor of generator for a worker (thread, process or node) number.
+     *
+     * @param worker worker number in range {@code [0, maxWorker]}
+     * @throws IllegalArgumentException if worker is outside range
+     */
+    TimeOrderedIdGenerator(int worker) {
+        if (worker < 0 || worker > maxWorker)
+            throw new IllegalArgumentException(String.format("worker outside range [0, %d]", maxWorker));
+        //
+        this.worker = worker;
+    }
+
+    /**
+     * Return next id. When more than 4096 ids are requested within one
+     * millisecond, the sequence overflows into the timestamp field, which
+     * keeps ids strictly increasing and unique.
+     *
+     * @return next time-ordered id
+     */
+    long next() {
+        long now = (System.currentTimeMillis() - epochMillis) << sequenceBits;
+        long prev, next;
+        do {
+            prev = state.get();
+            next = now > prev ? now : prev + 1;
+        } while ( ! state.compareAndSet(prev, next));
+        long millis = next >>> sequenceBits;
+        long sequence = next & ((1L << sequenceBits) - 1);
+        return (millis << (workerBits + sequenceBits)) | (worker << sequenceBits) | sequence;
+    }
+
+    /**
+     * Return lowest id any generator can create at an instant. Instants
+     * before the epoch are rejected, their ids would fall below the ids of
+     * the epoch into the range of ids created by other means.
+     *
+     * @param instant instant of id creation
+     * @return lowest id of instant
+     * @throws IllegalArgumentException with instants before the epoch
+     */
+    static long lowestId(Instant instant) {
+        long millis = instant.toEpochMilli() - epochMillis;
+        if (millis < 0L)
+            throw new IllegalArgumentException("instant before epoch: " + instant);
+        //
+        return millis << (workerBits + sequenceBits);
+    }
+
+    /**
+     * Return highest id any generator can create at an instant.
+     *
+     * @param instant instant of id creation
+     * @return highest id of instant
+     * @throws IllegalArgumentException with instants before the epoch
+     */
+    static long highestId(Instant instant) {
+        return lowestId(instant) | ((1L << (workerBits + sequenceBits)) - 1);
+    }
+
+    /**
+     * Return instant of creation encoded in an id.
+     *
+     * @param id time-ordered id
+     * @return instant encoded in id
+     */
+    static Instant instantOf(long id) {
+        return Instant.ofEpochMilli((id >>> (workerBits + sequenceBits)) + epochMillis);
+    }
+}
@@ -6,6 +6,15 @@ package datamodel;
 public class Article {
 	private final String id;
 	private final String description;
+
+	/**
+	 * Compact index of this article in the columnar price tables of
+	 * {@link Pricing} and in {@link Order} item columns (starting at
+	 * {@code 0}), {@code -1} until the article is registered with its first
+	 * price or order item. Slots are assigned by the registry of
+	 * {@link Pricing}, see {@link Pricing#release(Article)}.
+	 */
+	private volatile int slot = -1;
 	
 	public Article(String id, String description) {
 		if(id == null || description == null || description.isEmpty()) {
@@ -22,4 +31,19 @@ public class Article {
 	public String getDescription() {
 		return description;
 	}
+	/**
+	 * Return slot of article.
+	 * 
+	 * @return slot or {@code -1} if the article has neither a price nor was ordered
+	 */
+	public int getSlot() {
+		return slot;
+	}
+
+	/**
+	 * Set slot, called once by the registry of {@link Pricing}.
+	 */
+	void slot(int slot) {
+		this.slot = slot;
+	}
 }
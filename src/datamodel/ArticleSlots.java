@@ -0,0 +1,111 @@
+package datamodel;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link Article} slots owned by {@link Pricing}. An article is
+ * registered and receives its slot when its first price is stored or when
+ * it is first added to an {@link Order}, articles that are only created are
+ * not registered. Registered articles stay reachable until they are
+ * released with {@link Pricing#release(Article)}.
+ * <br>
+ * Slots are dense and never reused: orders may still hold the slot of a
+ * released article, which must not resolve to another article.
+ */
+final class ArticleSlots {
+	/**
+	 * Next slot number assigned, guarded by {@code this}.
+	 */
+	private int nextSlot = 0;
+
+	/**
+	 * Registered articles indexed by slot, {@code null} for released
+	 * articles. Grows under lock, read without lock.
+	 */
+	private volatile Article[] bySlot = new Article[64];
+
+	/**
+	 * Registered articles by id, latest registered article of an id.
+	 */
+	private final Map<String, Article> byId = new ConcurrentHashMap<>();
+
+	/**
+	 * Register article, assign a slot on first registration.
+	 *
+	 * @param article article to register
+	 * @return slot of article
+	 */
+	int register(Article article) {
+		int slot = article.getSlot();
+		Article[] articles = bySlot;
+		return slot >= 0 && slot < articles.length && articles[slot] == article ? slot : add(article);
+	}
+
+	private synchronized int add(Article article) {
+		int slot = article.getSlot();
+		if(slot < 0) {
+			slot = nextSlot++;
+			article.slot(slot);
+		}
+		Article[] articles = bySlot;
+		if(slot >= articles.length) {
+			articles = Arrays.copyOf(articles, Math.max(slot + 1, articles.length * 2));
+		}
+		articles[slot] = article;
+		bySlot = articles;	// volatile write publishes the new entry
+		byId.put(article.getId(), article);
+		return slot;
+	}
+
+	/**
+	 * Return registered {@link Article} of a slot.
+	 *
+	 * @param slot slot of article
+	 * @return article with slot
+	 * @throws IndexOutOfBoundsException if no article is registered with slot
+	 */
+	Article article(int slot) {
+		Article[] articles = bySlot;
+		Article article = slot >= 0 && slot < articles.length ? articles[slot] : null;
+		if(article == null) {
+			synchronized(this) {	// slot may be registered concurrently
+				articles = bySlot;
+				article = slot >= 0 && slot < articles.length ? articles[slot] : null;
+			}
+			if(article == null)
+				throw new IndexOutOfBoundsException("no article with slot " + slot);
+		}
+		return article;
+	}
+
+	/**
+	 * Return registered {@link Article} of an id.
+	 *
+	 * @param id id of article
+	 * @return article with id or empty if no article of id is registered
+	 */
+	Optional<Article> article(String id) {
+		return Optional.ofNullable(id != null ? byId.get(id) : null);
+	}
+
+	/**
+	 * Remove article from the registry, its slot is not reused.
+	 *
+	 * @param article article to release
+	 * @return true if article was registered
+	 */
+	synchronized boolean release(Article article) {
+		int slot = article.getSlot();
+		if(slot < 0 || slot >= bySlot.length || bySlot[slot] != article)
+			return false;
+		//
+		Article[] articles = bySlot;
+		articles[slot] = null;
+		bySlot = articles;	// volatile write publishes the removal
+		byId.remove(article.getId(), article);
+		return true;
+	}
+}
@@ -0,0 +1,504 @@
+package datamodel;
+
+import components.DataFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Codec that writes {@link Customer}, {@link Article} and {@link Order}
+ * objects in a compact binary format to a {@link ByteBuffer} and reads them
+ * back. Objects are created through the {@link ProtectedFactory} creator
+ * functions, codec instances are therefore only provided by
+ * {@link DataFactory#codec()}.
+ * <br>
+ * Each record starts with a header of a type tag byte, the schema version
+ * and the length of the record body. Integers are encoded as unsigned
+ * varints (7 bits per byte, low bits first), signed values are zigzag
+ * encoded, Strings as varint length of UTF-8 bytes followed by the bytes.
+ * Record bodies of schema version {@code 1}:
+ * <pre>
+ * Customer: id, firstName, lastName, n, n contacts
+ * Article:  id, description
+ * Order:    id, customer id, pricing category ordinal, created seconds of
+ *           epoch (UTC, zigzag), created nanos, n, n items (article id, units)
+ * </pre>
+ * Articles are recorded without prices, orders with ids of customer and
+ * articles. The header length lets readers skip records and {@link View}
+ * objects decode single fields without creating the object.
+ */
+public final class BinaryCodec {
+
+    /**
+     * Schema version written by this codec.
+     */
+    public static final int schemaVersion = 1;
+
+    /**
+     * Type tags of records.
+     */
+    public enum Type {
+        Customer((byte) 'C'), Article((byte) 'A'), Order((byte) 'O');
+
+        private final byte tag;
+
+        Type(byte tag) {
+            this.tag = tag;
+        }
+
+        static Type of(byte tag) {
+            for (Type type : values()) {
+                if (type.tag == tag)
+                    return type;
+            }
+            throw new IllegalArgumentException(String.format("unknown record type tag: 0x%02x", tag));
+        }
+    }
+
+    private static final Pricing.PricingCategory[] categories = Pricing.PricingCategory.values();
+
+    private final ProtectedFactory.CustomerCreator customerCreator;
+    private final ProtectedFactory.ArticleCreator articleCreator;
+    private final ProtectedFactory.OrderCreator orderCreator;
+
+    /**
+     * Constructor with creator functions injected by {@link ProtectedFactory}.
+     *
+     * @param customerCreator function to create {@link Customer} objects
+     * @param articleCreator  function to create {@link Article} objects
+     * @param orderCreator    function to create {@link Order} objects
+     * @throws IllegalArgumentException with null arguments
+     */
+    public BinaryCodec(ProtectedFactory.CustomerCreator customerCreator, ProtectedFactory.ArticleCreator articleCreator, ProtectedFactory.OrderCreator orderCreator) {
+        if (customerCreator == null || articleCreator == null || orderCreator == null)
+            throw new IllegalArgumentException("creator functions: null");
+        //
+        this.customerCreator = customerCreator;
+        this.articleCreator = articleCreator;
+        this.orderCreator = orderCreator;
+    }
+
+    /**
+     * Write {@link Customer} record at the position of buffer.
+     *
+     * @param customer customer to write
+     * @param out      buffer written to
+     * @return chainable buffer reference
+     * @throws java.nio.BufferOverflowException if buffer has not enough space remaining
+     */
+    public ByteBuffer write(Customer customer, ByteBuffer out) {
+        var body = new Writer()
+            .putVarLong(customer.getId())
+            .putString(customer.getFirstName())
+            .putString(customer.getLastName())
+            .putVarLong(customer.contactsCount());
+        customer.getContacts().forEach(body::putString);
+        return body.writeTo(Type.Customer, out);
+    }
+
+    /**
+     * Write {@link Article} record at the position of buffer.
+     *
+     * @param article article to write
+     * @param out     buffer written to
+     * @return chainable buffer reference
+     * @throws java.nio.BufferOverflowException if buffer has not enough space remaining
+     */
+    public ByteBuffer write(Article article, ByteBuffer out) {
+        return new Writer()
+            .putString(article.getId())
+            .putString(article.getDescription())
+            .writeTo(Type.Article, out);
+    }
+
+    /**
+     * Write {@link Order} record at the position of buffer.
+     *
+     * @param order order to write
+     * @param out   buffer written to
+     * @return chainable buffer reference
+     * @throws java.nio.BufferOverflowException if buffer has not enough space remaining
+     */
+    public ByteBuffer write(Order order, ByteBuffer out) {
+        var created = order.getCreated();
+        var body = new Writer()
+            .putVarLong(order.getId())
+            .putVarLong(order.getCustomer().getId())
+            .putVarLong(order.getPricing().category().ordinal())
+            .putVarLong(zigzag(created.toEpochSecond(ZoneOffset.UTC)))
+            .putVarLong(created.getNano())
+            .putVarLong(order.itemsCount());
+        for (int i = 0; i < order.itemsCount(); i++) {
+            body.putString(order.itemArticle(i).getId()).putVarLong(zigzag(order.itemUnitsOrdered(i)));
+        }
+        return body.writeTo(Type.Order, out);
+    }
+
+    /**
+     * Read {@link Customer} record at the position of buffer. Contacts are
+     * added through {@code Customer.addContact()} and thereby validated.
+     *
+     * @param in buffer read from, positioned behind the record
+     * @return customer created from record
+     * @throws IllegalArgumentException if record is not a customer record of a supported schema version
+     */
+    public Customer readCustomer(ByteBuffer in) {
+        var view = view(in, Type.Customer);
+        var customer = customerCreator.createCustomer(view.varLong(0), view.string(1), view.string(2));
+        for (int i = 0; i < view.count(); i++) {
+            customer.addContact(view.string(view.item(i)));
+        }
+        return customer;
+    }
+
+    /**
+     * Read {@link Article} record at the position of buffer.
+     *
+     * @param in buffer read from, positioned behind the record
+     * @return article created from record (without prices)
+     * @throws IllegalArgumentException if record is not an article record of a supported schema version
+     */
+    public Article readArticle(ByteBuffer in) {
+        var view = view(in, Type.Article);
+        return articleCreator.createArticle(view.string(0), view.string(1));
+    }
+
+    /**
+     * Read {@link Order} record at the position of buffer, customer and
+     * articles are fetched by their ids.
+     *
+     * @param in              buffer read from, positioned behind the record
+     * @param customerFetcher function to fetch customer by id
+     * @param articleFetcher  function to fetch article by id
+     * @return order created from record or empty if customer or an article cannot be fetched
+     * @throws IllegalArgumentException if record is not an order record of a supported schema version
+     */
+    public Optional<Order> readOrder(ByteBuffer in, Function<Long, Optional<Customer>> customerFetcher, Function<String, Optional<Article>> articleFetcher) {
+        var view = view(in, Type.Order);
+        var customer = customerFetcher.apply(view.varLong(1));
+        if (customer.isEmpty())
+            return Optional.empty();
+        //
+        var order = orderCreator.createOrder(view.varLong(0), customer.get(), view.category().pricing(), view.created());
+        for (int i = 0; i < view.count(); i++) {
+            var article = articleFetcher.apply(view.articleId(i));
+            if (article.isEmpty())
+                return Optional.empty();
+            order.addItem(article.get(), view.unitsOrdered(i));
+        }
+        return Optional.of(order);
+    }
+
+    /**
+     * Return {@link View} of the record at the position of buffer and
+     * position buffer behind the record. Only the header is decoded.
+     *
+     * @param in buffer read from
+     * @return view of record
+     * @throws IllegalArgumentException if record has an unknown type or unsupported schema version
+     */
+    public static View view(ByteBuffer in) {
+        var type = Type.of(in.get());
+        int version = (int) readVarLong(in);
+        if (version != schemaVersion)
+            throw new IllegalArgumentException(String.format("unsupported schema version %d of %s record", version, type));
+        int length = (int) readVarLong(in);
+        int body = in.position();
+        in.position(body + length);
+        return new View(type, in, body, body + length);
+    }
+
+    private static View view(ByteBuffer in, Type type) {
+        var view = view(in);
+        if (view.type != type)
+            throw new IllegalArgumentException(String.format("expected %s record, found %s record", type, view.type));
+        return view;
+    }
+
+    /**
+     * View of a record in a buffer that decodes single fields on demand
+     * without creating objects of the datamodel. Field offsets are found
+     * by skipping preceding fields and are remembered.
+     */
+    public static final class View {
+
+        /**
+         * Number of fields before repeated items, the last of them is the number of items.
+         */
+        private static final int[] headFields = { 4, 2, 6 };
+
+        /**
+         * Number of fields per repeated item.
+         */
+        private static final int[] itemFields = { 1, 0, 2 };
+
+        private final Type type;
+        private final ByteBuffer in;
+        private final int end;
+
+        /** offsets of fields, {@code known} offsets are found */
+        private int[] offsets;
+        private int known = 1;
+
+        private View(Type type, ByteBuffer in, int body, int end) {
+            this.type = type;
+            this.in = in;
+            this.end = end;
+            this.offsets = new int[headFields[type.ordinal()] + 1];
+            this.offsets[0] = body;
+        }
+
+        /**
+         * Return type of record.
+         *
+         * @return type of record
+         */
+        public Type type() {
+            return type;
+        }
+
+        /**
+         * Return id of customer or order record.
+         *
+         * @return id
+         * @throws IllegalStateException if record is an article record
+         */
+        public long id() {
+            if (type == Type.Article)
+                throw new IllegalStateException("article ids are Strings, use articleId()");
+            return varLong(0);
+        }
+
+        /**
+         * Return id of article record.
+         *
+         * @return article id
+         * @throws IllegalStateException if record is not an article record
+         */
+        public String articleId() {
+            requireType(Type.Article);
+            return string(0);
+        }
+
+        /**
+         * Return customer id of order record.
+         *
+         * @return customer id
+         * @throws IllegalStateException if record is not an order record
+         */
+        public long customerId() {
+            requireType(Type.Order);
+            return varLong(1);
+        }
+
+        /**
+         * Return pricing category of order record.
+         *
+         * @return pricing category
+         * @throws IllegalStateException if record is not an order record
+         */
+        public Pricing.PricingCategory category() {
+            requireType(Type.Order);
+            return categories[(int) varLong(2)];
+        }
+
+        /**
+         * Return creation timestamp of order record.
+         *
+         * @return creation timestamp
+         * @throws IllegalStateException if record is not an order record
+         */
+        public LocalDateTime created() {
+            requireType(Type.Order);
+            return LocalDateTime.ofEpochSecond(unzigzag(varLong(3)), (int) varLong(4), ZoneOffset.UTC);
+        }
+
+        /**
+         * Return number of repeated items: contacts of customer or items
+         * of order records, {@code 0} for article records.
+         *
+         * @return number of items
+         */
+        public int count() {
+            int n = headFields[type.ordinal()];
+            return type == Type.Article ? 0 : (int) varLong(n - 1);
+        }
+
+        /**
+         * Return i-th contact of customer record.
+         *
+         * @param i index of contact
+         * @return contact
+         * @throws IllegalStateException if record is not a customer record
+         */
+        public String contact(int i) {
+            requireType(Type.Customer);
+            return string(item(i));
+        }
+
+        /**
+         * Return article id of i-th item of order record.
+         *
+         * @param i index of item
+         * @return article id
+         * @throws IllegalStateException if record is not an order record
+         */
+        public String articleId(int i) {
+            requireType(Type.Order);
+            return string(item(i));
+        }
+
+        /**
+         * Return units ordered of i-th item of order record.
+         *
+         * @param i index of item
+         * @return units ordered
+         * @throws IllegalStateException if record is not an order record
+         */
+        public long unitsOrdered(int i) {
+            requireType(Type.Order);
+            return unzigzag(varLong(item(i) + 1));
+        }
+
+        /**
+         * Return field index of first field of i-th item.
+         */
+        private int item(int i) {
+            if (i < 0 || i >= count())
+                throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", i, count()));
+            return headFields[type.ordinal()] + i * itemFields[type.ordinal()];
+        }
+
+        private long varLong(int field) {
+            return readVarLong(in.duplicate().position(offset(field)));
+        }
+
+        private String string(int field) {
+            var b = in.duplicate().position(offset(field));
+            int length = (int) readVarLong(b);
+            var bytes = new byte[length];
+            b.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Return offset of field, skip fields with unknown offsets.
+         */
+        private int offset(int field) {
+            if (field >= offsets.length - 1) {
+                offsets = Arrays.copyOf(offsets, Math.max(field + 2, offsets.length * 2));
+            }
+            while (known <= field) {
+                int prev = known - 1;
+                int pos = offsets[prev];
+                offsets[known++] = isString(prev) ? skipString(pos) : skipVarLong(pos);
+            }
+            if (offsets[field] >= end)
+                throw new IllegalArgumentException("field beyond end of record");
+            return offsets[field];
+        }
+
+        /**
+         * Return true if field holds a String.
+         */
+        private boolean isString(int field) {
+            int head = headFields[type.ordinal()];
+            switch (type) {
+            case Customer:
+                return field == 1 || field == 2 || field >= head;
+            case Article:
+                return true;
+            default:
+                return field >= head && (field - head) % 2 == 0;
+            }
+        }
+
+        private int skipVarLong(int pos) {
+            while ((in.get(pos++) & 0x80) != 0) { }
+            return pos;
+        }
+
+        private int skipString(int pos) {
+            var b = in.duplicate().position(pos);
+            int length = (int) readVarLong(b);
+            return b.position() + length;
+        }
+
+        private void requireType(Type required) {
+            if (type != required)
+                throw new IllegalStateException(String.format("%s record has no such field", type));
+        }
+    }
+
+    /**
+     * Growable buffer of a record body.
+     */
+    private static final class Writer {
+        private byte[] bytes = new byte[64];
+        private int size = 0;
+
+        Writer putVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7fL) != 0) {
+                bytes[size++] = (byte) ((v & 0x7f) | 0x80);
+                v >>>= 7;
+            }
+            bytes[size++] = (byte) v;
+            return this;
+        }
+
+        Writer putString(String s) {
+            var utf8 = s.getBytes(StandardCharsets.UTF_8);
+            putVarLong(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+            return this;
+        }
+
+        ByteBuffer writeTo(Type type, ByteBuffer out) {
+            out.put(type.tag);
+            writeVarLong(out, schemaVersion);
+            writeVarLong(out, size);
+            return out.put(bytes, 0, size);
+        }
+
+        private void ensure(int n) {
+            if (size + n > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size + n, bytes.length * 2));
+            }
+        }
+    }
+
+    private static void writeVarLong(ByteBuffer out, long v) {
+        while ((v & ~0x7fL) != 0) {
+            out.put((byte) ((v & 0x7f) | 0x80));
+            v >>>= 7;
+        }
+        out.put((byte) v);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long v = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0)
+                return v;
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
@@ -1,136 +1,248 @@
-package datamodel;
-
-import components.DataFactory;
-import components.impl.ComponentsImpl;
-
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * Immutable entity class representing a <i>Customer2</i>, a person who creates and holds (owns) orders in the system.
- * <br>
- * An <i>immutable</i> class does not allow changes to attributes. {@link DataFactory} is the only class that creates {@link Customer} objects from validated arguments.
- *
- * @author <code style=color:blue>{@value application.package_info#Author}</code>
- * @version <code style=color:green>{@value application.package_info#Version}</code>
- */
-public final class Customer {
-
-    /**
-     * Unique Customer2 id attribute. Must be {@code > 0}).
-     */
-    private final long id;
-
-    /**
-     * Customer2 surname attribute. Must not be {@code null} and not empty {@code ""}.
-     */
-    private final String lastName;
-
-    /**
-     * Customer2 none-surname parts. Must not be {@code null}, can be empty {@code ""}.
-     */
-    private final String firstName;
-
-    /**
-     * Contact information with multiple entries, e.g. email addresses or phone numbers. The attribute is exposed to {@link DataFactory} in the same package.
-     */
-    private final List<String> contacts = new ArrayList<>();
-
-
-    /**
-     * None-public constructor used by {@link DataFactory} preventing object creation outside this package.
-     *
-     * @param id customer identifier supplied by {@link DataFactory}
-     * @param firstName first name attribute, must not be {@code null}, can be empty {@code ""}
-     * @param lastName last name attribute, must not be {@code null} and not empty {@code ""}.
-     * @throws IllegalArgumentException if {@code id} is negative, firstName is {@code null} or lastName is {@code null} or empty {@code ""}
-     */
-    protected Customer(long id, String firstName, String lastName) {
-        if (id < 0L)
-            throw new IllegalArgumentException("id negative");
-        if (lastName == null || lastName.length() == 0)
-            throw new IllegalArgumentException("lastName null or empty");
-        //
-        this.id = id;
-        this.firstName = firstName;
-        this.lastName = lastName;
-    }
-
-    /**
-     * Id attribute getter.
-     *
-     * @return customer id
-     */
-    public long getId() {
-        return id;
-    }
-
-    /**
-     * LastName attribute getter.
-     *
-     * @return value of lastName attribute
-     */
-    public String getLastName() {
-        return lastName;
-    }
-
-    /**
-     * FirstName attribute getter.
-     *
-     * @return value of firstName attribute
-     */
-    public String getFirstName() {
-        return firstName;
-    }
-
-    /**
-     * Return the number of contacts.
-     *
-     * @return number of contacts
-     */
-    public int contactsCount() {
-        return contacts.size();
-    }
-
-    /**
-     * Contacts getter (as immutable {@link Iterable<String>}).
-     *
-     * @return contacts (as immutable {@link Iterable<String>})
-     */
-    public Iterable<String> getContacts() {
-        return contacts;
-    }
-
-    /**
-     * Add new contact validated through {@link DataFactory}. Method has no effect if contact is not valid.
-     *
-     * @param contact contact added validated through {@link DataFactory}
-     * @return chainable self-reference
-     */
-    public Customer addContact(String contact) {
-        ComponentsImpl.getInstance()
-            .getValidator()
-            .validateContact(contact)
-            .filter(cont -> !contacts.contains(contact))
-            .ifPresent(c -> ((List<String>) contacts).add(c));
-        return this;
-    }
-
-    /**
-     * Delete the i-th contact with {@code i >= 0} and {@code i < contactsCount()}. Method has no effect for {@code i} outside valid bounds.
-     *
-     * @param i index of contact to delete
-     */
-    public void deleteContact(int i) {
-        if (i >= 0 && i < contacts.size()) {
-            contacts.remove(i);
-        }
-    }
-
-    /**
-     * Delete all contacts.
-     */
-    public void deleteAllContacts() {
-        contacts.clear();
-    }
-}
+package datamodel;
+
+import components.DataFactory;
+import components.Validator;
+import components.impl.ComponentsImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Collection;
+
+/**
+ * Immutable entity class representing a <i>Customer2</i>, a person who creates and holds (owns) orders in the system.
+ * <br>
+ * An <i>immutable</i> class does not allow changes to attributes. {@link DataFactory} is the only class that creates {@link Customer} objects from validated arguments.
+ *
+ * @author <code style=color:blue>{@value application.package_info#Author}</code>
+ * @version <code style=color:green>{@value application.package_info#Version}</code>
+ */
+public final class Customer {
+
+    /**
+     * Unique Customer2 id attribute. Must be {@code > 0}).
+     */
+    private final long id;
+
+    /**
+     * Customer2 surname attribute. Must not be {@code null} and not empty {@code ""}.
+     */
+    private final String lastName;
+
+    /**
+     * Customer2 none-surname parts. Must not be {@code null}, can be empty {@code ""}.
+     */
+    private final String firstName;
+
+    /**
+     * Contact information with multiple entries, e.g. email addresses or phone numbers, in order of insertion.
+     * Contacts are copy-on-write: writers synchronize on the customer and publish a new, exactly sized array,
+     * a published array is never modified. Readers take the current array without locking.
+     */
+    private volatile String[] contacts = noContacts;
+
+    /**
+     * Open addressing hash table of {@code index + 1} of contacts ({@code 0} marks a free entry) for O(1) duplicate
+     * detection, created when the number of contacts exceeds {@code linearScanLimit}, {@code null} before.
+     * Used by writers only, guarded by the customer's lock.
+     */
+    private int[] contactIndex = null;
+
+    private static final String[] noContacts = new String[0];
+
+    /**
+     * Number of contacts up to which duplicates are detected by a linear scan.
+     */
+    private static final int linearScanLimit = 8;
+
+    /**
+     * Validator looked up once on first use, after components have been created.
+     */
+    private static final class ValidatorHolder {
+        private static final Validator validator = ComponentsImpl.getInstance().getValidator();
+    }
+
+
+    /**
+     * None-public constructor used by {@link DataFactory} preventing object creation outside this package.
+     *
+     * @param id customer identifier supplied by {@link DataFactory}
+     * @param firstName first name attribute, must not be {@code null}, can be empty {@code ""}
+     * @param lastName last name attribute, must not be {@code null} and not empty {@code ""}.
+     * @throws IllegalArgumentException if {@code id} is negative, firstName is {@code null} or lastName is {@code null} or empty {@code ""}
+     */
+    protected Customer(long id, String firstName, String lastName) {
+        if (id < 0L)
+            throw new IllegalArgumentException("id negative");
+        if (lastName == null || lastName.length() == 0)
+            throw new IllegalArgumentException("lastName null or empty");
+        //
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    /**
+     * Id attribute getter.
+     *
+     * @return customer id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * LastName attribute getter.
+     *
+     * @return value of lastName attribute
+     */
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * FirstName attribute getter.
+     *
+     * @return value of firstName attribute
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+
+    /**
+     * Return the number of contacts.
+     *
+     * @return number of contacts
+     */
+    public int contactsCount() {
+        return contacts.length;
+    }
+
+    /**
+     * Contacts getter (as immutable {@link Iterable<String>}), a snapshot that is not affected by later changes.
+     *
+     * @return contacts (as immutable {@link Iterable<String>})
+     */
+    public Iterable<String> getContacts() {
+        return Collections.unmodifiableList(Arrays.asList(contacts));
+    }
+
+    /**
+     * Add new contact validated through {@link DataFactory}. Method has no effect if contact is not valid.
+     *
+     * @param contact contact added validated through {@link DataFactory}
+     * @return chainable self-reference
+     */
+    public Customer addContact(String contact) {
+        ValidatorHolder.validator
+            .validateContact(contact)
+            .ifPresent(c -> storeContacts(new String[] { c }));
+        return this;
+    }
+
+    /**
+     * Add new contacts validated through {@link DataFactory} in one batch, invalid contacts and duplicates (also
+     * within the batch) are ignored. Contacts are added in the order of the batch and published at once.
+     *
+     * @param contacts contacts added validated through {@link DataFactory}
+     * @return chainable self-reference
+     */
+    public Customer addContacts(Iterable<String> contacts) {
+        if (contacts != null) {
+            var validator = ValidatorHolder.validator;
+            var valid = new ArrayList<String>(contacts instanceof Collection<?> batch ? batch.size() : 16);
+            for (String contact : contacts) {
+                validator.validateContact(contact).ifPresent(valid::add);
+            }
+            if (valid.size() > 0) {
+                storeContacts(valid.toArray(noContacts));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Delete the i-th contact with {@code i >= 0} and {@code i < contactsCount()}. Method has no effect for {@code i} outside valid bounds.
+     *
+     * @param i index of contact to delete
+     */
+    public synchronized void deleteContact(int i) {
+        var current = contacts;
+        if (i >= 0 && i < current.length) {
+            var next = new String[current.length - 1];
+            System.arraycopy(current, 0, next, 0, i);
+            System.arraycopy(current, i + 1, next, i, next.length - i);
+            contactIndex = next.length > linearScanLimit ? buildIndex(next, next.length) : null;
+            contacts = next;
+        }
+    }
+
+    /**
+     * Delete all contacts.
+     */
+    public synchronized void deleteAllContacts() {
+        contactIndex = null;
+        contacts = noContacts;
+    }
+
+    /**
+     * Append validated contacts that are not duplicates to a copy of the
+     * contacts and publish the copy.
+     */
+    private synchronized void storeContacts(String[] batch) {
+        var current = contacts;
+        var next = Arrays.copyOf(current, current.length + batch.length);
+        int n = current.length;
+        for (String contact : batch) {
+            if (indexOfContact(next, n, contact) < 0) {
+                next[n++] = contact;
+                if (contactIndex != null && n * 2 <= contactIndex.length) {
+                    indexContact(contactIndex, next, n - 1);
+                } else if (n > linearScanLimit) {
+                    contactIndex = buildIndex(next, n);
+                }
+            }
+        }
+        if (n > current.length) {
+            contacts = n == next.length ? next : Arrays.copyOf(next, n);
+        }
+    }
+
+    private int indexOfContact(String[] a, int n, String contact) {
+        if (contactIndex == null) {
+            for (int i = 0; i < n; i++) {
+                if (a[i].equals(contact))
+                    return i;
+            }
+            return -1;
+        }
+        int mask = contactIndex.length - 1;
+        for (int h = hash(contact) & mask; contactIndex[h] != 0; h = (h + 1) & mask) {
+            if (a[contactIndex[h] - 1].equals(contact))
+                return contactIndex[h] - 1;
+        }
+        return -1;
+    }
+
+    private static void indexContact(int[] index, String[] a, int i) {
+        int mask = index.length - 1;
+        int h = hash(a[i]) & mask;
+        while (index[h] != 0) {
+            h = (h + 1) & mask;
+        }
+        index[h] = i + 1;
+    }
+
+    private static int[] buildIndex(String[] a, int n) {
+        var index = new int[Integer.highestOneBit(n * 4 - 1)];
+        for (int i = 0; i < n; i++) {
+            indexContact(index, a, i);
+        }
+        return index;
+    }
+
+    private static int hash(String contact) {
+        int h = contact.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
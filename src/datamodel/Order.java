@@ -1,25 +1,47 @@
 package datamodel;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * Order
+ * <br>
+ * Concurrency: an order is built by one intake thread and then published
+ * to other threads through a concurrent repository, the order journal or
+ * a thread join, which makes all prior item writes visible to readers.
+ * Mutators are synchronized on the order so that threads that update an
+ * order concurrently lose no items or units, reads are not synchronized
+ * and must follow publication.
  */
 public class Order {
 	private final long id;
 	private final Customer customer;
 	private final Pricing pricing;
 	private final LocalDateTime created;
-	private final List<OrderItem> orderItems;
+
+	/**
+	 * Order items stored in columns: article slots (see {@link Article#getSlot()})
+	 * and units ordered at the same index, no object per item.
+	 */
+	private int[] itemSlots = new int[4];
+	private long[] itemUnits = new long[4];
+	private int itemCount = 0;
+
+	/**
+	 * Article slot to line index of order items in coalescing mode, open
+	 * addressing table of {@code line + 1} ({@code 0} marks a free entry),
+	 * {@code null} if items are not coalesced.
+	 */
+	private int[] lineIndex = null;
 
 	public Order(long id, Customer customer, Pricing pricing, LocalDateTime created) {
 		this.id = id;
 		this.customer = customer;
 		this.pricing = pricing;
 		this.created = created;
-		this.orderItems = new ArrayList<>();
 	}
 
 	// getter
@@ -35,26 +57,218 @@ public class Order {
 	public LocalDateTime getCreated() {
 		return created;
 	}
+	/**
+	 * Return order items as {@link OrderItem} views created on iteration
+	 * from the item columns.
+	 * 
+	 * @return order items in order of insertion
+	 */
 	public Iterable<OrderItem> getOrderItems() {
-		return orderItems;
+		return () -> new Iterator<OrderItem>() {
+			private int i = 0;
+
+			@Override
+			public boolean hasNext() {
+				return i < itemCount;
+			}
+
+			@Override
+			public OrderItem next() {
+				if(i >= itemCount)
+					throw new NoSuchElementException();
+				int k = i++;
+				return new OrderItem(Pricing.article(itemSlots[k]), itemUnits[k]);
+			}
+		};
+	}
+
+	/**
+	 * Return article slot of the i-th order item.
+	 * 
+	 * @param i index of order item
+	 * @return article slot of order item
+	 * @throws IndexOutOfBoundsException if index is out of range
+	 */
+	public int itemArticleSlot(int i) {
+		return itemSlots[checkIndex(i)];
+	}
+
+	/**
+	 * Return units ordered of the i-th order item.
+	 * 
+	 * @param i index of order item
+	 * @return units ordered of order item
+	 * @throws IndexOutOfBoundsException if index is out of range
+	 */
+	public long itemUnitsOrdered(int i) {
+		return itemUnits[checkIndex(i)];
+	}
+
+	/**
+	 * Return article of the i-th order item.
+	 * 
+	 * @param i index of order item
+	 * @return article of order item
+	 * @throws IndexOutOfBoundsException if index is out of range
+	 */
+	public Article itemArticle(int i) {
+		return Pricing.article(itemSlots[checkIndex(i)]);
 	}
 
 	// other methods
 	public long itemsCount() {
-		return orderItems.size();
+		return itemCount;
 	}
 
-	public Order addItem(Article article, long unitsOrdered) {
-		var item = new OrderItem(article, unitsOrdered);
-		orderItems.add(item);
+	/**
+	 * Switch coalescing of order items on or off. In coalescing mode, adding
+	 * an article that already is in the order increases units ordered of its
+	 * order item instead of appending a new order item. Switching on merges
+	 * existing order items of the same article into the first of them.
+	 * 
+	 * @param coalesce true to coalesce order items of the same article
+	 * @return chainable self-reference
+	 */
+	public synchronized Order coalesceItems(boolean coalesce) {
+		if( ! coalesce) {
+			lineIndex = null;
+		} else if(lineIndex == null) {
+			int n = itemCount;
+			itemCount = 0;
+			lineIndex = new int[tableSize(n)];
+			for(int i=0; i < n; i++) {
+				int line = findLine(itemSlots[i]);
+				if(line >= 0) {
+					itemUnits[line] += itemUnits[i];
+				} else {
+					itemSlots[itemCount] = itemSlots[i];
+					itemUnits[itemCount] = itemUnits[i];
+					indexLine(itemCount++);
+				}
+			}
+		}
 		return this;
 	}
-	public void deleteItem(int i) {
-		orderItems.remove(i);
+
+	/**
+	 * Return true if order items are coalesced, see {@link #coalesceItems(boolean)}.
+	 * 
+	 * @return true if order items of the same article are coalesced
+	 */
+	public boolean isCoalescingItems() {
+		return lineIndex != null;
 	}
-	public void deleteItems(Iterable<Integer> indicies) {
+
+	public synchronized Order addItem(Article article, long unitsOrdered) {
+		int slot = Pricing.register(article);
+		if(lineIndex != null) {
+			int line = findLine(slot);
+			if(line >= 0) {
+				itemUnits[line] += unitsOrdered;
+				return this;
+			}
+		}
+		if(itemCount == itemSlots.length) {
+			int capacity = itemCount * 2;
+			itemSlots = Arrays.copyOf(itemSlots, capacity);
+			itemUnits = Arrays.copyOf(itemUnits, capacity);
+		}
+		itemSlots[itemCount] = slot;
+		itemUnits[itemCount++] = unitsOrdered;
+		if(lineIndex != null) {
+			if(itemCount * 2 > lineIndex.length) {
+				rebuildLineIndex();
+			} else {
+				indexLine(itemCount - 1);
+			}
+		}
+		return this;
+	}
+	public synchronized void deleteItem(int i) {
+		checkIndex(i);
+		System.arraycopy(itemSlots, i + 1, itemSlots, i, itemCount - i - 1);
+		System.arraycopy(itemUnits, i + 1, itemUnits, i, itemCount - i - 1);
+		itemCount--;
+		if(lineIndex != null) {
+			rebuildLineIndex();
+		}
+	}
+	/**
+	 * Delete order items at indices that refer to the original positions
+	 * before any deletion, duplicate indices are ignored. Indices are
+	 * collected in a bitset, remaining items are compacted in a single pass.
+	 * An index out of range throws before any item is deleted.
+	 * 
+	 * @param indicies original positions of order items to delete
+	 * @throws IllegalArgumentException with null argument or null index
+	 * @throws IndexOutOfBoundsException if an index is out of range
+	 */
+	public synchronized void deleteItems(Iterable<Integer> indicies) {
+		if(indicies == null)
+			throw new IllegalArgumentException("argument indicies: null");
+		//
+		var deleted = new BitSet(itemCount);
 		for (Integer i : indicies) {
-			orderItems.remove((int) i);
+			if(i == null)
+				throw new IllegalArgumentException("index: null");
+			deleted.set(checkIndex(i));
+		}
+		int k = deleted.nextSetBit(0);	// items before first deleted index stay in place
+		if(k < 0)
+			return;
+		for (int i = deleted.nextClearBit(k); i < itemCount; i = deleted.nextClearBit(i + 1)) {
+			itemSlots[k] = itemSlots[i];
+			itemUnits[k++] = itemUnits[i];
+		}
+		itemCount = k;
+		if(lineIndex != null) {
+			rebuildLineIndex();
+		}
+	}
+
+	/**
+	 * Return line index of order item with article slot or {@code -1}.
+	 */
+	private int findLine(int slot) {
+		int mask = lineIndex.length - 1;
+		for(int h = hash(slot) & mask; lineIndex[h] != 0; h = (h + 1) & mask) {
+			if(itemSlots[lineIndex[h] - 1] == slot)
+				return lineIndex[h] - 1;
+		}
+		return -1;
+	}
+
+	private void indexLine(int line) {
+		int mask = lineIndex.length - 1;
+		int h = hash(itemSlots[line]) & mask;
+		while(lineIndex[h] != 0) {
+			h = (h + 1) & mask;
 		}
+		lineIndex[h] = line + 1;
+	}
+
+	private void rebuildLineIndex() {
+		lineIndex = new int[tableSize(itemCount)];
+		for(int line=0; line < itemCount; line++) {
+			indexLine(line);
+		}
+	}
+
+	/**
+	 * Return power of 2 table size with load factor below 1/2.
+	 */
+	private static int tableSize(int lines) {
+		return Integer.highestOneBit(Math.max(4, lines) * 4 - 1);
+	}
+
+	private static int hash(int slot) {
+		int h = slot * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private int checkIndex(int i) {
+		if(i < 0 || i >= itemCount)
+			throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", i, itemCount));
+		return i;
 	}
 }
@@ -1,9 +1,20 @@
 package datamodel;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.text.ParseException;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -11,7 +22,7 @@ import lombok.Getter;
 import lombok.experimental.Accessors;
 
 /**
- * Immutable class to store pricing information organized by
+ * Class to store pricing information organized by
  * {@link PricingCategory}
  * instances such as:
  * 
@@ -35,6 +46,19 @@ import lombok.experimental.Accessors;
  * - https://www.gov.uk/vat-rates
  * </pre>
  * 
+ * Pricing instances are not immutable: prices, tax rates and price factors
+ * change at runtime, writers are serialized by one write lock, prices of
+ * derived categories may be cached and every change is recorded in
+ * histories.
+ * 
+ * Prices of all pricing categories are published together in immutable,
+ * versioned {@link PriceSnapshot} instances. Readers take no locks and see
+ * consistent prices as long as they hold one snapshot, writers apply a
+ * {@link Batch} of changes that is published with one reference swap.
+ * Prices are also kept in effective-dated histories per article and
+ * category, tax rates and price factors in histories per category, to
+ * look up prices valid at a point in time, e.g. when an order was created.
+ * 
  * @version <code style=
  *          color:green>{@value application.package_info#Version}</code>
  * @author <code style=
@@ -43,18 +67,16 @@ import lombok.experimental.Accessors;
 @Accessors(fluent = true)
 @Getter
 public class Pricing {
-	private final double[] taxRateValues;
-
 	/**
 	 * Enum of pricing categories
 	 */
 	@Getter
 	public enum PricingCategory {
 		/** regular prices in Germany */
-		BasePricing(Country.Germany),
-		SwissPricing(Country.Swiss),
-		UKPricing(Country.UK),
-		BlackFridayPricing(Country.Germany),
+		BasePricing(Country.Germany, 1.0, 1900, 700, 0, 0),
+		SwissPricing(Country.Swiss, 1.8, 810, 260, 380, 0),
+		UKPricing(Country.UK, 1.15, 2000, 500, 0, 0),
+		BlackFridayPricing(Country.Germany, 0.8, 1900, 700, 0, 0),
 		;
 
 		private final Country country;
@@ -66,9 +88,14 @@ public class Pricing {
 			return pricing;
 		}
 
-		PricingCategory(Country country) {
+		/**
+		 * Default price factor derives prices from {@code BasePricing} prices,
+		 * tax rate values are passed in basis points in {@link TAXRate}
+		 * order: Regular, Reduced, Special, Excempt.
+		 */
+		PricingCategory(Country country, double priceFactor, int... taxRateValues) {
 			this.country = country;
-			this.pricing = new Pricing(country, this);
+			this.pricing = new Pricing(country, this, priceFactor, taxRateValues);
 		}
 	}
 
@@ -150,20 +177,267 @@ public class Pricing {
 	}
 
 	/**
-	 * Record stored in {@link articlePriceMap} for an article.
+	 * Modes of storing prices of categories derived from {@code BasePricing}.
+	 */
+	public enum DerivedPrices {
+		/** derived prices are stored with every {@code BasePricing} price, which replaces overrides */
+		Stored,
+		/** only overrides are stored, derived prices are computed on first access and cached */
+		Lazy
+	}
+
+	/**
+	 * Record reporting the use of the cache of derived prices of one
+	 * {@link PricingCategory} in {@code DerivedPrices.Lazy} mode.
+	 *
+	 * @param category  pricing category of derived prices
+	 * @param hits      lookups answered from the cache
+	 * @param misses    lookups that computed the derived price
+	 * @param overrides prices stored for the category
+	 * @param cached    derived prices held in the cache
+	 */
+	public record DerivedPriceStats(PricingCategory category, long hits, long misses, int overrides, long cached) { }
+
+	/**
+	 * Cache of prices derived with one price factor, indexed by article slot
+	 * in pages like price tables. An entry packs the base price {@code + 1}
+	 * it was computed from (stamp, upper 32 bits) and the derived price
+	 * (lower 32 bits) into one {@code long}, so entries are written and read
+	 * atomically and racing readers never see a stamp with another price.
+	 * {@code 0} marks empty entries, prices beyond 32 bits are not cached.
+	 * Pages are allocated under the lock of the cache.
+	 */
+	private static final class DerivedPriceCache {
+		private final double priceFactor;
+		private volatile long[][] pages = new long[0][];
+		private final LongAdder entries = new LongAdder();
+
+		private DerivedPriceCache(double priceFactor) {
+			this.priceFactor = priceFactor;
+		}
+
+		private long entry(int slot) {
+			var pages = this.pages;
+			int page = slot >>> pageShift;
+			return page < pages.length && pages[page] != null ? (long) cacheEntry.getOpaque(pages[page], slot & pageMask) : 0L;
+		}
+
+		private void put(int slot, long expected, long entry) {
+			var page = page(slot >>> pageShift);
+			if (expected == 0L && cacheEntry.compareAndSet(page, slot & pageMask, 0L, entry)) {
+				entries.increment();	// counted by the one reader that filled the empty entry
+			} else {
+				cacheEntry.setOpaque(page, slot & pageMask, entry);
+			}
+		}
+
+		private long[] page(int page) {
+			var pages = this.pages;
+			if (page < pages.length && pages[page] != null)
+				return pages[page];
+			//
+			synchronized (this) {
+				pages = this.pages;
+				if (page >= pages.length) {
+					pages = Arrays.copyOf(pages, Math.max(page + 1, pages.length * 2));
+				}
+				if (pages[page] == null) {
+					pages[page] = new long[pageSize];
+				}
+				this.pages = pages;
+				return pages[page];
+			}
+		}
+	}
+
+	/**
+	 * Atomic (opaque) access to entries of {@link DerivedPriceCache} pages.
+	 */
+	private static final VarHandle cacheEntry = MethodHandles.arrayElementVarHandle(long[].class);
+
+	/**
+	 * Largest base price and derived price held in a {@link DerivedPriceCache} entry.
+	 */
+	private static final long cacheLimit = 0xffffffffL - 1;
+
+	/**
+	 * History of prices of one article in one pricing category, sorted by
+	 * the time from which an entry is effective (epoch milliseconds).
+	 * Histories are immutable, an added entry creates a new history.
+	 */
+	private record PriceHistory(long[] from, long[] prices, byte[] taxCodes) {
+
+		PriceHistory with(long time, long unitPrice, byte taxCode) {
+			int i = Arrays.binarySearch(from, time);
+			if (i >= 0) {
+				var prices = this.prices.clone();
+				var taxCodes = this.taxCodes.clone();
+				prices[i] = unitPrice;
+				taxCodes[i] = taxCode;
+				return new PriceHistory(from, prices, taxCodes);
+			}
+			i = -i - 1;
+			return new PriceHistory(insert(from, i, time), insert(prices, i, unitPrice), insert(taxCodes, i, taxCode));
+		}
+	}
+
+	/**
+	 * History of tax rates of one pricing category in basis points, sorted
+	 * by the time from which an entry is effective (epoch milliseconds).
+	 */
+	private record TaxRateHistory(long[] from, int[][] values) { }
+
+	/**
+	 * History of price factors of one pricing category, sorted by the time
+	 * from which an entry is effective (epoch milliseconds).
+	 */
+	private record FactorHistory(long[] from, double[] factors) { }
+
+	/**
+	 * Entry of the price history of an article in one pricing category,
+	 * e.g. to save and restore price histories.
+	 *
+	 * @param from      time from which the price is effective (epoch milliseconds)
+	 * @param unitPrice unit price
+	 * @param taxRate   tax rate of the price
+	 */
+	public record PriceVersion(long from, long unitPrice, TAXRate taxRate) { }
+
+	/**
+	 * Entry of the tax rate history of a pricing category.
+	 *
+	 * @param from        time from which tax rates are effective (epoch milliseconds)
+	 * @param basisPoints tax rates in basis points in {@link TAXRate} order
+	 */
+	public record TaxRateVersion(long from, int[] basisPoints) {
+		public TaxRateVersion {
+			basisPoints = basisPoints.clone();
+		}
+
+		/**
+		 * Return tax rates in basis points in {@link TAXRate} order.
+		 *
+		 * @return copy of tax rates
+		 */
+		public int[] basisPoints() {
+			return basisPoints.clone();
+		}
+	}
+
+	/**
+	 * Entry of the price factor history of a pricing category.
+	 *
+	 * @param from        time from which the price factor is effective (epoch milliseconds)
+	 * @param priceFactor factor deriving prices from {@code BasePricing} prices
+	 */
+	public record FactorVersion(long from, double priceFactor) { }
+
+	/**
+	 * Record reporting the memory footprint of the columnar price table
+	 * of one {@link PricingCategory} compared to the estimated footprint
+	 * of an equivalent {@code HashMap<Article, PriceRecord>}, which holds
+	 * current prices only. Bytes of price histories are reported separately.
+	 *
+	 * @param category  pricing category the table belongs to
+	 * @param articles  number of articles stored in the table
+	 * @param tableBytes bytes allocated by the price table arrays
+	 * @param historyBytes bytes allocated by price histories, {@code 0} for a price table
+	 * @param mapBytes  estimated bytes of an equivalent hash map
 	 */
-	private record PriceRecord(long unitPrice, TAXRate taxRate) {
+	public record Footprint(PricingCategory category, int articles, long tableBytes, long historyBytes, long mapBytes) {
+		/**
+		 * Return bytes saved by the price table over the hash map.
+		 *
+		 * @return saved bytes (negative if the table is larger)
+		 */
+		public long savedBytes() {
+			return mapBytes - tableBytes;
+		}
 	}
 
 	/**
-	 * Map of articles with associated {@link PriceRecord}
-	 * (not exposed as getter).
+	 * Estimated bytes per entry of a {@code HashMap<Article, PriceRecord>}
+	 * (compressed oops): 32 bytes {@code HashMap.Node}, 24 bytes boxed
+	 * {@code PriceRecord} and ~6 bytes bucket array at load factor 0.75.
+	 */
+	private static final long mapBytesPerEntry = 32 + 24 + 6;
+
+	/**
+	 * Array header size in bytes (compressed oops).
+	 */
+	private static final long arrayHeaderBytes = 16;
+
+	/**
+	 * Bytes of a {@link PriceHistory} object without its arrays: 12 bytes
+	 * object header and three references (compressed oops).
+	 */
+	private static final long historyObjectBytes = 12 + 3 * Integer.BYTES;
+
+	/**
+	 * Price table columns are split into pages of {@code 1 << pageShift}
+	 * article slots. A new version copies only the pages it changes and
+	 * shares all other pages with the previous version.
+	 */
+	private static final int pageShift = 8;
+	private static final int pageSize = 1 << pageShift;
+	private static final int pageMask = pageSize - 1;
+
+	/**
+	 * Cached {@link TAXRate} values to map stored ordinals back to enums.
+	 */
+	private static final TAXRate[] taxRates = TAXRate.values();
+
+	/**
+	 * Lock shared by all {@link Pricing} instances that serializes writers,
+	 * since storing a base price also stores derived prices in the other
+	 * pricing categories.
+	 */
+	private static final Object writeLock = new Object();
+
+	/**
+	 * Registry of articles with prices or order items, resolves article
+	 * slots and releases articles.
+	 */
+	private static final ArticleSlots slots = new ArticleSlots();
+
+	/**
+	 * Current version of the price tables of all pricing categories,
+	 * replaced by one reference swap when a batch of changes is published.
+	 */
+	private static volatile PriceSnapshot current = new PriceSnapshot(0L, new PriceTable[0]);
+
+	/**
+	 * Mode of storing derived prices applied by writers.
+	 */
+	private static volatile DerivedPrices derivedPrices = DerivedPrices.Stored;
+
+	/**
+	 * Cache of prices derived with the current price factor (not exposed as
+	 * getter), replaced when the price factor changes. Lost updates of racing
+	 * readers only cause recomputation.
+	 */
+	@Getter(AccessLevel.NONE)
+	private volatile DerivedPriceCache cache;
+
+	@Getter(AccessLevel.NONE)
+	private final LongAdder cacheHits = new LongAdder();
+	@Getter(AccessLevel.NONE)
+	private final LongAdder cacheMisses = new LongAdder();
+
+	/**
+	 * Tax rate and price factor histories (not exposed as getters), changed
+	 * under the write lock.
+	 */
+	@Getter(AccessLevel.NONE)
+	private volatile TaxRateHistory taxRateHistory;
+	@Getter(AccessLevel.NONE)
+	private volatile FactorHistory factorHistory;
+
+	/**
+	 * Price table without prices, returned for categories without prices.
 	 */
 	@Getter(AccessLevel.NONE)
-	private final Map<Article, PriceRecord> articlePriceMap = new HashMap<>();
-	public Map<Article, PriceRecord> articlePriceMap() {
-		return articlePriceMap;
-	};
+	private final PriceTable emptyTable;
 
 	/**
 	 * Country of this {@link Pricing} instance.
@@ -189,64 +463,371 @@ public class Pricing {
 	 * Private constructor.
 	 * 
 	 * @param country {@link Country} associated with this instance
+	 * @param pricingCategory {@link PricingCategory} of this instance
+	 * @param priceFactor initial factor deriving prices from {@code BasePricing} prices
+	 * @param taxRateValues tax rates in basis points in {@link TAXRate} order
 	 */
-	private Pricing(Country country, PricingCategory pricingCategory) {
+	private Pricing(Country country, PricingCategory pricingCategory, double priceFactor, int[] taxRateValues) {
 		this.country = country;
 		this.currency = country.currency();
 		this.category = pricingCategory;
-		switch (pricingCategory) {
-			case BasePricing:
-				this.taxRateValues = new double[]{19,7,0,0};
-				break;
-			case SwissPricing:
-				this.taxRateValues = new double[]{8.1,2.6,3.8,0};
-				break;
-			case UKPricing:
-				this.taxRateValues = new double[]{20,5,0,0};
-				break;
-			case BlackFridayPricing:
-				this.taxRateValues = new double[]{19,7,0,0};
-				break;
-			default:
-				this.taxRateValues = new double[]{0,0,0,0};
-				break;
-		}
-	}
-
-	/**
-	 * Store or update {@link Article} with new {@link PriceRecord} in
-	 * article price map.
-	 * 
-	 * @param article   article to store or update in article price map
+		this.taxRateHistory = new TaxRateHistory(new long[] { Long.MIN_VALUE }, new int[][] { taxRateValues });
+		this.factorHistory = new FactorHistory(new long[] { Long.MIN_VALUE }, new double[] { priceFactor });
+		this.cache = new DerivedPriceCache(priceFactor);
+		this.emptyTable = new PriceTable(this, new long[0][], new byte[0][], 0, null, priceFactor, taxRateValues,
+			new PriceHistory[0][]);
+	}
+
+	/**
+	 * Return the current version of the price tables of all pricing
+	 * categories. The snapshot is immutable, readers that need consistent
+	 * prices across several lookups or categories hold on to it.
+	 * 
+	 * @return current price snapshot
+	 */
+	public static PriceSnapshot snapshot() {
+		return current;
+	}
+
+	/**
+	 * Set mode of storing prices of categories derived from {@code BasePricing}
+	 * for later changes. In {@code DerivedPrices.Lazy} mode, storing a base
+	 * price removes derived prices of the article, derived categories only
+	 * store overrides and compute other prices from base prices on access.
+	 * 
+	 * @param mode mode of storing derived prices
+	 * @throws IllegalArgumentException with null argument
+	 */
+	public static void derivedPrices(DerivedPrices mode) {
+		if (mode == null)
+			throw new IllegalArgumentException("argument mode: null");
+		//
+		derivedPrices = mode;
+	}
+
+	/**
+	 * Return mode of storing prices of derived categories.
+	 * 
+	 * @return mode of storing derived prices
+	 */
+	public static DerivedPrices derivedPrices() {
+		return derivedPrices;
+	}
+
+	/**
+	 * Report use of the cache of derived prices of this pricing category.
+	 * 
+	 * @return cache hits, misses and sizes
+	 */
+	public DerivedPriceStats derivedPriceStats() {
+		return new DerivedPriceStats(category, cacheHits.sum(), cacheMisses.sum(),
+			table().overrides(), cache.entries.sum());
+	}
+
+	/**
+	 * Return derived price for a base price stored at an article slot,
+	 * from the cache if it holds a price computed from the same base price.
+	 * Prices derived with another than the current price factor, e.g. by
+	 * readers of older snapshots, are computed without the cache.
+	 */
+	private long derivedPrice(int slot, long basePrice, double priceFactor) {
+		var cache = this.cache;
+		if (cache.priceFactor != priceFactor || basePrice < 0L || basePrice > cacheLimit) {
+			cacheMisses.increment();
+			return adjustPrice(basePrice, priceFactor);
+		}
+		long entry = cache.entry(slot);
+		if (entry >>> 32 == basePrice + 1) {
+			cacheHits.increment();
+			return entry & 0xffffffffL;
+		}
+		cacheMisses.increment();
+		long unitPrice = adjustPrice(basePrice, priceFactor);
+		if (unitPrice >= 0L && unitPrice <= cacheLimit) {
+			cache.put(slot, entry, (basePrice + 1) << 32 | unitPrice);
+		}
+		return unitPrice;
+	}
+
+	/**
+	 * Apply a batch of changes to a private copy of the current price tables
+	 * and publish them as a new version with one reference swap. Readers see
+	 * either none or all changes of the batch. Writers are serialized.
+	 * 
+	 * @param changes changes applied to the batch
+	 * @return published snapshot (the current snapshot if nothing changed)
+	 * @throws IllegalArgumentException with null argument
+	 */
+	public static PriceSnapshot update(Consumer<Batch> changes) {
+		if (changes == null)
+			throw new IllegalArgumentException("argument changes: null");
+		//
+		synchronized (writeLock) {
+			var batch = new Batch(current);
+			changes.accept(batch);
+			return batch.publish();
+		}
+	}
+
+	/**
+	 * Return {@link Article} registered with a slot, see {@link Article#getSlot()}.
+	 * 
+	 * @param slot slot of article
+	 * @return article with slot
+	 * @throws IndexOutOfBoundsException if no article is registered with slot,
+	 *         e.g. after the article was released
+	 */
+	public static Article article(int slot) {
+		return slots.article(slot);
+	}
+
+	/**
+	 * Return {@link Article} registered with an id. Decoded articles reuse
+	 * the article of a registered id, so restoring or replaying state does
+	 * not register further copies.
+	 * 
+	 * @param id id of article
+	 * @return latest article registered with id or empty
+	 */
+	public static Optional<Article> article(String id) {
+		return slots.article(id);
+	}
+
+	/**
+	 * Release an {@link Article}: remove its prices and price histories in
+	 * all pricing categories and remove it from the article registry, so
+	 * that {@link Pricing} no longer keeps it reachable. The slot is not
+	 * reused, orders with items of the article can no longer resolve it.
+	 * Storing a price or adding the article to an order registers it again.
+	 * 
+	 * @param article article to release
+	 * @return published snapshot without prices of the article
+	 * @throws IllegalArgumentException with null argument
+	 */
+	public static PriceSnapshot release(Article article) {
+		if (article == null)
+			throw new IllegalArgumentException("argument article: null");
+		//
+		synchronized (writeLock) {
+			var snapshot = update(batch -> batch.release(article));
+			slots.release(article);
+			return snapshot;
+		}
+	}
+
+	/**
+	 * Register {@link Article} with the article registry, e.g. when it is
+	 * added to an {@link Order}.
+	 * 
+	 * @param article article to register
+	 * @return slot of article
+	 */
+	static int register(Article article) {
+		return slots.register(article);
+	}
+
+	/**
+	 * Store or update {@link Article} with unit price and {@link TAXRate} in
+	 * the price table, published as a new version of its own.
+	 * 
+	 * @param article   article to store or update in price table
 	 * @param unitPrice price associated with one unit of the {@link Article}
 	 * @param taxRate   tax rate applicable to {@link Article}
 	 * @return chainable self-reference
 	 */
 	public Pricing put(Article article, long unitPrice, TAXRate taxRate, PricingCategory pricingCategory) {
-		switch (pricingCategory) {
-			case BasePricing:
-				PricingCategory.BasePricing.pricing().articlePriceMap.put(article, new PriceRecord(unitPrice, taxRate));
-				PricingCategory.BlackFridayPricing.pricing().articlePriceMap.put(article, new PriceRecord(adjustPrice(unitPrice, 0.8), taxRate));
-				PricingCategory.SwissPricing.pricing().articlePriceMap.put(article, new PriceRecord(adjustPrice(unitPrice, 1.8), taxRate));
-				PricingCategory.UKPricing.pricing().articlePriceMap.put(article, new PriceRecord(adjustPrice(unitPrice, 1.15), taxRate));
-				break;
-			default:
-				var priceRecord = new PriceRecord(unitPrice, taxRate);
-				articlePriceMap.put(article, priceRecord);
-				break;
-		}
+		update(batch -> batch.put(article, unitPrice, taxRate, pricingCategory));
 		return this;
 	}
 
+	/**
+	 * Return factor deriving prices of this pricing category from
+	 * {@code BasePricing} prices in the current version.
+	 * 
+	 * @return price factor, {@code 1.0} for {@code BasePricing}
+	 */
+	public double priceFactor() {
+		return table().priceFactor();
+	}
+
+	/**
+	 * Change the factor deriving prices of a pricing category from
+	 * {@code BasePricing} prices and reprice the category. Pages of the
+	 * price table are recomputed from base prices in parallel without
+	 * holding the write lock, readers continue on the current version.
+	 * The result is published as one new version under the write lock,
+	 * pages changed by writers in the meantime are recomputed first.
+	 * <br>
+	 * In {@code DerivedPrices.Stored} mode, derived prices of articles with
+	 * a base price are replaced like by storing the base price again. Prices
+	 * stored for the category after the latest base price of an article are
+	 * overrides and kept, as are prices of articles without base price. In
+	 * {@code DerivedPrices.Lazy} mode, stored prices are overrides and kept,
+	 * derived prices follow the factor of the version.
+	 * <br>
+	 * The new factor is effective from the time of publication, or 1 ms
+	 * after the latest factor if that is not earlier, so that factor
+	 * versions remain sorted.
+	 * 
+	 * @param category pricing category to reprice, not {@code BasePricing}
+	 * @param priceFactor new price factor, positive
+	 * @param progress called with the number of pages repriced so far
+	 *        (and the number of pages) from worker threads
+	 * @return published snapshot
+	 * @throws IllegalArgumentException with null arguments, with
+	 *         {@code BasePricing} or a price factor that is not positive
+	 */
+	public static PriceSnapshot reprice(PricingCategory category, double priceFactor, BiConsumer<Integer, Integer> progress) {
+		if (category == null || progress == null)
+			throw new IllegalArgumentException("arguments category, progress: null");
+		if (category == PricingCategory.BasePricing)
+			throw new IllegalArgumentException("BasePricing cannot be repriced");
+		if ( ! (priceFactor > 0.0 && Double.isFinite(priceFactor)))
+			throw new IllegalArgumentException(String.format("illegal price factor: %s", priceFactor));
+		//
+		boolean stored = derivedPrices == DerivedPrices.Stored;
+		var start = current;
+		var startBase = start.table(PricingCategory.BasePricing);
+		var startTable = start.table(category);
+		int pages = stored ? Math.max(startBase.pricePages.length, startTable.pricePages.length) : 0;
+		var prices = new long[pages][];
+		var codes = new byte[pages][];
+		var counts = new int[pages];
+		var done = new AtomicInteger();
+		IntStream.range(0, pages).parallel().forEach(page -> {
+			repricePage(startBase, startTable, page, priceFactor, prices, codes, counts);
+			progress.accept(done.incrementAndGet(), pages);
+		});
+		synchronized (writeLock) {
+			var now = current;
+			var base = now.table(PricingCategory.BasePricing);
+			var table = now.table(category);
+			long[][] pricePages = table.pricePages;
+			byte[][] taxCodePages = table.taxCodePages;
+			int articles = table.articles;
+			if (stored) {
+				int n = Math.max(base.pricePages.length, table.pricePages.length);
+				pricePages = Arrays.copyOf(prices, n);
+				taxCodePages = Arrays.copyOf(codes, n);
+				var pageCounts = Arrays.copyOf(counts, n);
+				articles = 0;
+				for (int page = 0; page < n; page++) {
+					// pages are copied on write, changed pages are different objects
+					if (page >= pages || page(base.pricePages, page) != page(startBase.pricePages, page)
+							|| page(table.pricePages, page) != page(startTable.pricePages, page)) {
+						repricePage(base, table, page, priceFactor, pricePages, taxCodePages, pageCounts);
+					}
+					articles += pageCounts[page];
+				}
+			}
+			var pricing = category.pricing();
+			var factors = pricing.factorHistory;
+			int i = factors.from().length;
+			var values = Arrays.copyOf(factors.factors(), i + 1);
+			values[i] = priceFactor;
+			long from = Math.max(System.currentTimeMillis(), factors.from()[i - 1] + 1);
+			// publish complete history, readers must not see the new entry without its factor
+			pricing.factorHistory = new FactorHistory(insert(factors.from(), i, from), values);
+			pricing.cache = new DerivedPriceCache(priceFactor);
+			var tables = new PriceTable[PricingCategory.values().length];
+			for (var c : PricingCategory.values()) {
+				tables[c.ordinal()] = c != category ? now.table(c)
+					: new PriceTable(category.pricing(), pricePages, taxCodePages, articles, base, priceFactor, table.taxRateValues,
+						table.historyPages);
+			}
+			return current = new PriceSnapshot(now.version + 1, tables);
+		}
+	}
+
+	/**
+	 * Compute prices of one page of a derived price table from base prices,
+	 * keep prices of articles without base price.
+	 */
+	private static void repricePage(PriceTable base, PriceTable table, int page, double priceFactor,
+			long[][] prices, byte[][] codes, int[] counts) {
+		long[] basePrices = page(base.pricePages, page);
+		byte[] baseCodes = page(base.taxCodePages, page);
+		long[] oldPrices = page(table.pricePages, page);
+		byte[] oldCodes = page(table.taxCodePages, page);
+		if (baseCodes == null) {
+			prices[page] = oldPrices;
+			codes[page] = oldCodes;
+		} else {
+			var p = oldPrices != null ? oldPrices.clone() : new long[pageSize];
+			var t = oldCodes != null ? oldCodes.clone() : new byte[pageSize];
+			for (int i = 0; i < pageSize; i++) {
+				if (baseCodes[i] != 0 && ! isOverride(base, table, (page << pageShift) + i)) {
+					p[i] = adjustPrice(basePrices[i], priceFactor);
+					t[i] = baseCodes[i];
+				}
+			}
+			prices[page] = p;
+			codes[page] = t;
+		}
+		int count = 0;
+		if (codes[page] != null) {
+			for (byte code : codes[page]) {
+				count += code != 0 ? 1 : 0;
+			}
+		}
+		counts[page] = count;
+	}
+
+	/**
+	 * Return true if the price stored in a derived table for an article slot
+	 * is an override: the latest price of the category is not older than the
+	 * latest base price, like {@link #unitPriceAsOf(int, long)} decides.
+	 */
+	private static boolean isOverride(PriceTable base, PriceTable table, int slot) {
+		var own = table.history(slot);
+		if (own == null)
+			return false;
+		//
+		var history = base.history(slot);
+		return history == null || own.from()[own.from().length - 1] >= history.from()[history.from().length - 1];
+	}
+
+	private static <T> T page(T[] pages, int page) {
+		return page < pages.length ? pages[page] : null;
+	}
+
+	/**
+	 * Return the price table of this pricing category in the current version.
+	 * 
+	 * @return current price table of this pricing category
+	 */
+	public PriceTable table() {
+		return current.table(category);
+	}
+
 	/**
 	 * Return unit price for {@link Article}.
 	 * 
 	 * @param article subject of unit price request
-	 * @return article unit price or {@code 0} if article is not in price map
+	 * @return article unit price or {@code 0} if article is not in price table
 	 */
 	public long unitPrice(Article article) {
-		return Optional.ofNullable(articlePriceMap.get(article))
-			.map(p -> p.unitPrice).orElse(0L);
+		return table().unitPrice(article);
+	}
+
+	/**
+	 * Return unit price stored at an article slot of the price table.
+	 * 
+	 * @param slot article slot, see {@link Article#getSlot()}
+	 * @return unit price or {@code 0} if slot is not in price table
+	 */
+	public long unitPriceAt(int slot) {
+		return table().unitPriceAt(slot);
+	}
+
+	/**
+	 * Return true if {@link Article} is stored in the price table.
+	 * 
+	 * @param article article to look up
+	 * @return true if article has a unit price and tax rate in this price table
+	 */
+	public boolean contains(Article article) {
+		return table().contains(article);
 	}
 
 	/**
@@ -256,8 +837,41 @@ public class Pricing {
 	 * @return tax rate that applies to article
 	 */
 	public TAXRate taxRate(Article article) {
-		return Optional.ofNullable(articlePriceMap.get(article))
-				.map(p -> p.taxRate()).orElse(TAXRate.Regular);
+		return table().taxRate(article);
+	}
+
+	/**
+	 * Report the memory footprint of the price table and the price histories
+	 * of this instance.
+	 * 
+	 * @return footprint of price table and histories compared to an equivalent hash map
+	 */
+	public Footprint footprint() {
+		var priceTable = table();
+		var table = priceTable.footprint();
+		var pages = priceTable.historyPages;
+		long historyBytes = arrayHeaderBytes + (long) pages.length * Integer.BYTES;
+		for (var page : pages) {
+			if (page != null) {
+				historyBytes += arrayHeaderBytes + (long) pageSize * Integer.BYTES;
+				for (var history : page) {
+					if (history != null) {
+						int n = history.from().length;
+						// from and price arrays, tax code array aligned to 8 bytes
+						historyBytes += historyObjectBytes + 2 * (arrayHeaderBytes + (long) n * Long.BYTES)
+							+ (arrayHeaderBytes + n + 7 & ~7L);
+					}
+				}
+			}
+		}
+		return new Footprint(category, table.articles(), table.tableBytes(), historyBytes, table.mapBytes());
+	}
+
+	/**
+	 * Return length of the price history page directory, including pages without histories.
+	 */
+	int historyPageCapacity() {
+		return table().historyPages.length;
 	}
 
 	/**
@@ -268,18 +882,899 @@ public class Pricing {
 	 * @return tax rate as percent value that applies to article
 	 */
 	public double taxRateAsPercent(Article article) {
-		var taxRate = taxRate(article);
-		switch (taxRate) {
-			case Regular:
-				return taxRateValues[0];
-			case Reduced:
-				return taxRateValues[1];
-			case Special:
-				return taxRateValues[2];
-			case Excempt:
-				return taxRateValues[3];
-			default:
-				return 0.0;
+		return taxRateBasisPoints(article) / 100.0;
+	}
+
+	/**
+	 * Return {@link TAXRate} in basis points for {@link Article}, e.g.
+	 * value 1900 for tax rate of 19%.
+	 * 
+	 * @param article subject of tax rate request
+	 * @return tax rate in basis points that applies to article
+	 */
+	public int taxRateBasisPoints(Article article) {
+		return table().taxRateBasisPointsAt(article.getSlot());
+	}
+
+	/**
+	 * Return tax rate in basis points stored at an article slot of the price table.
+	 * 
+	 * @param slot article slot, see {@link Article#getSlot()}
+	 * @return tax rate in basis points, regular tax rate if slot is not in price table
+	 */
+	public int taxRateBasisPointsAt(int slot) {
+		return table().taxRateBasisPointsAt(slot);
+	}
+
+	/**
+	 * Return {@link TAXRate} in basis points of this {@link Pricing} in the
+	 * current version, e.g. value 1900 for {@code TAXRate.Regular} in Germany.
+	 * 
+	 * @param taxRate tax rate to convert
+	 * @return tax rate in basis points
+	 */
+	public int taxRateBasisPoints(TAXRate taxRate) {
+		return table().taxRateBasisPoints(taxRate);
+	}
+
+	/**
+	 * Convert a local date and time to the epoch milliseconds used as keys
+	 * of price and tax rate histories (system default time zone).
+	 * 
+	 * @param time local date and time
+	 * @return epoch milliseconds
+	 * @throws IllegalArgumentException with null argument
+	 */
+	public static long epochMillis(LocalDateTime time) {
+		if (time == null)
+			throw new IllegalArgumentException("argument time: null");
+		//
+		return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	/**
+	 * Change tax rates of this pricing category effective from a point in
+	 * time, which must not be in the future. The tax rates become current
+	 * tax rates unless later tax rates were already set. Current tax rates
+	 * are published with a new {@link PriceSnapshot}, older snapshots keep
+	 * their tax rates.
+	 * 
+	 * @param effectiveFrom time from which tax rates are effective
+	 * @param basisPoints tax rates in basis points in {@link TAXRate} order
+	 * @return chainable self-reference
+	 * @throws IllegalArgumentException with null arguments, a time in the future
+	 *         or tax rates that do not match {@link TAXRate} values
+	 */
+	public Pricing changeTaxRates(LocalDateTime effectiveFrom, int... basisPoints) {
+		long time = effectiveFrom(effectiveFrom);
+		if (basisPoints == null || basisPoints.length != taxRates.length || Arrays.stream(basisPoints).anyMatch(v -> v < 0))
+			throw new IllegalArgumentException("illegal tax rates: " + Arrays.toString(basisPoints));
+		//
+		var values = basisPoints.clone();
+		synchronized (writeLock) {
+			var history = taxRateHistory;
+			int i = Arrays.binarySearch(history.from(), time);
+			long[] from = history.from();
+			int[][] rates;
+			if (i >= 0) {
+				rates = history.values().clone();
+			} else {
+				i = -i - 1;
+				from = insert(from, i, time);
+				rates = new int[from.length][];
+				System.arraycopy(history.values(), 0, rates, 0, i);
+				System.arraycopy(history.values(), i, rates, i + 1, history.values().length - i);
+			}
+			rates[i] = values;
+			taxRateHistory = new TaxRateHistory(from, rates);
+			publishTaxRates(category, rates[rates.length - 1]);
+		}
+		return this;
+	}
+
+	/**
+	 * Return tax rate history of this pricing category, e.g. to save it.
+	 * The first entry is effective from {@code Long.MIN_VALUE}.
+	 * 
+	 * @return tax rate versions sorted by effective time
+	 */
+	public List<TaxRateVersion> taxRateHistory() {
+		var history = taxRateHistory;
+		var versions = new ArrayList<TaxRateVersion>(history.from().length);
+		for (int i = 0; i < history.from().length; i++) {
+			versions.add(new TaxRateVersion(history.from()[i], history.values()[i]));
+		}
+		return versions;
+	}
+
+	/**
+	 * Replace tax rate history of this pricing category, e.g. by a saved
+	 * history. The latest tax rates become current tax rates, published
+	 * with a new {@link PriceSnapshot}.
+	 * 
+	 * @param versions tax rate versions sorted by effective time
+	 * @return chainable self-reference
+	 * @throws IllegalArgumentException with null or empty argument, versions
+	 *         not sorted by effective time or tax rates that do not match
+	 *         {@link TAXRate} values
+	 */
+	public Pricing restoreTaxRateHistory(List<TaxRateVersion> versions) {
+		if (versions == null || versions.isEmpty())
+			throw new IllegalArgumentException("argument versions: null or empty");
+		//
+		var from = new long[versions.size()];
+		var rates = new int[from.length][];
+		for (int i = 0; i < from.length; i++) {
+			var version = versions.get(i);
+			from[i] = version.from();
+			rates[i] = version.basisPoints();
+			if (i > 0 && from[i] <= from[i - 1])
+				throw new IllegalArgumentException("tax rate versions not sorted by effective time");
+			if (rates[i].length != taxRates.length || Arrays.stream(rates[i]).anyMatch(v -> v < 0))
+				throw new IllegalArgumentException("illegal tax rates: " + Arrays.toString(rates[i]));
+		}
+		synchronized (writeLock) {
+			taxRateHistory = new TaxRateHistory(from, rates);
+			publishTaxRates(category, rates[rates.length - 1]);
+		}
+		return this;
+	}
+
+	/**
+	 * Return price factor history of this pricing category, e.g. to save it.
+	 * The first entry is effective from {@code Long.MIN_VALUE}.
+	 * 
+	 * @return price factor versions sorted by effective time
+	 */
+	public List<FactorVersion> factorHistory() {
+		var history = factorHistory;
+		var versions = new ArrayList<FactorVersion>(history.from().length);
+		for (int i = 0; i < history.from().length; i++) {
+			versions.add(new FactorVersion(history.from()[i], history.factors()[i]));
+		}
+		return versions;
+	}
+
+	/**
+	 * Merge saved price factor versions into the price factor history of this
+	 * pricing category, saved versions replace versions of the same time.
+	 * The current price factor is configured and not changed: if the latest
+	 * version has another factor, the current factor is added effective now.
+	 * 
+	 * @param versions price factor versions sorted by effective time
+	 * @return chainable self-reference
+	 * @throws IllegalArgumentException with null argument, versions not sorted
+	 *         by effective time or price factors that are not positive
+	 */
+	public Pricing restoreFactorHistory(List<FactorVersion> versions) {
+		if (versions == null)
+			throw new IllegalArgumentException("argument versions: null");
+		//
+		for (int i = 0; i < versions.size(); i++) {
+			double factor = versions.get(i).priceFactor();
+			if (i > 0 && versions.get(i).from() <= versions.get(i - 1).from())
+				throw new IllegalArgumentException("price factor versions not sorted by effective time");
+			if ( ! (factor > 0.0 && Double.isFinite(factor)))
+				throw new IllegalArgumentException(String.format("illegal price factor: %s", factor));
+		}
+		synchronized (writeLock) {
+			var merged = new TreeMap<Long, Double>();
+			var history = factorHistory;
+			for (int i = 0; i < history.from().length; i++) {
+				merged.put(history.from()[i], history.factors()[i]);
+			}
+			versions.forEach(v -> merged.put(v.from(), v.priceFactor()));
+			double priceFactor = table().priceFactor();
+			if (merged.lastEntry().getValue() != priceFactor) {
+				merged.put(Math.max(System.currentTimeMillis(), merged.lastKey()), priceFactor);
+			}
+			var from = new long[merged.size()];
+			var factors = new double[from.length];
+			int i = 0;
+			for (var entry : merged.entrySet()) {
+				from[i] = entry.getKey();
+				factors[i++] = entry.getValue();
+			}
+			factorHistory = new FactorHistory(from, factors);
+		}
+		return this;
+	}
+
+	/**
+	 * Publish a new version with current tax rates of a pricing category,
+	 * tables of derived categories refer to the base table of the version.
+	 * Called with the write lock held.
+	 */
+	private static void publishTaxRates(PricingCategory category, int[] taxRateValues) {
+		var now = current;
+		var tables = new PriceTable[PricingCategory.values().length];
+		var base = now.table(PricingCategory.BasePricing);
+		if (category == PricingCategory.BasePricing) {
+			base = base.with(null, taxRateValues);
+		}
+		for (var c : PricingCategory.values()) {
+			var table = now.table(c);
+			tables[c.ordinal()] = c == PricingCategory.BasePricing ? base
+				: table.with(base, c == category ? taxRateValues : table.taxRateValues);
+		}
+		current = new PriceSnapshot(now.version + 1, tables);
+	}
+
+	/**
+	 * Return unit price of {@link Article} effective at a point in time.
+	 * 
+	 * @param article subject of unit price request
+	 * @param time point in time
+	 * @return unit price effective at time or {@code 0} if article has no price
+	 */
+	public long unitPriceAsOf(Article article, LocalDateTime time) {
+		return unitPriceAsOf(article.getSlot(), epochMillis(time));
+	}
+
+	/**
+	 * Return unit price stored for an article slot effective at a point in
+	 * time in O(log n) of n price versions. Prices of derived categories
+	 * are the prices stored for the category (overrides) if they are more
+	 * recent than the base price, otherwise the base price adjusted by the
+	 * price factor effective at that time. Times before the first price
+	 * version return the first price. Repricing keeps overrides by the same
+	 * rule, so prices as of a time after a reprice equal current prices.
+	 * 
+	 * @param slot article slot, see {@link Article#getSlot()}
+	 * @param time point in time in epoch milliseconds, see {@link #epochMillis(LocalDateTime)}
+	 * @return unit price effective at time or {@code 0} if article has no price
+	 */
+	public long unitPriceAsOf(int slot, long time) {
+		var own = history(slot);
+		int i = own != null ? indexAsOf(own.from(), time) : -1;
+		if (category != PricingCategory.BasePricing) {
+			var base = PricingCategory.BasePricing.pricing().history(slot);
+			int b = base != null ? indexAsOf(base.from(), time) : -1;
+			if (b >= 0 && (i < 0 || base.from()[b] > own.from()[i])) {
+				var factors = factorHistory;
+				return adjustPrice(base.prices()[b], factors.factors()[indexAsOf(factors.from(), time)]);
+			}
+		}
+		return i >= 0 ? own.prices()[i] : 0L;
+	}
+
+	/**
+	 * Return {@link TAXRate} of {@link Article} effective at a point in time.
+	 * 
+	 * @param article subject of tax rate request
+	 * @param time point in time
+	 * @return tax rate effective at time, regular tax rate if article has no price
+	 */
+	public TAXRate taxRateAsOf(Article article, LocalDateTime time) {
+		int code = taxCodeAsOf(article.getSlot(), epochMillis(time));
+		return code != 0 ? taxRates[code - 1] : TAXRate.Regular;
+	}
+
+	/**
+	 * Return tax rate in basis points for an article slot effective at a
+	 * point in time: the {@link TAXRate} of the price effective at that
+	 * time with the tax rates of this category effective at that time.
+	 * 
+	 * @param slot article slot, see {@link Article#getSlot()}
+	 * @param time point in time in epoch milliseconds, see {@link #epochMillis(LocalDateTime)}
+	 * @return tax rate in basis points, regular tax rate if article has no price
+	 */
+	public int taxRateBasisPointsAsOf(int slot, long time) {
+		int code = taxCodeAsOf(slot, time);
+		var history = taxRateHistory;
+		return history.values()[indexAsOf(history.from(), time)][code != 0 ? code - 1 : TAXRate.Regular.ordinal()];
+	}
+
+	/**
+	 * Return number of price versions stored for {@link Article} in this
+	 * pricing category.
+	 * 
+	 * @param article article to look up
+	 * @return number of price versions
+	 */
+	public int priceVersions(Article article) {
+		var history = history(article.getSlot());
+		return history != null ? history.from().length : 0;
+	}
+
+	/**
+	 * Return price history of {@link Article} in this pricing category,
+	 * e.g. to save it.
+	 * 
+	 * @param article article to look up
+	 * @return price versions sorted by effective time, empty if article has no price
+	 */
+	public List<PriceVersion> priceHistory(Article article) {
+		var history = history(article.getSlot());
+		if (history == null)
+			return List.of();
+		//
+		var versions = new ArrayList<PriceVersion>(history.from().length);
+		for (int i = 0; i < history.from().length; i++) {
+			versions.add(new PriceVersion(history.from()[i], history.prices()[i], taxRates[history.taxCodes()[i] - 1]));
+		}
+		return versions;
+	}
+
+	private int taxCodeAsOf(int slot, long time) {
+		var own = history(slot);
+		int i = own != null ? indexAsOf(own.from(), time) : -1;
+		if (category != PricingCategory.BasePricing) {
+			var base = PricingCategory.BasePricing.pricing().history(slot);
+			int b = base != null ? indexAsOf(base.from(), time) : -1;
+			if (b >= 0 && (i < 0 || base.from()[b] > own.from()[i]))
+				return base.taxCodes()[b];
+		}
+		return i >= 0 ? own.taxCodes()[i] : 0;
+	}
+
+	private PriceHistory history(int slot) {
+		return table().history(slot);
+	}
+
+	/**
+	 * Return index of the last entry effective at time in a sorted array
+	 * of times, the first entry if time is before all entries.
+	 */
+	private static int indexAsOf(long[] from, long time) {
+		int i = Arrays.binarySearch(from, time);
+		return i >= 0 ? i : Math.max(0, -i - 2);
+	}
+
+	private static long effectiveFrom(LocalDateTime time) {
+		long millis = epochMillis(time);
+		if (millis > System.currentTimeMillis())
+			throw new IllegalArgumentException(String.format("effective time in the future: %s", time));
+		//
+		return millis;
+	}
+
+	private static long[] insert(long[] a, int i, long value) {
+		var b = new long[a.length + 1];
+		System.arraycopy(a, 0, b, 0, i);
+		b[i] = value;
+		System.arraycopy(a, i, b, i + 1, a.length - i);
+		return b;
+	}
+
+	private static byte[] insert(byte[] a, int i, byte value) {
+		var b = new byte[a.length + 1];
+		System.arraycopy(a, 0, b, 0, i);
+		b[i] = value;
+		System.arraycopy(a, i, b, i + 1, a.length - i);
+		return b;
+	}
+
+	/**
+	 * Immutable version of the price tables of all pricing categories.
+	 */
+	public static final class PriceSnapshot {
+		private final long version;
+		private final PriceTable[] tables;
+
+		private PriceSnapshot(long version, PriceTable[] tables) {
+			this.version = version;
+			this.tables = tables;
+		}
+
+		/**
+		 * Return version number, increased by one with every published batch.
+		 * 
+		 * @return version number
+		 */
+		public long version() {
+			return version;
+		}
+
+		/**
+		 * Return price table of a pricing category in this version.
+		 * 
+		 * @param category pricing category of price table
+		 * @return price table of pricing category
+		 */
+		public PriceTable table(PricingCategory category) {
+			int i = category.ordinal();
+			return i < tables.length && tables[i] != null ? tables[i] : category.pricing().emptyTable;
+		}
+	}
+
+	/**
+	 * Immutable price table of one pricing category in one version. Unit
+	 * prices and tax codes are columns indexed by {@link Article#getSlot()}
+	 * and split into pages, pages without prices are {@code null}. Tax codes
+	 * are {@link TAXRate} ordinals {@code + 1}, {@code 0} marks slots without
+	 * a stored price.
+	 * <br>
+	 * Tables of derived categories refer to the {@code BasePricing} table of
+	 * the same version. Articles without a stored price, but with a base price,
+	 * are priced with the base price adjusted by the price factor of the
+	 * category (computed on first access and cached) and the base tax rate.
+	 * Tax rates in basis points are those of the category in the version.
+	 * <br>
+	 * Price histories of the category are paged by slot like prices and are
+	 * part of the table, so prices and histories of a version are published
+	 * together.
+	 */
+	public static final class PriceTable {
+		private final Pricing pricing;
+		private final long[][] pricePages;
+		private final byte[][] taxCodePages;
+		private final int articles;
+		private final PriceTable base;
+		private final double priceFactor;
+		private final int[] taxRateValues;
+		private final PriceHistory[][] historyPages;
+
+		private PriceTable(Pricing pricing, long[][] pricePages, byte[][] taxCodePages, int articles, PriceTable base,
+				double priceFactor, int[] taxRateValues, PriceHistory[][] historyPages) {
+			this.pricing = pricing;
+			this.pricePages = pricePages;
+			this.taxCodePages = taxCodePages;
+			this.articles = articles;
+			this.base = base;
+			this.priceFactor = priceFactor;
+			this.taxRateValues = taxRateValues;
+			this.historyPages = historyPages;
+		}
+
+		/**
+		 * Return price table with the prices of this table, a base table and tax rates.
+		 */
+		private PriceTable with(PriceTable base, int[] taxRateValues) {
+			return new PriceTable(pricing, pricePages, taxCodePages, articles, base, priceFactor, taxRateValues, historyPages);
+		}
+
+		/**
+		 * Return factor deriving prices of the price table from base prices.
+		 * 
+		 * @return price factor, {@code 1.0} for {@code BasePricing}
+		 */
+		public double priceFactor() {
+			return priceFactor;
+		}
+
+		/**
+		 * Return number of prices stored in the price table, which are overrides
+		 * of derived prices in derived categories.
+		 * 
+		 * @return number of stored prices
+		 */
+		public int overrides() {
+			return base != null ? articles : 0;
+		}
+
+		/**
+		 * Return {@link Pricing} the price table belongs to.
+		 * 
+		 * @return pricing of price table
+		 */
+		public Pricing pricing() {
+			return pricing;
+		}
+
+		/**
+		 * Return number of articles with prices stored in the price table.
+		 * 
+		 * @return number of articles with stored prices
+		 */
+		public int articles() {
+			return articles;
+		}
+
+		/**
+		 * Return unit price for {@link Article}.
+		 * 
+		 * @param article subject of unit price request
+		 * @return article unit price or {@code 0} if article is not in price table
+		 */
+		public long unitPrice(Article article) {
+			return unitPriceAt(article.getSlot());
+		}
+
+		/**
+		 * Return unit price stored at an article slot.
+		 * 
+		 * @param slot article slot, see {@link Article#getSlot()}
+		 * @return unit price or {@code 0} if slot is not in price table
+		 */
+		public long unitPriceAt(int slot) {
+			int page = slot >>> pageShift;
+			if (page < taxCodePages.length && taxCodePages[page] != null && taxCodePages[page][slot & pageMask] != 0)
+				return pricePages[page][slot & pageMask];
+			//
+			return base != null && base.taxCodeAt(slot) != 0 ? pricing.derivedPrice(slot, base.unitPriceAt(slot), priceFactor) : 0L;
+		}
+
+		/**
+		 * Return true if {@link Article} has a price in the price table,
+		 * stored or derived from its base price.
+		 * 
+		 * @param article article to look up
+		 * @return true if article has a unit price and tax rate in the price table
+		 */
+		public boolean contains(Article article) {
+			return taxCodeAt(article.getSlot()) != 0;
+		}
+
+		/**
+		 * Return true if a price of {@link Article} is stored in the price table.
+		 * 
+		 * @param article article to look up
+		 * @return true if article has a stored unit price and tax rate
+		 */
+		public boolean isStored(Article article) {
+			return storedTaxCodeAt(article.getSlot()) != 0;
+		}
+
+		/**
+		 * Return {@link TAXRate} for {@link Article}.
+		 * 
+		 * @param article subject of tax rate request
+		 * @return tax rate that applies to article, regular tax rate if article is not in price table
+		 */
+		public TAXRate taxRate(Article article) {
+			int code = taxCodeAt(article.getSlot());
+			return code != 0 ? taxRates[code - 1] : TAXRate.Regular;
+		}
+
+		/**
+		 * Return tax rate in basis points stored at an article slot.
+		 * 
+		 * @param slot article slot, see {@link Article#getSlot()}
+		 * @return tax rate in basis points, regular tax rate if slot is not in price table
+		 */
+		public int taxRateBasisPointsAt(int slot) {
+			int code = taxCodeAt(slot);
+			return taxRateValues[code != 0 ? code - 1 : TAXRate.Regular.ordinal()];
+		}
+
+		/**
+		 * Return {@link TAXRate} in basis points of the price table, e.g.
+		 * value 1900 for {@code TAXRate.Regular} in Germany.
+		 * 
+		 * @param taxRate tax rate to convert
+		 * @return tax rate in basis points
+		 */
+		public int taxRateBasisPoints(TAXRate taxRate) {
+			return taxRateValues[taxRate.ordinal()];
+		}
+
+		/**
+		 * Report the memory footprint of the price table.
+		 * 
+		 * @return footprint of price table compared to an equivalent hash map
+		 */
+		public Footprint footprint() {
+			long tableBytes = 2 * arrayHeaderBytes + 2L * pricePages.length * Integer.BYTES;
+			for (var page : pricePages) {
+				tableBytes += page != null ? 2 * arrayHeaderBytes + (long) pageSize * (Long.BYTES + 1) : 0L;
+			}
+			return new Footprint(pricing.category, articles, tableBytes, 0L, articles * mapBytesPerEntry);
+		}
+
+		/**
+		 * Return length of the page directories, including pages without prices.
+		 */
+		int pageCapacity() {
+			return pricePages.length;
+		}
+
+		/**
+		 * Return price history of an article slot in this version.
+		 */
+		private PriceHistory history(int slot) {
+			int page = slot >>> pageShift;
+			return page < historyPages.length && historyPages[page] != null ? historyPages[page][slot & pageMask] : null;
+		}
+
+		private int taxCodeAt(int slot) {
+			int code = storedTaxCodeAt(slot);
+			return code != 0 || base == null ? code : base.taxCodeAt(slot);
+		}
+
+		private int storedTaxCodeAt(int slot) {
+			int page = slot >>> pageShift;
+			return page < taxCodePages.length && taxCodePages[page] != null ? taxCodePages[page][slot & pageMask] : 0;
+		}
+	}
+
+	/**
+	 * Batch of price changes applied to a private copy of a {@link PriceSnapshot}.
+	 * Page directories and pages are copied on the first change within the
+	 * batch, unchanged pages are shared with the base snapshot. A batch is
+	 * only valid inside {@link Pricing#update(Consumer)}.
+	 */
+	public static final class Batch {
+		private final PriceSnapshot base;
+		private final long[][][] pricePages;
+		private final byte[][][] taxCodePages;
+		private final boolean[][] copiedPages;
+		private final int[] articles;
+		private final PriceHistory[][][] historyPages;
+		private final boolean[][] copiedHistoryPages;
+		private boolean changed = false;
+		private long effectiveFrom = System.currentTimeMillis();
+
+		private Batch(PriceSnapshot base) {
+			this.base = base;
+			int n = PricingCategory.values().length;
+			this.pricePages = new long[n][][];
+			this.taxCodePages = new byte[n][][];
+			this.copiedPages = new boolean[n][];
+			this.articles = new int[n];
+			this.historyPages = new PriceHistory[n][][];
+			this.copiedHistoryPages = new boolean[n][];
+		}
+
+		/**
+		 * Set time from which prices put later in this batch are effective,
+		 * the time of the batch by default. Back-dated prices are added to
+		 * price histories and only change current prices if no later price
+		 * of the article is known.
+		 * 
+		 * @param time effective time, not in the future
+		 * @return chainable self-reference
+		 * @throws IllegalArgumentException with null argument or a time in the future
+		 */
+		public Batch effectiveFrom(LocalDateTime time) {
+			effectiveFrom = Pricing.effectiveFrom(time);
+			return this;
+		}
+
+		/**
+		 * Store or update {@link Article} with unit price and {@link TAXRate}
+		 * and add the price to the price history of the article,
+		 * prices stored in {@code BasePricing} are also stored with adjusted
+		 * prices in the other pricing categories, or replace stored prices of
+		 * other categories in {@code DerivedPrices.Lazy} mode.
+		 * 
+		 * @param article         article to store or update in price table
+		 * @param unitPrice       price associated with one unit of the {@link Article}
+		 * @param taxRate         tax rate applicable to {@link Article}
+		 * @param pricingCategory pricing category of unit price
+		 * @return chainable self-reference
+		 */
+		public Batch put(Article article, long unitPrice, TAXRate taxRate, PricingCategory pricingCategory) {
+			int slot = slots.register(article);
+			var history = history(pricingCategory, slot);
+			byte code = (byte) (taxRate.ordinal() + 1);
+			history = history == null ? new PriceHistory(new long[] { effectiveFrom }, new long[] { unitPrice }, new byte[] { code })
+				: history.with(effectiveFrom, unitPrice, code);
+			history(pricingCategory, slot, history);
+			if (history.from()[history.from().length - 1] != effectiveFrom)
+				return this;	// back-dated price does not change current prices
+			//
+			switch (pricingCategory) {
+				case BasePricing:
+					boolean lazy = derivedPrices == DerivedPrices.Lazy;
+					for (var category : PricingCategory.values()) {
+						if (category == PricingCategory.BasePricing) {
+							store(category, slot, unitPrice, taxRate);
+						} else if (lazy) {
+							remove(category, slot);
+						} else {
+							store(category, slot, adjustPrice(unitPrice, base.table(category).priceFactor), taxRate);
+						}
+					}
+					break;
+				default:
+					store(pricingCategory, slot, unitPrice, taxRate);
+					break;
+			}
+			return this;
+		}
+
+		/**
+		 * Store or update {@link Article} with unit price and {@link TAXRate}
+		 * in the price table of a pricing category only, e.g. to restore saved
+		 * prices. Neither price histories nor prices of other categories change.
+		 * 
+		 * @param article         article to store or update in price table
+		 * @param unitPrice       price associated with one unit of the {@link Article}
+		 * @param taxRate         tax rate applicable to {@link Article}
+		 * @param pricingCategory pricing category of unit price
+		 * @return chainable self-reference
+		 */
+		public Batch restorePrice(Article article, long unitPrice, TAXRate taxRate, PricingCategory pricingCategory) {
+			store(pricingCategory, slots.register(article), unitPrice, taxRate);
+			return this;
+		}
+
+		/**
+		 * Replace price history of {@link Article} in a pricing category, e.g.
+		 * by a saved history. Current prices do not change.
+		 * 
+		 * @param article         article of price history
+		 * @param pricingCategory pricing category of price history
+		 * @param versions        price versions sorted by effective time, empty to remove the history
+		 * @return chainable self-reference
+		 * @throws IllegalArgumentException with null arguments or versions not
+		 *         sorted by effective time
+		 */
+		public Batch restoreHistory(Article article, PricingCategory pricingCategory, List<PriceVersion> versions) {
+			if (article == null || pricingCategory == null || versions == null)
+				throw new IllegalArgumentException("arguments article, pricingCategory, versions: null");
+			//
+			int n = versions.size();
+			var from = new long[n];
+			var prices = new long[n];
+			var codes = new byte[n];
+			for (int i = 0; i < n; i++) {
+				var version = versions.get(i);
+				from[i] = version.from();
+				prices[i] = version.unitPrice();
+				codes[i] = (byte) (version.taxRate().ordinal() + 1);
+				if (i > 0 && from[i] <= from[i - 1])
+					throw new IllegalArgumentException("price versions not sorted by effective time");
+			}
+			history(pricingCategory, slots.register(article), n > 0 ? new PriceHistory(from, prices, codes) : null);
+			return this;
+		}
+
+		/**
+		 * Remove prices and price histories of an article in all pricing categories.
+		 */
+		private void release(Article article) {
+			int slot = article.getSlot();
+			if (slot < 0)
+				return;
+			//
+			for (var category : PricingCategory.values()) {
+				remove(category, slot);
+				if (history(category, slot) != null) {
+					history(category, slot, null);
+				}
+			}
+		}
+
+		/**
+		 * Store unit price and {@link TAXRate} at an article slot, copy the
+		 * page directory and the page on their first change in this batch.
+		 */
+		private void store(PricingCategory category, int slot, long unitPrice, TAXRate taxRate) {
+			int c = category.ordinal();
+			int page = slot >>> pageShift;
+			copyDirectory(category);
+			if (page >= pricePages[c].length) {
+				int capacity = Math.max(page + 1, pricePages[c].length * 2);
+				pricePages[c] = Arrays.copyOf(pricePages[c], capacity);
+				taxCodePages[c] = Arrays.copyOf(taxCodePages[c], capacity);
+				copiedPages[c] = Arrays.copyOf(copiedPages[c], capacity);
+			}
+			if ( ! copiedPages[c][page]) {
+				var prices = pricePages[c][page];
+				pricePages[c][page] = prices != null ? prices.clone() : new long[pageSize];
+				var codes = taxCodePages[c][page];
+				taxCodePages[c][page] = codes != null ? codes.clone() : new byte[pageSize];
+				copiedPages[c][page] = true;
+			}
+			int i = slot & pageMask;
+			if (taxCodePages[c][page][i] == 0) {
+				articles[c]++;
+			}
+			pricePages[c][page][i] = unitPrice;
+			taxCodePages[c][page][i] = (byte) (taxRate.ordinal() + 1);
+			changed = true;
+		}
+
+		/**
+		 * Remove stored price at an article slot, copy the page directory and
+		 * the page on their first change in this batch.
+		 */
+		private void remove(PricingCategory category, int slot) {
+			int c = category.ordinal();
+			int page = slot >>> pageShift;
+			int i = slot & pageMask;
+			var table = pricePages[c] == null ? base.table(category) : null;
+			var codes = table != null ? table.taxCodePages : taxCodePages[c];
+			if (page >= codes.length || codes[page] == null || codes[page][i] == 0)
+				return;
+			//
+			copyDirectory(category);
+			if ( ! copiedPages[c][page]) {
+				pricePages[c][page] = pricePages[c][page].clone();
+				taxCodePages[c][page] = taxCodePages[c][page].clone();
+				copiedPages[c][page] = true;
+			}
+			pricePages[c][page][i] = 0L;
+			taxCodePages[c][page][i] = 0;
+			articles[c]--;
+			changed = true;
+		}
+
+		/**
+		 * Return price history of an article slot including changes of this batch.
+		 */
+		private PriceHistory history(PricingCategory category, int slot) {
+			var pages = historyPages[category.ordinal()];
+			if (pages == null)
+				return base.table(category).history(slot);
+			//
+			int page = slot >>> pageShift;
+			return page < pages.length && pages[page] != null ? pages[page][slot & pageMask] : null;
+		}
+
+		/**
+		 * Set price history of an article slot, copy the history page directory
+		 * and the page on their first change in this batch.
+		 */
+		private void history(PricingCategory category, int slot, PriceHistory history) {
+			int c = category.ordinal();
+			int page = slot >>> pageShift;
+			if (historyPages[c] == null) {
+				historyPages[c] = base.table(category).historyPages.clone();
+				copiedHistoryPages[c] = new boolean[historyPages[c].length];
+			}
+			if (page >= historyPages[c].length) {
+				int capacity = Math.max(page + 1, historyPages[c].length * 2);
+				historyPages[c] = Arrays.copyOf(historyPages[c], capacity);
+				copiedHistoryPages[c] = Arrays.copyOf(copiedHistoryPages[c], capacity);
+			}
+			if ( ! copiedHistoryPages[c][page]) {
+				var histories = historyPages[c][page];
+				historyPages[c][page] = histories != null ? histories.clone() : new PriceHistory[pageSize];
+				copiedHistoryPages[c][page] = true;
+			}
+			historyPages[c][page][slot & pageMask] = history;
+			changed = true;
+		}
+
+		/**
+		 * Copy page directory of a category on its first change in this batch.
+		 */
+		private void copyDirectory(PricingCategory category) {
+			int c = category.ordinal();
+			if (pricePages[c] == null) {
+				var table = base.table(category);
+				pricePages[c] = table.pricePages.clone();
+				taxCodePages[c] = table.taxCodePages.clone();
+				copiedPages[c] = new boolean[pricePages[c].length];
+				articles[c] = table.articles;
+			}
+		}
+
+		/**
+		 * Publish snapshot with changed price tables and price histories and
+		 * all other price tables of the base snapshot (the base snapshot if
+		 * nothing changed) with one reference swap. Called with the write
+		 * lock held, a batch that failed before is never published.
+		 */
+		private PriceSnapshot publish() {
+			return current = changed ? snapshot() : base;
+		}
+
+		/**
+		 * Return snapshot with changed price tables and all other price tables
+		 * of the base snapshot.
+		 */
+		private PriceSnapshot snapshot() {
+			var categories = PricingCategory.values();
+			var tables = new PriceTable[categories.length];
+			int b = PricingCategory.BasePricing.ordinal();
+			var baseTable = tables[b] = table(PricingCategory.BasePricing, null);
+			for (var category : categories) {
+				if (category.ordinal() != b) {
+					// derived tables refer to the base table of the same version
+					tables[category.ordinal()] = table(category, baseTable);
+				}
+			}
+			return new PriceSnapshot(base.version + 1, tables);
+		}
+
+		/**
+		 * Return price table of a category with prices and price histories
+		 * changed by this batch, referring to a base table.
+		 */
+		private PriceTable table(PricingCategory category, PriceTable baseTable) {
+			int c = category.ordinal();
+			var table = base.table(category);
+			if (pricePages[c] == null && historyPages[c] == null)
+				return baseTable == null ? table : table.with(baseTable, table.taxRateValues);
+			//
+			boolean prices = pricePages[c] != null;
+			return new PriceTable(category.pricing(), prices ? pricePages[c] : table.pricePages,
+				prices ? taxCodePages[c] : table.taxCodePages, prices ? articles[c] : table.articles, baseTable,
+				table.priceFactor, table.taxRateValues, historyPages[c] != null ? historyPages[c] : table.historyPages);
 		}
 	}
 
@@ -292,7 +1787,7 @@ public class Pricing {
 	 * @param factor exchange or discount rate
 	 * @return adjusted price
 	 */
-	private long adjustPrice(long price, double factor) {
+	private static long adjustPrice(long price, double factor) {
 		long newPrice = (long) (price * factor);
 		long base = (newPrice / 10) * 10;
 		long dig = (newPrice % 10 <= 5 && newPrice >= 20) ? 5 : 9;
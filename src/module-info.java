@@ -27,4 +27,5 @@ module se1.bestellsystem {
     requires org.apache.logging.log4j.core;
     requires org.apache.logging.log4j;
     requires lombok;
+    requires static jdk.incubator.vector;   // optional, vectorized VAT columns if resolved
 }
@@ -0,0 +1,87 @@
+package components;
+
+import datamodel.Article;
+import datamodel.Pricing.PricingCategory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * Tests for {@link ArticleCatalog}: [100..199] id and description token indexes.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ArticleCatalog_100_Index_Tests {
+
+    /*
+     * Reference to ArticleCatalog.
+     */
+    private final ArticleCatalog catalog = Components.getInstance().getArticleCatalog();
+
+    /*
+     * Test objects.
+     */
+    private Article blau, rot, kanne;
+
+    @BeforeEach
+    public void setUpBeforeEach() {
+        var dataFactory = Components.getInstance().getDataFactory();
+        blau = dataFactory.createArticle("Zuckertasse blau, Porzellan", 299, PricingCategory.BasePricing).get();
+        rot = dataFactory.createArticle("Zuckertasse rot", 299, PricingCategory.BasePricing).get();
+        kanne = dataFactory.createArticle("Zuckerkanne BLAU", 1999, PricingCategory.BasePricing).get();
+        catalog.addAll(List.of(blau, rot, kanne));
+    }
+
+    /*
+     * Regular test case 100: find by id and description words.
+     */
+    @Test @Order(100)
+    void test100_FindRegularCases() {
+        assertSame(blau, catalog.findById(blau.getId()).get());
+        assertEquals(Optional.empty(), catalog.findById("SKU-X"));
+        var found = catalog.findByDescription("zuckertasse");
+        assertTrue(found.contains(blau) && found.contains(rot) && ! found.contains(kanne));
+        found = catalog.findByDescription("Blau Zuckertasse");
+        assertTrue(found.contains(blau) && ! found.contains(rot) && ! found.contains(kanne));
+        found = catalog.findByDescription("blau");
+        assertTrue(found.contains(blau) && found.contains(kanne));
+        assertEquals(List.of(), catalog.findByDescription("Zuckertasse grün"));
+        assertEquals(List.of(), catalog.findByDescription(" , "));
+    }
+
+    /*
+     * Regular test case 110: article fetcher matches id or description words.
+     */
+    @Test @Order(110)
+    void test110_ArticleFetcherRegularCases() {
+        var fetcher = catalog.articleFetcher();
+        assertSame(kanne, fetcher.apply(" " + kanne.getId()).get());
+        assertEquals("Zuckertasse rot", fetcher.apply("rot zuckertasse").get().getDescription());
+        assertTrue(fetcher.apply("Zuckerkanne").isPresent());
+        assertEquals(Optional.empty(), fetcher.apply("Zuckerdose"));
+        assertEquals(Optional.empty(), fetcher.apply(null));
+    }
+
+    /*
+     * Regular test case 120: re-adding an article does not duplicate entries.
+     */
+    @Test @Order(120)
+    void test120_AddRegularCases() {
+        int count = catalog.count();
+        catalog.add(rot);
+        assertEquals(count, catalog.count());
+        assertEquals(1L, catalog.findByDescription("rot").stream().filter(a -> a==rot).count());
+        assertThrows(IllegalArgumentException.class, () -> catalog.add(null));
+    }
+}
@@ -0,0 +1,138 @@
+package components;
+
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.Pricing;
+import datamodel.Pricing.Currency;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+
+
+/**
+ * Tests for {@link Calculator}: [100..199] single-pass order totals.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class Calculator_100_OrderTotals_Tests {
+
+    /*
+     * Reference to Calculator.
+     */
+    private final Calculator calculator = Components.getInstance().getCalculator();
+
+    /*
+     * Test objects.
+     */
+    private Customer customer;
+    private Article tasse, kanne, buch;
+
+    /**
+     * Method is executed before each @Test method
+     */
+    @BeforeEach
+    public void setUpBeforeEach() {
+        var dataFactory = Components.getInstance().getDataFactory();
+        customer = dataFactory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+        tasse = dataFactory.createArticle("Tasse", 299, PricingCategory.BasePricing).get();
+        kanne = dataFactory.createArticle("Kanne", 1999, PricingCategory.BasePricing).get();
+        buch = dataFactory.createArticle("Buch", 1250, PricingCategory.BasePricing, TAXRate.Reduced).get();
+    }
+
+    /*
+     * Regular test case 100: totals match values calculated per order and item.
+     */
+    @Test @Order(100)
+    void test100_OrderTotalsRegularCases() {
+        for(var category : PricingCategory.values()) {
+            var order = Components.getInstance().getDataFactory()
+                .createOrderBuilder(category, spec -> Optional.of(customer),
+                    spec -> Optional.of(spec.equals("Tasse")? tasse : spec.equals("Kanne")? kanne : buch))
+                .buildOrder("Meyer", bst -> bst.item(3, "Tasse").item(1, "Kanne").item(2, "Buch"))
+                .get();
+            //
+            var totals = calculator.calculateOrderTotals(order);
+            assertEquals(calculator.calculateOrderValue(order), totals.value());
+            assertEquals(calculator.calculateOrderVAT(order), totals.vat());
+            var pricing = category.pricing();
+            var items = order.getOrderItems().iterator();
+            long[] values = new long[3], vats = new long[3];
+            for(int i=0; items.hasNext(); i++) {
+                var item = items.next();
+                values[i] = calculator.calculateOrderItemValue(item, pricing);
+                vats[i] = calculator.calculateOrderItemVAT(item, pricing);
+            }
+            assertArrayEquals(values, totals.itemValues());
+            assertArrayEquals(vats, totals.itemVATs());
+            // totals are not changed through returned item columns
+            totals.itemValues()[0] = -1L;
+            assertEquals(values[0], totals.itemValue(0));
+            assertEquals(3, totals.items());
+        }
+    }
+
+    /*
+     * Exception test case 110: null order.
+     */
+    @Test @Order(110)
+    void test110_OrderTotalsExceptionCases() {
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculateOrderTotals(null));
+        var order = new datamodel.Order(1000000110L, customer, PricingCategory.UKPricing.pricing(), LocalDateTime.now());
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculateOrderTotals(order, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> calculator.calculateOrderTotals(order, Pricing.snapshot().table(PricingCategory.BasePricing)));
+    }
+
+    /*
+     * Regular test case 115: totals with prices of an older price snapshot.
+     */
+    @Test @Order(115)
+    void test115_OrderTotalsOfSnapshotRegularCases() {
+        var order = new datamodel.Order(1000000115L, customer, PricingCategory.BasePricing.pricing(), LocalDateTime.now())
+            .addItem(tasse, 2);
+        var before = Pricing.snapshot();
+        PricingCategory.BasePricing.pricing().put(tasse, 399, TAXRate.Regular, PricingCategory.BasePricing);
+        assertEquals(598L, calculator.calculateOrderTotals(order, before.table(PricingCategory.BasePricing)).value());
+        assertEquals(798L, calculator.calculateOrderTotals(order).value());
+    }
+
+    /*
+     * Regular test case 120: batch totals match totals of single orders.
+     */
+    @Test @Order(120)
+    void test120_BatchTotalsRegularCases() {
+        var orders = new ArrayList<datamodel.Order>();
+        for(int i=0; i < 1000; i++) {
+            var category = PricingCategory.values()[i % PricingCategory.values().length];
+            long units = 1 + i % 7;
+            var article = i % 2 == 0? buch : tasse;
+            Components.getInstance().getDataFactory()
+                .createOrderBuilder(category, spec -> Optional.of(customer), spec -> Optional.of(article))
+                .buildOrder("Meyer", bst -> bst.item(units, "").item(1, ""))
+                .ifPresent(orders::add);
+        }
+        var batch = calculator.calculateBatchTotals(orders);
+        assertEquals(batch.value(Currency.Euro) + batch.value(Currency.SwissFranc) + batch.value(Currency.PoundSterling),
+            orders.stream().mapToLong(calculator::calculateOrderValue).sum());
+        for(var category : PricingCategory.values()) {
+            var sequential = calculator.calculateBatchTotals(orders.stream().filter(o -> o.getPricing().category()==category));
+            assertEquals(250L, batch.orders(category));
+            assertEquals(sequential.value(category), batch.value(category));
+            assertEquals(orders.stream().filter(o -> o.getPricing().category()==category)
+                .mapToLong(calculator::calculateOrderVAT).sum(), batch.vat(category));
+        }
+        assertEquals(batch.vat(PricingCategory.BasePricing) + batch.vat(PricingCategory.BlackFridayPricing), batch.vat(Currency.Euro));
+    }
+}
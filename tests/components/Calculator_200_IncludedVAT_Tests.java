@@ -0,0 +1,158 @@
+package components;
+
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+
+/**
+ * Tests for {@link Calculator}: [200..299] integer included VAT calculation
+ * compared to the former {@code double} implementation.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class Calculator_200_IncludedVAT_Tests {
+
+    /*
+     * Reference to Calculator.
+     */
+    private final Calculator calculator = Components.getInstance().getCalculator();
+
+    /*
+     * Tax rates of all pricing categories in percent and basis points.
+     */
+    private final double[] percents = { 19.0, 7.0, 0.0, 8.1, 2.6, 3.8, 20.0, 5.0 };
+    private final int[] basisPoints = { 1900, 700, 0, 810, 260, 380, 2000, 500 };
+
+    /*
+     * Former {@code double} implementation used as reference.
+     */
+    private long doubleIncludedVAT(long grossValue, double taxRate) {
+        if (grossValue <= 0L) {
+            return 0L;
+        }
+        double divisor = 1 + (taxRate / 100.0);
+        return Math.round(grossValue - (grossValue / divisor));
+    }
+
+    /*
+     * Regular test case 200: results match double implementation.
+     */
+    @Test @Order(200)
+    void test200_IncludedVATRegularCases() {
+        for(int k=0; k < percents.length; k++) {
+            for(long gross=0L; gross < 200_000L; gross++) {
+                assertEquals(doubleIncludedVAT(gross, percents[k]), calculator.calculateIncludedVATBasisPoints(gross, basisPoints[k]));
+                assertEquals(doubleIncludedVAT(gross, percents[k]), calculator.calculateIncludedVAT(gross, percents[k]));
+            }
+        }
+        assertEquals(1597L, calculator.calculateIncludedVAT(10000L, 19.0));
+        assertEquals(654L, calculator.calculateIncludedVAT(10000L, 7.0));
+    }
+
+    /*
+     * Corner test case 210: narrow and wide integer path agree, huge values.
+     */
+    @Test @Order(210)
+    void test210_IncludedVATCornerCases() {
+        assertEquals(0L, calculator.calculateIncludedVAT(-100L, 19.0));
+        assertEquals(0L, calculator.calculateIncludedVAT(100L, 0.0));
+        // exact value of Long.MAX_VALUE * 1900 / 11900
+        assertEquals(1472639232775132272L, calculator.calculateIncludedVAT(Long.MAX_VALUE, 19.0));
+        long boundary = (Long.MAX_VALUE - 20000L) / 10000L;
+        for(long gross = boundary - 1000L; gross < boundary + 1000L; gross++) {
+            long exact = BigInteger.valueOf(gross).multiply(BigInteger.valueOf(2 * 1900))
+                .add(BigInteger.valueOf(11900))
+                .divide(BigInteger.valueOf(2 * 11900)).longValueExact();
+            assertEquals(exact, calculator.calculateIncludedVATBasisPoints(gross, 1900));
+        }
+    }
+
+    /*
+     * Exception test case 220: negative tax rate.
+     */
+    @Test @Order(220)
+    void test220_IncludedVATExceptionCases() {
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculateIncludedVAT(100L, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculateIncludedVATBasisPoints(100L, -100));
+    }
+
+    /*
+     * Regular test case 230: column calculation matches single values.
+     */
+    @Test @Order(230)
+    void test230_IncludedVATColumnRegularCases() {
+        for(var category : PricingCategory.values()) {
+            var pricing = category.pricing();
+            long[] gross = new long[100_000];
+            byte[] ordinals = new byte[gross.length];
+            for(int i=0; i < gross.length; i++) {
+                gross[i] = i % 1000 == 0? Long.MAX_VALUE - i : i - 10;
+                ordinals[i] = (byte) (i % TAXRate.values().length);
+            }
+            long[] vats = calculator.calculateIncludedVAT(gross, ordinals, pricing);
+            for(int i=0; i < gross.length; i++) {
+                int bp = pricing.taxRateBasisPoints(TAXRate.values()[ordinals[i]]);
+                assertEquals(calculator.calculateIncludedVATBasisPoints(gross[i], bp), vats[i]);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculateIncludedVAT(new long[2], new byte[1], PricingCategory.BasePricing.pricing()));
+    }
+
+    /*
+     * Corner test case 240: columns mixing values calculated in vector lanes
+     * and by the scalar loop match single values, random values with fixed seed.
+     */
+    @Test @Order(240)
+    void test240_IncludedVATColumnCornerCases() {
+        var random = new Random(240);
+        long limit = 1L << 38;
+        for(var category : PricingCategory.values()) {
+            var pricing = category.pricing();
+            for(int length : new int[] { 0, 1, 7, 8, 9, 63, 1001 }) {
+                long[] gross = new long[length];
+                byte[] ordinals = new byte[length];
+                for(int i=0; i < length; i++) {
+                    gross[i] = switch (random.nextInt(5)) {
+                        case 0 -> random.nextLong();
+                        case 1 -> limit - 4 + random.nextInt(8);
+                        case 2 -> random.nextInt(20000) - 100;
+                        case 3 -> Long.MAX_VALUE - random.nextInt(1000);
+                        default -> random.nextLong() >>> random.nextInt(64);
+                    };
+                    ordinals[i] = (byte) random.nextInt(TAXRate.values().length);
+                }
+                long[] vats = calculator.calculateIncludedVAT(gross, ordinals, pricing);
+                for(int i=0; i < length; i++) {
+                    int bp = pricing.taxRateBasisPoints(TAXRate.values()[ordinals[i]]);
+                    assertEquals(calculator.calculateIncludedVATBasisPoints(gross[i], bp), vats[i]);
+                }
+            }
+        }
+    }
+
+    /*
+     * Exception test case 250: ordinals that are not ordinals of tax rates,
+     * in chunks of 8 values and in the remainder of columns.
+     */
+    @Test @Order(250)
+    void test250_IncludedVATColumnExceptionCases() {
+        var pricing = PricingCategory.BasePricing.pricing();
+        for(int position : new int[] { 0, 5, 8, 17 }) {
+            for(byte ordinal : new byte[] { -1, (byte) TAXRate.values().length, Byte.MAX_VALUE }) {
+                byte[] ordinals = new byte[18];
+                ordinals[position] = ordinal;
+                assertThrows(IllegalArgumentException.class, () -> calculator.calculateIncludedVAT(new long[18], ordinals, pricing));
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package components;
+
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.Pricing;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * Tests for {@link Calculator}: [300..399] order totals with prices and
+ * tax rates effective at order creation.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class Calculator_300_AsOf_Tests {
+
+    private final Calculator calculator = Components.getInstance().getCalculator();
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private Customer customer;
+    private Article tasse;
+
+    /**
+     * Method is executed before each @Test method: article Tasse costs 1000
+     * from 10 days ago and 2000 from 5 days ago.
+     */
+    @BeforeEach
+    public void setUpBeforeEach() {
+        var dataFactory = Components.getInstance().getDataFactory();
+        customer = dataFactory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+        tasse = new Article("SKU-300001", "Tasse");
+        Pricing.update(batch -> batch.effectiveFrom(now.minusDays(10))
+            .put(tasse, 1000, TAXRate.Regular, PricingCategory.BasePricing));
+        Pricing.update(batch -> batch.effectiveFrom(now.minusDays(5))
+            .put(tasse, 2000, TAXRate.Regular, PricingCategory.BasePricing));
+    }
+
+    private datamodel.Order createOrder(PricingCategory category, LocalDateTime created) {
+        return new datamodel.Order(1000000300L, customer, category.pricing(), created).addItem(tasse, 2);
+    }
+
+    /*
+     * Regular test case 300: old orders are priced with prices of their creation time.
+     */
+    @Test @Order(300)
+    void test300_AsOfPricesRegularCases() {
+        var old = createOrder(PricingCategory.BasePricing, now.minusDays(7));
+        assertEquals(2000L, calculator.calculateOrderTotalsAsOf(old).value());
+        assertEquals(4000L, calculator.calculateOrderTotals(old).value());
+        var recent = createOrder(PricingCategory.BasePricing, now.minusDays(1));
+        assertEquals(4000L, calculator.calculateOrderTotalsAsOf(recent).value());
+        // before the first price version the first price applies
+        assertEquals(2000L, calculator.calculateOrderTotalsAsOf(old, now.minusYears(1)).value());
+        assertEquals(2, PricingCategory.BasePricing.pricing().priceVersions(tasse));
+        // back-dated prices change history, not current prices
+        Pricing.update(batch -> batch.effectiveFrom(now.minusDays(8))
+            .put(tasse, 1500, TAXRate.Regular, PricingCategory.BasePricing));
+        assertEquals(3000L, calculator.calculateOrderTotalsAsOf(old).value());
+        assertEquals(2000L, PricingCategory.BasePricing.pricing().unitPrice(tasse));
+    }
+
+    /*
+     * Regular test case 310: derived prices from base price history, overrides
+     * apply from their effective time until the next base price.
+     */
+    @Test @Order(310)
+    void test310_AsOfDerivedPricesRegularCases() {
+        var uk = PricingCategory.UKPricing.pricing();
+        assertEquals(1155L, uk.unitPriceAsOf(tasse, now.minusDays(7)));
+        assertEquals(2305L, uk.unitPriceAsOf(tasse, now.minusDays(1)));
+        Pricing.update(batch -> batch.effectiveFrom(now.minusDays(6))
+            .put(tasse, 777, TAXRate.Reduced, PricingCategory.UKPricing));
+        assertEquals(777L, uk.unitPriceAsOf(tasse, now.minusDays(6)));
+        assertEquals(TAXRate.Reduced, uk.taxRateAsOf(tasse, now.minusDays(6)));
+        assertEquals(2305L, uk.unitPriceAsOf(tasse, now.minusDays(1)));
+        assertEquals(TAXRate.Regular, uk.taxRateAsOf(tasse, now.minusDays(1)));
+    }
+
+    /*
+     * Regular test case 315: after repricing a category, totals as of now
+     * equal current totals, for overrides and for derived prices.
+     */
+    @Test @Order(315)
+    void test315_AsOfAfterRepricingRegularCases() {
+        var uk = PricingCategory.UKPricing.pricing();
+        var kanne = new Article("SKU-300002", "Kanne");
+        Pricing.update(batch -> batch.put(kanne, 1000, TAXRate.Regular, PricingCategory.BasePricing)
+            .put(tasse, 1799, TAXRate.Regular, PricingCategory.UKPricing));
+        var order = createOrder(PricingCategory.UKPricing, now).addItem(kanne, 1);
+        var repricing = Components.getInstance().getRepricing();
+        try {
+            repricing.changePriceFactor(PricingCategory.UKPricing, 2.0, p -> { }).join();
+            var time = LocalDateTime.now();
+            assertEquals(1799L, uk.unitPrice(tasse));
+            assertEquals(1799L, uk.unitPriceAsOf(tasse, time));
+            assertEquals(2005L, uk.unitPrice(kanne));
+            assertEquals(2005L, uk.unitPriceAsOf(kanne, time));
+            var totals = calculator.calculateOrderTotals(order);
+            var totalsAsOf = calculator.calculateOrderTotalsAsOf(order, time);
+            assertEquals(2 * 1799L + 2005L, totals.value());
+            assertEquals(totals.value(), totalsAsOf.value());
+            assertEquals(totals.vat(), totalsAsOf.vat());
+        } finally {
+            repricing.changePriceFactor(PricingCategory.UKPricing, 1.15, p -> { }).join();
+        }
+    }
+
+    /*
+     * Regular test case 320: VAT with tax rates effective at order creation.
+     */
+    @Test @Order(320)
+    void test320_AsOfTaxRatesRegularCases() {
+        var pricing = PricingCategory.BasePricing.pricing();
+        var order = createOrder(PricingCategory.BasePricing, now.minusDays(1));
+        var before = Pricing.snapshot();
+        var taxRates = pricing.taxRateHistory();
+        try {
+            pricing.changeTaxRates(now.minusDays(3), 1600, 500, 0, 0);
+            assertEquals(1600, pricing.taxRateBasisPoints(TAXRate.Regular));
+            // tax rates are published with a new version, older versions keep their tax rates
+            assertEquals(before.version() + 1, Pricing.snapshot().version());
+            assertEquals(1900, before.table(PricingCategory.BasePricing).taxRateBasisPoints(TAXRate.Regular));
+            assertEquals(1900, before.table(PricingCategory.BasePricing).taxRateBasisPointsAt(tasse.getSlot()));
+            assertEquals(calculator.calculateIncludedVATBasisPoints(4000L, 1600),
+                calculator.calculateOrderTotals(order).vat());
+            assertEquals(calculator.calculateIncludedVATBasisPoints(4000L, 1600),
+                calculator.calculateOrderTotalsAsOf(order).vat());
+            assertEquals(calculator.calculateIncludedVATBasisPoints(4000L, 1900),
+                calculator.calculateOrderTotalsAsOf(order, now.minusDays(4)).vat());
+        } finally {
+            // restore tax rate history, other tests must not see the changed tax rates
+            pricing.restoreTaxRateHistory(taxRates);
+        }
+        assertEquals(1900, pricing.taxRateBasisPoints(TAXRate.Regular));
+        assertEquals(taxRates.size(), pricing.taxRateHistory().size());
+        assertEquals(1900, pricing.taxRateBasisPointsAsOf(tasse.getSlot(), Pricing.epochMillis(now.minusDays(2))));
+    }
+
+    /*
+     * Exception test case 330: invalid arguments.
+     */
+    @Test @Order(330)
+    void test330_AsOfExceptionCases() {
+        var pricing = PricingCategory.BasePricing.pricing();
+        var order = createOrder(PricingCategory.BasePricing, now);
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculateOrderTotalsAsOf(null));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculateOrderTotalsAsOf(order, null));
+        assertThrows(IllegalArgumentException.class, () -> pricing.changeTaxRates(now.plusDays(1), 1900, 700, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> pricing.changeTaxRates(now, 1900, 700));
+        assertThrows(IllegalArgumentException.class, () -> pricing.changeTaxRates(null, 1900, 700, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Pricing.update(batch -> batch.effectiveFrom(now.plusDays(1))));
+    }
+}
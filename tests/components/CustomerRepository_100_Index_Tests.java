@@ -0,0 +1,84 @@
+package components;
+
+import datamodel.Customer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+
+/**
+ * Tests for {@link CustomerRepository}: [100..199] id, name and prefix indexes.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CustomerRepository_100_Index_Tests {
+
+    /*
+     * Reference to CustomerRepository.
+     */
+    private final CustomerRepository repository = Components.getInstance().getCustomerRepository();
+
+    /*
+     * Test objects.
+     */
+    private Customer zarah, xaver;
+
+    @BeforeEach
+    public void setUpBeforeEach() {
+        var dataFactory = Components.getInstance().getDataFactory();
+        zarah = dataFactory.createCustomer("Zarah Quenzelbach", "zarah@gmail.com").get();
+        xaver = dataFactory.createCustomer("Quenzel, Xaver", "xaver@gmail.com").get();
+        repository.add(zarah).add(xaver);
+    }
+
+    /*
+     * Regular test case 100: find by id and (case-insensitive) name.
+     */
+    @Test @Order(100)
+    void test100_FindRegularCases() {
+        assertSame(zarah, repository.findById(zarah.getId()).get());
+        assertTrue(repository.findByName("QUENZELBACH").contains(zarah));
+        assertTrue(repository.findByName("xaver").contains(xaver));
+        assertTrue(repository.findByName("Quenzel").contains(xaver));
+        assertTrue( ! repository.findByName("Quenzel").contains(zarah));
+        var prefixed = repository.findByNamePrefix("quenz");
+        assertTrue(prefixed.contains(zarah) && prefixed.contains(xaver));
+        assertEquals(Optional.empty(), repository.findById(-1L));
+        assertEquals(0, repository.findByNamePrefix("").size());
+    }
+
+    /*
+     * Regular test case 110: customer fetcher matches id, last or first name.
+     */
+    @Test @Order(110)
+    void test110_CustomerFetcherRegularCases() {
+        var fetcher = repository.customerFetcher();
+        assertSame(zarah, fetcher.apply(Long.toString(zarah.getId())).get());
+        assertSame(xaver, fetcher.apply(" " + xaver.getId() + " ").get());
+        assertTrue(fetcher.apply("quenzelbach").isPresent());
+        assertTrue(fetcher.apply("Zarah").isPresent());
+        assertEquals(Optional.empty(), fetcher.apply("Unbekannt"));
+        assertEquals(Optional.empty(), fetcher.apply(null));
+    }
+
+    /*
+     * Regular test case 120: re-adding a customer does not duplicate entries.
+     */
+    @Test @Order(120)
+    void test120_AddRegularCases() {
+        int count = repository.count();
+        repository.add(zarah);
+        assertEquals(count, repository.count());
+        assertEquals(1L, repository.findByName("Zarah").stream().filter(c -> c==zarah).count());
+        assertThrows(IllegalArgumentException.class, () -> repository.add(null));
+    }
+}
@@ -0,0 +1,108 @@
+package components;
+
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.Pricing.PricingCategory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+
+/**
+ * Tests for {@link DataFactory}: [100..199] time-ordered order ids.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class DataFactory_100_OrderIdMode_Tests {
+
+    /*
+     * Reference to DataFactory.
+     */
+    private final DataFactory dataFactory = Components.getInstance().getDataFactory();
+
+    /*
+     * Test objects.
+     */
+    private Customer customer;
+    private Article article;
+
+    @BeforeEach
+    public void setUpBeforeEach() {
+        customer = dataFactory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+        article = dataFactory.createArticle("Tasse", 299, PricingCategory.BasePricing).get();
+    }
+
+    @AfterEach
+    public void tearDownAfterEach() {
+        dataFactory.orderIdMode(DataFactory.OrderIdMode.Random, 0);
+    }
+
+    private long createOrderId() {
+        return dataFactory.createOrderBuilder(PricingCategory.BasePricing,
+                spec -> Optional.of(customer), spec -> Optional.of(article))
+            .buildOrder("Meyer", bst -> bst.item(1, "Tasse"))
+            .get().getId();
+    }
+
+    /*
+     * Regular test case 100: time-ordered ids increase and fall into id range of interval.
+     */
+    @Test @Order(100)
+    void test100_TimeOrderedIdsRegularCases() {
+        var from = LocalDateTime.now().minusSeconds(1);
+        dataFactory.orderIdMode(DataFactory.OrderIdMode.TimeOrdered, 7);
+        long[] ids = IntStream.range(0, 10_000).mapToLong(i -> createOrderId()).toArray();
+        var range = dataFactory.orderIdRange(from, LocalDateTime.now().plusSeconds(1));
+        for(int i=0; i < ids.length; i++) {
+            assertTrue(i==0 || ids[i] > ids[i - 1]);
+            assertTrue(ids[i] >= range[0] && ids[i] <= range[1]);
+            assertEquals(7L, (ids[i] >>> 12) & 1023L);
+        }
+        var past = dataFactory.orderIdRange(from.minusHours(2), from.minusHours(1));
+        assertTrue(past[1] < ids[0]);
+    }
+
+    /*
+     * Regular test case 105: selecting the mode again continues ids of the worker.
+     */
+    @Test @Order(105)
+    void test105_TimeOrderedModeReselectedRegularCases() {
+        dataFactory.orderIdMode(DataFactory.OrderIdMode.TimeOrdered, 8);
+        long first = createOrderId();
+        dataFactory.orderIdMode(DataFactory.OrderIdMode.Random, 0);
+        dataFactory.orderIdMode(DataFactory.OrderIdMode.TimeOrdered, 8);
+        assertTrue(createOrderId() > first);
+    }
+
+    /*
+     * Regular test case 110: random mode creates 10-digit ids.
+     */
+    @Test @Order(110)
+    void test110_RandomIdsRegularCases() {
+        dataFactory.orderIdMode(DataFactory.OrderIdMode.Random, 0);
+        long id = createOrderId();
+        assertTrue(id >= 1000000000L && id <= 9999999999L);
+    }
+
+    /*
+     * Exception test case 120: invalid arguments.
+     */
+    @Test @Order(120)
+    void test120_OrderIdModeExceptionCases() {
+        assertThrows(IllegalArgumentException.class, () -> dataFactory.orderIdMode(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> dataFactory.orderIdMode(DataFactory.OrderIdMode.TimeOrdered, 1024));
+        assertThrows(IllegalArgumentException.class, () -> dataFactory.orderIdRange(null, LocalDateTime.now()));
+        assertThrows(IllegalArgumentException.class, () -> dataFactory.orderIdRange(LocalDateTime.of(2019, 12, 1, 0, 0), LocalDateTime.now()));
+    }
+}
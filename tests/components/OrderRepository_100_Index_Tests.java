@@ -0,0 +1,120 @@
+package components;
+
+import datamodel.Customer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static datamodel.Pricing.PricingCategory.BasePricing;
+
+
+/**
+ * Tests for {@link OrderRepository}: [100..199] id, customer and created indexes.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class OrderRepository_100_Index_Tests {
+
+    /*
+     * Reference to OrderRepository.
+     */
+    private final OrderRepository repository = Components.getInstance().getOrderRepository();
+
+    /*
+     * Test objects.
+     */
+    private Customer customer;
+
+    @BeforeEach
+    public void setUpBeforeEach() {
+        customer = Components.getInstance().getDataFactory().createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+    }
+
+    private datamodel.Order createOrder(long id, LocalDateTime created) {
+        return new datamodel.Order(id, customer, BasePricing.pricing(), created);
+    }
+
+    /*
+     * Regular test case 100: find by id, customer id and created interval.
+     */
+    @Test @Order(100)
+    void test100_FindRegularCases() {
+        var day = LocalDateTime.of(2001, 3, 12, 0, 0);
+        var o1 = createOrder(100_000_001L, day.plusHours(10));
+        var o2 = createOrder(100_000_002L, day.plusHours(8));
+        var o3 = createOrder(100_000_003L, day.plusHours(30));
+        repository.addAll(List.of(o1, o2, o3));
+        assertSame(o1, repository.findById(o1.getId()).get());
+        assertEquals(Optional.empty(), repository.findById(-1L));
+        assertEquals(List.of(o2, o1, o3), repository.findByCustomerId(customer.getId()));
+        assertEquals(List.of(o2, o1), repository.findByCreated(day, day.plusDays(1)));
+        assertEquals(List.of(o1), repository.findByCreated(day.plusHours(9), day.plusHours(30)));
+        assertEquals(List.of(), repository.findByCreated(day.plusDays(1), day));
+        // replacing an order with same id updates secondary indexes
+        var o4 = createOrder(o1.getId(), day.plusHours(40));
+        repository.add(o4);
+        assertEquals(List.of(o2, o3, o4), repository.findByCustomerId(customer.getId()));
+        assertEquals(List.of(o2), repository.findByCreated(day, day.plusDays(1)));
+    }
+
+    /*
+     * Regular test case 110: concurrent inserts and reads.
+     */
+    @Test @Order(110)
+    void test110_ConcurrentInsertsRegularCases() {
+        var day = LocalDateTime.of(2002, 7, 1, 0, 0);
+        int count = repository.count();
+        int n = 20_000;
+        IntStream.range(0, n).parallel().forEach(i -> {
+            repository.add(createOrder(200_000_000L + i, day.plusSeconds(i)));
+            if (i % 100 == 0) {
+                repository.findByCreated(day, day.plusDays(1));
+            }
+        });
+        assertEquals(count + n, repository.count());
+        var orders = repository.findByCreated(day, day.plusSeconds(n));
+        assertEquals(n, orders.size());
+        for (int i=1; i < orders.size(); i++) {
+            assertTrue(orders.get(i - 1).getCreated().isBefore(orders.get(i).getCreated()));
+        }
+        assertEquals(n, repository.findByCustomerId(customer.getId()).size());
+    }
+
+    /*
+     * Regular test case 115: concurrent replacements of the same order ids
+     * leave one order per id in secondary indexes.
+     */
+    @Test @Order(115)
+    void test115_ConcurrentReplaceRegularCases() {
+        var day = LocalDateTime.of(2003, 5, 1, 0, 0);
+        int count = repository.count();
+        IntStream.range(0, 20_000).parallel().forEach(i ->
+            repository.add(createOrder(300_000_000L + i % 10, day.plusSeconds(i % 7))));
+        assertEquals(count + 10, repository.count());
+        var orders = repository.findByCreated(day, day.plusDays(1));
+        assertEquals(10, orders.size());
+        orders.forEach(o -> assertSame(o, repository.findById(o.getId()).get()));
+    }
+
+    /*
+     * Exception test case 120: invalid arguments.
+     */
+    @Test @Order(120)
+    void test120_ExceptionCases() {
+        assertThrows(IllegalArgumentException.class, () -> repository.add(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.add(createOrder(1L, null)));
+        assertThrows(IllegalArgumentException.class, () -> repository.findByCreated(null, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,142 @@
+package components;
+
+import datamodel.Pricing;
+import datamodel.Pricing.PricingCategory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Tests for {@link Repricing}: [100..199] price factor changes.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class Repricing_100_Tests {
+
+    private final Repricing repricing = Components.getInstance().getRepricing();
+
+    private final DataFactory dataFactory = Components.getInstance().getDataFactory();
+
+    @AfterEach
+    public void tearDownAfterEach() {
+        repricing.changePriceFactor(PricingCategory.UKPricing, 1.15, p -> { }).join();
+        Pricing.derivedPrices(Pricing.DerivedPrices.Stored);
+    }
+
+    /*
+     * Regular test case 100: stored derived prices are recomputed with the
+     * new factor, overrides without base price are kept.
+     */
+    @Test @Order(100)
+    void test100_StoredRepricingRegularCases() {
+        var article = dataFactory.createArticle("Tasse", 1000, PricingCategory.BasePricing).get();
+        var ukOnly = dataFactory.createArticle("Teller", 777, PricingCategory.UKPricing).get();
+        assertEquals(1155L, PricingCategory.UKPricing.pricing().unitPrice(article));
+        long version = Pricing.snapshot().version();
+        var pages = new AtomicInteger();
+        var result = repricing.changePriceFactor(PricingCategory.UKPricing, 2.0,
+            p -> pages.accumulateAndGet(p.pagesDone(), Math::max)).join();
+        assertEquals(version + 1, result.version());
+        assertEquals(2.0, PricingCategory.UKPricing.pricing().priceFactor());
+        assertEquals(2005L, PricingCategory.UKPricing.pricing().unitPrice(article));
+        assertEquals(777L, PricingCategory.UKPricing.pricing().unitPrice(ukOnly));
+        assertEquals(1000L, PricingCategory.BasePricing.pricing().unitPrice(article));
+        assertTrue(pages.get() > 0);
+        // later base prices are derived with the new factor
+        PricingCategory.BasePricing.pricing().put(article, 2000, Pricing.TAXRate.Regular, PricingCategory.BasePricing);
+        assertEquals(4005L, PricingCategory.UKPricing.pricing().unitPrice(article));
+    }
+
+    /*
+     * Regular test case 105: in stored mode, prices stored for the category
+     * after the base price are overrides and kept, a later base price
+     * replaces them.
+     */
+    @Test @Order(105)
+    void test105_StoredOverridesRegularCases() {
+        var article = dataFactory.createArticle("Kanne", 1000, PricingCategory.BasePricing).get();
+        var uk = PricingCategory.UKPricing.pricing();
+        uk.put(article, 999, Pricing.TAXRate.Regular, PricingCategory.UKPricing);
+        repricing.changePriceFactor(PricingCategory.UKPricing, 2.0, p -> { }).join();
+        assertEquals(999L, uk.unitPrice(article));
+        repricing.changePriceFactor(PricingCategory.UKPricing, 3.0, p -> { }).join();
+        assertEquals(3.0, uk.priceFactor());
+        assertEquals(999L, uk.unitPrice(article));
+        PricingCategory.BasePricing.pricing().put(article, 2000, Pricing.TAXRate.Regular, PricingCategory.BasePricing);
+        assertEquals(6005L, uk.unitPrice(article));
+    }
+
+    /*
+     * Regular test case 110: lazy derived prices follow the factor of the version.
+     */
+    @Test @Order(110)
+    void test110_LazyRepricingRegularCases() {
+        Pricing.derivedPrices(Pricing.DerivedPrices.Lazy);
+        var article = dataFactory.createArticle("Becher", 1000, PricingCategory.BasePricing).get();
+        var before = Pricing.snapshot();
+        assertEquals(1155L, before.table(PricingCategory.UKPricing).unitPrice(article));
+        repricing.changePriceFactor(PricingCategory.UKPricing, 2.0, p -> { }).join();
+        assertEquals(2005L, PricingCategory.UKPricing.pricing().unitPrice(article));
+        assertEquals(1155L, before.table(PricingCategory.UKPricing).unitPrice(article));
+    }
+
+    /*
+     * Regular test case 120: factors from properties, unchanged factors start no job.
+     */
+    @Test @Order(120)
+    void test120_ConfigureRegularCases() {
+        var properties = new Properties();
+        properties.setProperty("pricing.factor.UKPricing", " 1.5 ");
+        properties.setProperty("pricing.factor.SwissPricing", "1.8");
+        var jobs = repricing.configure(properties);
+        assertEquals(1, jobs.size());
+        assertEquals(PricingCategory.UKPricing, jobs.get(0).join().category());
+        assertEquals(1.5, PricingCategory.UKPricing.pricing().priceFactor());
+    }
+
+    /*
+     * Exception test case 130: invalid arguments.
+     */
+    @Test @Order(130)
+    void test130_RepricingExceptionCases() {
+        assertThrows(IllegalArgumentException.class, () -> repricing.changePriceFactor(null, 1.0, p -> { }));
+        assertThrows(IllegalArgumentException.class, () -> repricing.changePriceFactor(PricingCategory.BasePricing, 1.0, p -> { }));
+        assertThrows(IllegalArgumentException.class, () -> repricing.changePriceFactor(PricingCategory.UKPricing, 0.0, p -> { }));
+        assertThrows(IllegalArgumentException.class, () -> repricing.changePriceFactor(PricingCategory.UKPricing, Double.NaN, p -> { }));
+        assertThrows(IllegalArgumentException.class, () -> repricing.configure(null));
+    }
+
+    /*
+     * Exception test case 140: invalid factors from properties fail their own
+     * job, other categories are repriced.
+     */
+    @Test @Order(140)
+    void test140_ConfigureExceptionCases() {
+        var properties = new Properties();
+        properties.setProperty("pricing.factor.UKPricing", "1,5");
+        properties.setProperty("pricing.factor.SwissPricing", "-1.0");
+        properties.setProperty("pricing.factor.BlackFridayPricing", "0.7");
+        var jobs = repricing.configure(properties);
+        assertEquals(3, jobs.size());
+        var failed = jobs.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+        assertEquals(2L, failed);
+        var result = jobs.get(2).join();
+        assertEquals(PricingCategory.BlackFridayPricing, result.category());
+        assertEquals(0.7, PricingCategory.BlackFridayPricing.pricing().priceFactor());
+        var ex = assertThrows(CompletionException.class, () -> jobs.get(0).join());
+        assertTrue(ex.getCause() instanceof IllegalArgumentException);
+        repricing.changePriceFactor(PricingCategory.BlackFridayPricing, 0.8, p -> { }).join();
+    }
+}
@@ -0,0 +1,141 @@
+package components;
+
+import datamodel.Pricing;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+
+/**
+ * Tests for {@link SnapshotStore}: [100..199] write and restore snapshots.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SnapshotStore_100_Restore_Tests {
+
+    @TempDir
+    Path directory;
+
+    private final Components components = Components.getInstance();
+
+    /*
+     * Regular test case 100: restored objects equal written objects.
+     */
+    @Test @Order(100)
+    void test100_WriteRestoreRegularCases() throws Exception {
+        var dataFactory = components.getDataFactory();
+        var customer = dataFactory.createCustomer("Nadine Ulla Blumenfeld", "nadine@gmail.com").get();
+        var article = dataFactory.createArticle("Teekanne", 2999, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        PricingCategory.SwissPricing.pricing().put(article, 4500, TAXRate.Special, PricingCategory.SwissPricing);
+        var order = new datamodel.Order(3000000001L, customer, PricingCategory.SwissPricing.pricing(),
+            LocalDateTime.of(2023, 11, 24, 9, 15)).addItem(article, 3);
+        components.getCustomerRepository().add(customer);
+        components.getArticleCatalog().add(article);
+        components.getOrderRepository().add(order);
+        //
+        var file = directory.resolve("state.snapshot");
+        var written = components.getSnapshotStore().write(file).get();
+        assertTrue(Files.size(file) > 0);
+        assertTrue(written.orders() >= 1 && written.prices() >= 4);
+        //
+        var restored = components.getSnapshotStore().restore(file);
+        assertEquals(written, restored);
+        var customer2 = components.getCustomerRepository().findById(customer.getId()).get();
+        assertNotSame(customer, customer2);
+        assertEquals("Nadine Ulla", customer2.getFirstName());
+        assertEquals("nadine@gmail.com", customer2.getContacts().iterator().next());
+        var article2 = components.getArticleCatalog().findById(article.getId()).get();
+        // articles of known ids are reused with their slots
+        assertSame(article, article2);
+        for (var category : PricingCategory.values()) {
+            var pricing = category.pricing();
+            assertEquals(pricing.unitPrice(article), pricing.unitPrice(article2), category.name());
+            assertEquals(pricing.taxRate(article), pricing.taxRate(article2), category.name());
+        }
+        var order2 = components.getOrderRepository().findById(order.getId()).get();
+        assertNotSame(order, order2);
+        assertEquals(customer2, order2.getCustomer());
+        assertEquals(article2, order2.itemArticle(0));
+        assertEquals(3L, order2.itemUnitsOrdered(0));
+        assertEquals(order.getCreated(), order2.getCreated());
+        assertEquals(components.getCalculator().calculateOrderValue(order),
+            components.getCalculator().calculateOrderValue(order2));
+    }
+
+    /*
+     * Regular test case 105: price, tax rate and price factor histories are
+     * restored with their effective times.
+     */
+    @Test @Order(105)
+    void test105_RestoreHistoriesRegularCases() throws Exception {
+        var now = LocalDateTime.now();
+        var pricing = PricingCategory.BasePricing.pricing();
+        var article = components.getDataFactory().createArticle("Milchkanne", 2999, PricingCategory.BasePricing).get();
+        Pricing.update(batch -> batch.effectiveFrom(now.minusDays(10))
+            .put(article, 1000, TAXRate.Reduced, PricingCategory.BasePricing));
+        components.getArticleCatalog().add(article);
+        var prices = pricing.priceHistory(article);
+        var taxRates = pricing.taxRateHistory();
+        var factors = PricingCategory.UKPricing.pricing().factorHistory();
+        assertEquals(2, prices.size());
+        //
+        var file = directory.resolve("history.snapshot");
+        components.getSnapshotStore().write(file).get();
+        pricing.put(article, 3999, TAXRate.Regular, PricingCategory.BasePricing);
+        assertEquals(3, pricing.priceVersions(article));
+        components.getSnapshotStore().restore(file);
+        assertEquals(prices, pricing.priceHistory(article));
+        assertEquals(2999L, pricing.unitPrice(article));
+        assertEquals(1000L, pricing.unitPriceAsOf(article, now.minusDays(5)));
+        assertEquals(TAXRate.Reduced, pricing.taxRateAsOf(article, now.minusDays(5)));
+        var restoredTaxRates = pricing.taxRateHistory();
+        assertEquals(taxRates.size(), restoredTaxRates.size());
+        for (int i = 0; i < taxRates.size(); i++) {
+            assertEquals(taxRates.get(i).from(), restoredTaxRates.get(i).from());
+            assertArrayEquals(taxRates.get(i).basisPoints(), restoredTaxRates.get(i).basisPoints());
+        }
+        assertEquals(factors, PricingCategory.UKPricing.pricing().factorHistory());
+    }
+
+    /*
+     * Regular test case 110: snapshot is written while orders are added.
+     */
+    @Test @Order(110)
+    void test110_WriteDuringIntakeRegularCases() throws Exception {
+        var customer = components.getDataFactory().createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+        components.getCustomerRepository().add(customer);
+        var file = directory.resolve("intake.snapshot");
+        var future = components.getSnapshotStore().write(file);
+        IntStream.range(0, 1000).parallel().forEach(i -> components.getOrderRepository()
+            .add(new datamodel.Order(4000000000L + i, customer, PricingCategory.BasePricing.pricing(), LocalDateTime.now())));
+        var written = future.get();
+        assertTrue(written.customers() > 0);
+        assertEquals(written, components.getSnapshotStore().restore(file));
+    }
+
+    /*
+     * Exception test case 120: not a snapshot file.
+     */
+    @Test @Order(120)
+    void test120_RestoreExceptionCases() throws Exception {
+        var file = Files.writeString(directory.resolve("other.txt"), "no snapshot, plain text");
+        assertThrows(IllegalArgumentException.class, () -> components.getSnapshotStore().restore(file));
+        assertThrows(IllegalArgumentException.class, () -> components.getSnapshotStore().write(null));
+    }
+}
@@ -0,0 +1,69 @@
+package components.impl;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+
+/**
+ * Tests for {@link IdAllocator}: [100..199] unique ids from concurrent threads.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class IdAllocator_100_Concurrency_Tests {
+
+    /*
+     * Regular test case 100: initial ids are handed out first and in order.
+     */
+    @Test @Order(100)
+    void test100_InitialIdsRegularCases() {
+        var allocator = new IdAllocator(100000L, 999999L, 892474L, 643270L, 892474L, 42L);
+        assertArrayEquals(new long[] { 892474L, 643270L },
+            LongStream.generate(allocator::next).limit(2).toArray());
+        long id = allocator.next();
+        assertTrue(id >= 100000L && id <= 999999L && id != 892474L && id != 643270L);
+        assertEquals(3L, allocator.reserved());
+    }
+
+    /*
+     * Regular test case 110: ids are unique when drawn from many threads.
+     */
+    @Test @Order(110)
+    void test110_ConcurrentIdsRegularCases() {
+        for(var allocator : new IdAllocator[] {
+                new IdAllocator(100000L, 999999L),
+                new IdAllocator(1000000000L, 9999999999L) }) {
+            var ids = ConcurrentHashMap.<Long>newKeySet();
+            long count = IntStream.range(0, 200_000).parallel()
+                .mapToLong(i -> allocator.next())
+                .filter(ids::add)
+                .count();
+            assertEquals(200_000L, count);
+            assertEquals(200_000L, allocator.reserved());
+        }
+    }
+
+    /*
+     * Corner test case 120: small range is filled completely, then exhausted.
+     */
+    @Test @Order(120)
+    void test120_ExhaustedCornerCases() {
+        var allocator = new IdAllocator(1000L, 1999L);
+        long distinct = IntStream.range(0, 1000).parallel()
+            .mapToLong(i -> allocator.next())
+            .distinct().count();
+        assertEquals(1000L, distinct);
+        assertEquals(0L, allocator.available());
+        assertThrows(IllegalStateException.class, () -> allocator.next());
+        assertThrows(IllegalArgumentException.class, () -> new IdAllocator(10L, 9L));
+    }
+}
@@ -0,0 +1,59 @@
+package components.impl;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Random;
+
+
+/**
+ * Tests for {@link LongHashMap}: [100..199] map operations compared to {@link HashMap}.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class LongHashMap_100_Tests {
+
+    /*
+     * Regular test case 100: random put, get and remove match HashMap.
+     */
+    @Test @Order(100)
+    void test100_RandomOperationsRegularCases() {
+        var random = new Random(4713L);
+        var map = new LongHashMap<String>();
+        var expected = new HashMap<Long, String>();
+        for(int n=0; n < 200_000; n++) {
+            long key = random.nextInt(5000) * 64L;  // clustered keys provoke collisions
+            switch(random.nextInt(3)) {
+            case 0:
+                assertEquals(expected.put(key, "v" + n), map.put(key, "v" + n));
+                break;
+            case 1:
+                assertEquals(expected.remove(key), map.remove(key));
+                break;
+            default:
+                assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        expected.forEach((k, v) -> assertEquals(v, map.get(k)));
+        int[] count = { 0 };
+        map.forEach(v -> count[0]++);
+        assertEquals(expected.size(), count[0]);
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(null, map.get(0L));
+    }
+
+    /*
+     * Exception test case 110: null values.
+     */
+    @Test @Order(110)
+    void test110_NullValueExceptionCases() {
+        assertThrows(IllegalArgumentException.class, () -> new LongHashMap<String>().put(1L, null));
+    }
+}
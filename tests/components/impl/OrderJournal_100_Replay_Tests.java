@@ -0,0 +1,220 @@
+package components.impl;
+
+import components.Components;
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.Pricing.PricingCategory;
+import datamodel.ProtectedFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+
+/**
+ * Tests for {@link OrderJournalImpl}: [100..199] append, replay and recovery.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class OrderJournal_100_Replay_Tests {
+
+    @TempDir
+    Path directory;
+
+    /*
+     * Creator of replayed orders that reserves their ids.
+     */
+    private final ProtectedFactory.OrderCreator orderCreator =
+        ((DataFactoryImpl) Components.getInstance().getDataFactory()).orderRestorer();
+
+    /*
+     * Test objects.
+     */
+    private Customer customer;
+    private Article tasse, kanne;
+
+    @BeforeEach
+    public void setUpBeforeEach() {
+        var dataFactory = Components.getInstance().getDataFactory();
+        customer = dataFactory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+        tasse = dataFactory.createArticle("Tasse", 299, PricingCategory.BasePricing).get();
+        kanne = dataFactory.createArticle("Kanne", 1999, PricingCategory.BasePricing).get();
+    }
+
+    private datamodel.Order createOrder(long id) {
+        return new datamodel.Order(id, customer, PricingCategory.UKPricing.pricing(),
+                LocalDateTime.of(2024, 5, 17, 12, 30, 15, 123456789))
+            .addItem(tasse, id % 7 + 1).addItem(kanne, 2);
+    }
+
+    private List<datamodel.Order> replay(OrderJournalImpl journal) {
+        var orders = new ArrayList<datamodel.Order>();
+        journal.replay(id -> id == customer.getId() ? Optional.of(customer) : Optional.empty(),
+            id -> Optional.ofNullable(id.equals(tasse.getId()) ? tasse : id.equals(kanne.getId()) ? kanne : null),
+            orders::add);
+        return orders;
+    }
+
+    /*
+     * Regular test case 100: replayed orders equal appended orders.
+     */
+    @Test @Order(100)
+    void test100_AppendReplayRegularCases() {
+        var order = createOrder(1000000001L);
+        try (var journal = new OrderJournalImpl(directory, 4096, orderCreator)) {
+            journal.append(order);
+            assertEquals(1L, journal.appended());
+        }
+        try (var journal = new OrderJournalImpl(directory, 4096, orderCreator)) {
+            var orders = replay(journal);
+            assertEquals(1, orders.size());
+            var replayed = orders.get(0);
+            assertEquals(order.getId(), replayed.getId());
+            assertSame(customer, replayed.getCustomer());
+            assertSame(order.getPricing(), replayed.getPricing());
+            assertEquals(order.getCreated(), replayed.getCreated());
+            assertEquals(2L, replayed.itemsCount());
+            assertSame(tasse, replayed.itemArticle(0));
+            assertEquals(order.itemUnitsOrdered(0), replayed.itemUnitsOrdered(0));
+            assertSame(kanne, replayed.itemArticle(1));
+        }
+    }
+
+    /*
+     * Regular test case 110: records roll over into further segments.
+     */
+    @Test @Order(110)
+    void test110_SegmentRollRegularCases() throws Exception {
+        try (var journal = new OrderJournalImpl(directory, 1024, orderCreator)) {
+            for (long id=1; id <= 100; id++) {
+                journal.append(createOrder(id));
+            }
+        }
+        try (var files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+        try (var journal = new OrderJournalImpl(directory, 1024, orderCreator)) {
+            journal.append(createOrder(101));
+            var orders = replay(journal);
+            assertEquals(101, orders.size());
+            for (int i=0; i < orders.size(); i++) {
+                assertEquals(i + 1L, orders.get(i).getId());
+            }
+        }
+    }
+
+    /*
+     * Regular test case 120: torn record at tail is cleared on open.
+     */
+    @Test @Order(120)
+    void test120_TornRecordRegularCases() throws Exception {
+        try (var journal = new OrderJournalImpl(directory, 4096, orderCreator)) {
+            journal.append(createOrder(1)).append(createOrder(2));
+        }
+        var segment = directory.resolve("orders-00000000.journal");
+        try (var file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int end = 0;
+            for (int i=0; i < 2; i++) {
+                file.seek(end);
+                end += file.readInt() + 8;
+            }
+            file.seek(end - 20);    // corrupt second record
+            file.writeLong(-1L);
+        }
+        try (var journal = new OrderJournalImpl(directory, 4096, orderCreator)) {
+            assertEquals(List.of(1L), replay(journal).stream().map(o -> o.getId()).toList());
+            journal.append(createOrder(3));
+            assertEquals(List.of(1L, 3L), replay(journal).stream().map(o -> o.getId()).toList());
+        }
+    }
+
+    /*
+     * Exception test case 125: corrupt record followed by valid records is
+     * not cleared and fails opening the journal.
+     */
+    @Test @Order(125)
+    void test125_CorruptRecordExceptionCases() throws Exception {
+        try (var journal = new OrderJournalImpl(directory, 4096, orderCreator)) {
+            journal.append(createOrder(1)).append(createOrder(2)).append(createOrder(3));
+        }
+        var segment = directory.resolve("orders-00000000.journal");
+        try (var file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int end = file.readInt() + 8;
+            file.seek(end - 20);    // corrupt first record
+            file.writeLong(-1L);
+        }
+        var content = Files.readAllBytes(segment);
+        assertThrows(UncheckedIOException.class, () -> new OrderJournalImpl(directory, 4096, orderCreator));
+        assertArrayEquals(content, Files.readAllBytes(segment));
+    }
+
+    /*
+     * Exception test case 127: corrupt record in a segment other than the
+     * last fails the replay instead of skipping the records behind it.
+     */
+    @Test @Order(127)
+    void test127_CorruptSegmentExceptionCases() throws Exception {
+        try (var journal = new OrderJournalImpl(directory, 1024, orderCreator)) {
+            for (long id=1; id <= 20; id++) {
+                journal.append(createOrder(id));
+            }
+        }
+        var segment = directory.resolve("orders-00000000.journal");
+        try (var file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int end = file.readInt() + 8;
+            file.seek(end - 20);    // corrupt first record
+            file.writeLong(-1L);
+        }
+        try (var journal = new OrderJournalImpl(directory, 1024, orderCreator)) {
+            assertThrows(UncheckedIOException.class, () -> replay(journal));
+        }
+    }
+
+    /*
+     * Regular test case 130: concurrent appends, orders with unknown articles are skipped.
+     */
+    @Test @Order(130)
+    void test130_ConcurrentAppendRegularCases() {
+        var other = Components.getInstance().getDataFactory().createArticle("Teller", 499, PricingCategory.BasePricing).get();
+        try (var journal = new OrderJournalImpl(directory, 1 << 16, orderCreator)) {
+            IntStream.range(0, 2_000).parallel().forEach(i -> journal.append(createOrder(i)));
+            journal.append(createOrder(2_000).addItem(other, 1));
+            assertEquals(2_001L, journal.appended());
+            var ids = replay(journal).stream().mapToLong(o -> o.getId()).sorted().toArray();
+            assertTrue(IntStream.range(0, 2_000).allMatch(i -> ids[i] == i));
+            assertEquals(2_000, ids.length);
+            assertEquals(1L, journal.skipped());
+        }
+    }
+
+    /*
+     * Exception test case 140: invalid arguments and closed journal.
+     */
+    @Test @Order(140)
+    void test140_ExceptionCases() {
+        var journal = new OrderJournalImpl(directory, 4096, orderCreator);
+        assertThrows(IllegalArgumentException.class, () -> journal.append(null));
+        journal.close();
+        assertThrows(IllegalStateException.class, () -> journal.append(createOrder(1)));
+        assertThrows(IllegalArgumentException.class, () -> new OrderJournalImpl(directory, 100, orderCreator));
+        assertThrows(IllegalArgumentException.class, () -> new OrderJournalImpl(directory, 4096, null));
+    }
+}
@@ -0,0 +1,101 @@
+package components.impl;
+
+import components.Components;
+import datamodel.Pricing.PricingCategory;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+
+
+/**
+ * Tests for {@link StringInterner}: [100..199] canonical instances, eviction and saved bytes.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class StringInterner_100_Tests {
+
+    /*
+     * Regular test case 100: equal Strings map to one canonical instance.
+     */
+    @Test @Order(100)
+    void test100_CanonicalInstanceRegularCases() {
+        var interner = new StringInterner(1024, 4);
+        var meyer = new String("Meyer");
+        assertSame(meyer, interner.intern(meyer));
+        assertSame(meyer, interner.intern(new String("Meyer")));
+        assertSame(meyer, interner.intern(meyer));
+        assertNull(interner.intern(null));
+        var stats = interner.stats();
+        assertEquals(1, stats.entries());
+        assertEquals(2L, stats.hits());
+        assertEquals(1L, stats.misses());
+        // only distinct instance counts, net of the entry
+        assertEquals(StringInterner.bytes("Meyer") - StringInterner.entryBytes, stats.savedBytes());
+        assertEquals(48L, StringInterner.bytes("Meyer"));
+        assertEquals(48L, StringInterner.bytes("Müller"));
+        assertEquals(56L, StringInterner.bytes("€ uro"));
+    }
+
+    /*
+     * Regular test case 110: least recently used entries are evicted.
+     */
+    @Test @Order(110)
+    void test110_EvictionRegularCases() {
+        var interner = new StringInterner(4, 1);
+        var first = interner.intern(new String("name-0"));
+        IntStream.range(1, 4).forEach(i -> interner.intern("name-" + i));
+        assertSame(first, interner.intern(new String("name-0")));    // access keeps name-0
+        interner.intern("name-4");    // evicts name-1
+        assertEquals(1L, interner.stats().evictions());
+        assertEquals(4, interner.stats().entries());
+        assertSame(first, interner.intern(new String("name-0")));
+        var second = new String("name-1");
+        assertSame(second, interner.intern(second));
+        interner.clear();
+        assertEquals(0, interner.stats().entries());
+    }
+
+    /*
+     * Regular test case 120: concurrent interning hands out one instance.
+     */
+    @Test @Order(120)
+    void test120_ConcurrentRegularCases() {
+        var interner = new StringInterner(StringInterner.defaultCapacity, StringInterner.defaultSegments);
+        var canonical = IntStream.range(0, 100_000).parallel()
+            .mapToObj(i -> interner.intern(new String("name-" + (i % 100))))
+            .distinct()
+            .map(s -> System.identityHashCode(s))
+            .distinct()
+            .count();
+        assertEquals(100L, canonical);
+        assertEquals(100, interner.stats().entries());
+    }
+
+    /*
+     * Regular test case 130: DataFactory shares names and descriptions of created objects.
+     */
+    @Test @Order(130)
+    void test130_DataFactoryRegularCases() {
+        var dataFactory = Components.getInstance().getDataFactory();
+        long saved = dataFactory.internStats().savedBytes();
+        var c1 = dataFactory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+        var c2 = dataFactory.createCustomer("Meyer, Eric", "eric@gmail.com").get();
+        assertNotSame(c1, c2);
+        assertSame(c1.getLastName(), c2.getLastName());
+        assertSame(c1.getFirstName(), c2.getFirstName());
+        dataFactory.createCustomer("Eric Meyer", "eric@yahoo.com").get();
+        var a1 = dataFactory.createArticle(new String("Tasse"), 299, PricingCategory.BasePricing).get();
+        var a2 = dataFactory.createArticle(new String("Tasse"), 399, PricingCategory.BasePricing).get();
+        assertSame(a1.getDescription(), a2.getDescription());
+        assertTrue(dataFactory.internStats().savedBytes() > saved);
+    }
+}
@@ -0,0 +1,141 @@
+package components.impl;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+
+/**
+ * Tests for {@link TextScanner}: [100..199] scanners produce the same results
+ * as the regular expressions formerly used in {@link DataFactoryImpl}.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TextScanner_100_Differential_Tests {
+
+    /*
+     * Regular expressions formerly used in {@link DataFactoryImpl}.
+     */
+    private final Pattern nameRegex = Pattern.compile("^[A-Za-z][A-Za-z-\\s.]*$");
+    private final Pattern emailRegex = Pattern.compile("^[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z0-9_]+$",
+        Pattern.CASE_INSENSITIVE);
+    private final Pattern phoneRegex = Pattern.compile("^(phone:|fax:|\\+[0-9]+){0,1}\\s*[\\s0-9()][\\s0-9()-]*",
+        Pattern.CASE_INSENSITIVE);
+
+    private String regexTrim(String s) {
+        s = s.replaceAll("^[\\s\"',;]*", "");
+        s = s.replaceAll("[\\s\"',;]*$", "");
+        s = s.replaceAll("[\\s]+", " ");
+        return s;
+    }
+
+    /*
+     * Characters and fragments random inputs are composed of.
+     */
+    private final String[] fragments = {
+        "a", "Z", "e", "0", "7", ".", "-", "_", "%", "+", "@", "(", ")", ":", ",", ";", "\"", "'",
+        " ", "  ", "\t", "\n", "\u000B", "\f", "\r", " ", "ü", "‐", "#", "/",
+        "phone:", "PHONE:", "fax:", "Fax:", "+49", "@gmail", ".com", ".de"
+    };
+
+    private final List<String> regularCases = List.of(
+        "Eric", "E.", "Ulla-Nadine", "von-Blumenfeld", "  'Meyer'  ", "Eric  \t Meyer", "",
+        "eric98@yahoo.com", "eric@gmail.com", "e@a.b", "a@.b", "@a.b", "a@b.", "a@b_c.d", "a@b.c_d",
+        "(030) 3945-642298", "+49 030 3945-642298", "+4", "+49", "+4-1", "+44-1", "phone:030 12",
+        "fax: -12", "phone:", "-123", " -123", "123-", "Schulz-Müller"
+    );
+
+    /*
+     * Regular test case 100: fixed cases.
+     */
+    @Test @Order(100)
+    void test100_FixedRegularCases() {
+        for(String s : regularCases) {
+            assertSame(s);
+        }
+    }
+
+    /*
+     * Regular test case 110: random inputs composed of fragments.
+     */
+    @Test @Order(110)
+    void test110_RandomRegularCases() {
+        var random = new Random(4711L);
+        for(int n=0; n < 300_000; n++) {
+            var sb = new StringBuilder();
+            for(int k = random.nextInt(12); k >= 0; k--) {
+                sb.append(fragments[random.nextInt(fragments.length)]);
+            }
+            assertSame(sb.toString());
+        }
+    }
+
+    /*
+     * Former regex-based name splitter of {@link DataFactoryImpl}.
+     */
+    private String[] regexSplitName(String name) {
+        if (name != null && name.length() > 0) {
+            String first = "", last = "";
+            String[] spl1 = name.split("[,;]");
+            if (spl1.length > 1) {
+                last = spl1[0];
+                first = spl1[1];
+            } else {
+                for (String s : name.split("\\s+")) {
+                    if (last.length() > 0) {
+                        first += (first.length() == 0 ? "" : " ") + last;
+                    }
+                    last = s;
+                }
+            }
+            last = regexTrim(last);
+            first = regexTrim(first);
+            if (nameRegex.matcher(last).matches() && (first.length() == 0 || nameRegex.matcher(first).matches())) {
+                return new String[] { first, last };
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Regular test case 120: name splitter matches former regex-based splitter.
+     */
+    @Test @Order(120)
+    void test120_SplitNameRegularCases() {
+        var random = new Random(4712L);
+        var validator = ComponentsImpl.getInstance().getValidator();
+        var names = new ArrayList<>(regularCases);
+        names.addAll(List.of("Meyer, Anne", "Meyer; Anne", ",Anne", "Meyer,", "Meyer,,Anne", ",,", "Meyer, Anne, Eric",
+            " 'Eric Meyer'  ", "Nadine     Ulla     Blumenfeld", "Eric '", "Eric ' Meyer", "   "));
+        for(int n=0; n < 300_000; n++) {
+            var sb = new StringBuilder();
+            for(int k = random.nextInt(12); k >= 0; k--) {
+                sb.append(fragments[random.nextInt(fragments.length)]);
+            }
+            names.add(sb.toString());
+        }
+        for(String name : names) {
+            var expected = regexSplitName(name);
+            var actual = validator.validateSplitName(name);
+            assertEquals(expected != null, actual.isPresent(), name);
+            if(expected != null) {
+                assertEquals(expected[0], actual.get().first(), name);
+                assertEquals(expected[1], actual.get().last(), name);
+            }
+        }
+    }
+
+    private void assertSame(String s) {
+        assertEquals(regexTrim(s), TextScanner.trimQuotesAndWhiteSpaces(s), s);
+        assertEquals(nameRegex.matcher(s).matches(), TextScanner.isName(s), s);
+        assertEquals(emailRegex.matcher(s).matches(), TextScanner.isEmail(s), s);
+        assertEquals(phoneRegex.matcher(s).matches(), TextScanner.isPhone(s), s);
+    }
+}
@@ -0,0 +1,120 @@
+package datamodel;
+
+import components.DataFactory;
+import components.impl.ComponentsImpl;
+
+import org.junit.jupiter.api.Test;
+import static datamodel.Pricing.PricingCategory.BasePricing;
+import static datamodel.Pricing.PricingCategory.SwissPricing;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class BinaryCodec_100_RoundTrip_Tests {
+
+    private final DataFactory factory = ComponentsImpl.getInstance().getDataFactory();
+
+    private final BinaryCodec codec = factory.codec();
+
+    @Test
+    public void test100_CustomerRoundTripRegularCases() {
+        var customer = factory.createCustomer("Ulla-Nadine Blumenfeld", "ulla@gmail.com").get()
+            .addContact("+49 030 3945-642298");
+        var buffer = codec.write(customer, ByteBuffer.allocate(256)).flip();
+        var copy = codec.readCustomer(buffer);
+        assertNotSame(customer, copy);
+        assertEquals(customer.getId(), copy.getId());
+        assertEquals("Ulla-Nadine", copy.getFirstName());
+        assertEquals("Blumenfeld", copy.getLastName());
+        assertEquals(List.of("ulla@gmail.com", "+49 030 3945-642298"), toList(copy.getContacts()));
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    public void test110_ArticleRoundTripRegularCases() {
+        var article = factory.createArticle("Tasse blau, Größe XL", 299, BasePricing).get();
+        var copy = codec.readArticle(codec.write(article, ByteBuffer.allocate(64)).flip());
+        assertEquals(article.getId(), copy.getId());
+        assertEquals(article.getDescription(), copy.getDescription());
+        // decoding a known id reuses the article and its slot
+        assertSame(article, copy);
+    }
+
+    @Test
+    public void test120_OrderRoundTripRegularCases() {
+        var customer = factory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+        var tasse = factory.createArticle("Tasse", 299, SwissPricing).get();
+        var kanne = factory.createArticle("Kanne", 1999, SwissPricing).get();
+        var order = new Order(8592356245L, customer, SwissPricing.pricing(), LocalDateTime.of(2024, 5, 17, 12, 30, 15, 1000))
+            .addItem(tasse, 4).addItem(kanne, 1);
+        var buffer = codec.write(order, ByteBuffer.allocate(128)).flip();
+        // order id and 1 byte units take less than 30 bytes of body
+        assertTrue(buffer.remaining() < 50);
+        var copy = codec.readOrder(buffer,
+            id -> Optional.of(customer),
+            id -> Optional.ofNullable(id.equals(tasse.getId())? tasse : id.equals(kanne.getId())? kanne : null)).get();
+        assertEquals(order.getId(), copy.getId());
+        assertSame(customer, copy.getCustomer());
+        assertSame(order.getPricing(), copy.getPricing());
+        assertEquals(order.getCreated(), copy.getCreated());
+        assertEquals(List.of(new OrderItem(tasse, 4), new OrderItem(kanne, 1)), toList(copy.getOrderItems()));
+        // unresolved article
+        buffer.rewind();
+        assertEquals(Optional.empty(), codec.readOrder(buffer, id -> Optional.of(customer), id -> Optional.empty()));
+    }
+
+    @Test
+    public void test130_LazyViewRegularCases() {
+        var customer = factory.createCustomer("Meyer, Eric", "eric98@yahoo.com").get();
+        var article = factory.createArticle("Kanne", 1999, BasePricing).get();
+        var order = new Order(1234567890L, customer, BasePricing.pricing(), LocalDateTime.of(2021, 1, 1, 0, 0))
+            .addItem(article, 3);
+        var buffer = ByteBuffer.allocate(512);
+        codec.write(customer, buffer);
+        codec.write(article, buffer);
+        codec.write(order, buffer).flip();
+        var c = BinaryCodec.view(buffer);
+        var a = BinaryCodec.view(buffer);
+        var o = BinaryCodec.view(buffer);
+        assertEquals(0, buffer.remaining());
+        assertEquals(BinaryCodec.Type.Customer, c.type());
+        assertEquals(customer.getId(), c.id());
+        assertEquals("eric98@yahoo.com", c.contact(0));
+        assertEquals(article.getId(), a.articleId());
+        assertEquals(0, a.count());
+        assertEquals(3L, o.unitsOrdered(0));    // items decoded before header fields
+        assertEquals(article.getId(), o.articleId(0));
+        assertEquals(customer.getId(), o.customerId());
+        assertEquals(LocalDateTime.of(2021, 1, 1, 0, 0), o.created());
+        assertEquals(BasePricing, o.category());
+        assertThrows(IndexOutOfBoundsException.class, () -> o.articleId(1));
+    }
+
+    @Test
+    public void test140_CodecExceptionCases() {
+        var article = factory.createArticle("Kanne", 1999, BasePricing).get();
+        var buffer = codec.write(article, ByteBuffer.allocate(64)).flip();
+        assertThrows(IllegalArgumentException.class, () -> codec.readCustomer(buffer.duplicate()));
+        assertThrows(IllegalStateException.class, () -> BinaryCodec.view(buffer.duplicate()).customerId());
+        assertThrows(IllegalStateException.class, () -> BinaryCodec.view(buffer.duplicate()).contact(0));
+        buffer.put(1, (byte) 2);    // schema version 2
+        assertThrows(IllegalArgumentException.class, () -> codec.readArticle(buffer.duplicate()));
+        assertThrows(IllegalArgumentException.class, () -> new BinaryCodec(null, null, null));
+        // registered article id with another description
+        var other = codec.write(new Article(article.getId(), "Kanne rot"), ByteBuffer.allocate(64)).flip();
+        assertThrows(IllegalArgumentException.class, () -> codec.readArticle(other));
+    }
+
+    private static <T> List<T> toList(Iterable<T> items) {
+        var list = new java.util.ArrayList<T>();
+        items.forEach(list::add);
+        return list;
+    }
+}
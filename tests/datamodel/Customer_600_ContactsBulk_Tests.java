@@ -0,0 +1,83 @@
+package datamodel;
+
+import components.DataFactory;
+import components.impl.ComponentsImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * Tests for Customer class: [600..699] bulk contacts-related tests.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class Customer_600_ContactsBulk_Tests {
+
+    /*
+     * Test object.
+     */
+    private Customer c1;
+
+    @BeforeEach
+    public void setUpBeforeEach() {
+        DataFactory dataFactory = ComponentsImpl.getInstance().getDataFactory();
+        c1 = dataFactory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+    }
+
+    private List<String> contacts() {
+        return StreamSupport.stream(c1.getContacts().spliterator(), false).toList();
+    }
+
+    /*
+     * Test case 600: bulk add keeps order, ignores invalid contacts and duplicates.
+     */
+    @Test @Order(600)
+    void test600_addContactsRegularCases() {
+        c1.addContacts(List.of("eric@gmail.com", "  'eric@gmail.com' ", "invalid", "(030) 3534346-6336", "eric98@yahoo.com"));
+        assertEquals(List.of("eric98@yahoo.com", "eric@gmail.com", "(030) 3534346-6336"), contacts());
+        c1.addContacts(null);
+        assertEquals(3, c1.contactsCount());
+    }
+
+    /*
+     * Test case 610: hundreds of contacts with duplicates, delete keeps duplicate detection.
+     */
+    @Test @Order(610)
+    void test610_addContactsManyRegularCases() {
+        var batch = new ArrayList<String>();
+        IntStream.range(0, 500).forEach(i -> batch.add(String.format("eric%03d@gmail.com", i % 300)));
+        c1.addContacts(batch);
+        assertEquals(301, c1.contactsCount());
+        var contacts = contacts();
+        assertEquals("eric98@yahoo.com", contacts.get(0));
+        for (int i=0; i < 300; i++) {
+            assertEquals(String.format("eric%03d@gmail.com", i), contacts.get(i + 1));
+        }
+        c1.deleteContact(1);    // "eric000@gmail.com"
+        c1.addContact("eric001@gmail.com").addContact("eric000@gmail.com");
+        assertEquals(301, c1.contactsCount());
+        assertEquals("eric000@gmail.com", contacts().get(300));
+        c1.deleteAllContacts();
+        c1.addContacts(batch);
+        assertEquals(300, c1.contactsCount());
+    }
+
+    /*
+     * Test case 620: contacts cannot be modified through getContacts().
+     */
+    @Test @Order(620)
+    void test620_getContactsUnmodifiableCases() {
+        assertThrows(UnsupportedOperationException.class, () -> ((List<String>) c1.getContacts()).add("x"));
+    }
+}
@@ -0,0 +1,173 @@
+package datamodel;
+
+import components.DataFactory;
+import components.impl.ComponentsImpl;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static datamodel.Pricing.PricingCategory.BasePricing;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Tests for concurrent use of datamodel objects: [100..199] stress tests
+ * run by a thread pool, threads start at a shared latch.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class Datamodel_100_Concurrency_Tests {
+
+    private final DataFactory factory = ComponentsImpl.getInstance().getDataFactory();
+
+    private final int threads = 8;
+
+    /*
+     * Run task on all threads at the same time, rethrow first failure.
+     */
+    private void runConcurrently(Task task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<?>>();
+            for(int t=0; t < threads; t++) {
+                final int thread = t;
+                futures.add(pool.submit(() -> { start.await(); task.run(thread); return null; }));
+            }
+            start.countDown();
+            for(var future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private interface Task {
+        void run(int thread) throws Exception;
+    }
+
+    private datamodel.Order createOrder() {
+        var customer = factory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+        return new datamodel.Order(1000000001L, customer, BasePricing.pricing(), LocalDateTime.now());
+    }
+
+    /*
+     * Regular test case 100: concurrent addItem loses no items.
+     */
+    @Test @Order(100)
+    void test100_ConcurrentAddItemRegularCases() throws Exception {
+        var order = createOrder();
+        var article = factory.createArticle("Tasse", 299, BasePricing).get();
+        runConcurrently(thread -> {
+            for(int i=0; i < 10_000; i++) {
+                order.addItem(article, 1);
+            }
+        });
+        assertEquals(threads * 10_000L, order.itemsCount());
+    }
+
+    /*
+     * Regular test case 110: concurrent addItem in coalescing mode loses no units.
+     */
+    @Test @Order(110)
+    void test110_ConcurrentCoalescedAddItemRegularCases() throws Exception {
+        var order = createOrder().coalesceItems(true);
+        var articles = new ArrayList<Article>();
+        for(int i=0; i < 50; i++) {
+            articles.add(factory.createArticle("Tasse", 299 + i, BasePricing).get());
+        }
+        runConcurrently(thread -> {
+            for(int i=0; i < 20_000; i++) {
+                order.addItem(articles.get((i + thread) % articles.size()), 1);
+            }
+        });
+        assertEquals(articles.size(), order.itemsCount());
+        long units = 0L;
+        for(OrderItem item : order.getOrderItems()) {
+            units += item.unitsOrdered();
+        }
+        assertEquals(threads * 20_000L, units);
+    }
+
+    /*
+     * Regular test case 120: concurrent addContact keeps all distinct contacts
+     * exactly once while readers iterate consistent snapshots.
+     */
+    @Test @Order(120)
+    void test120_ConcurrentContactsRegularCases() throws Exception {
+        var customer = factory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+        var done = new AtomicBoolean(false);
+        var readerFailed = new AtomicBoolean(false);
+        var reader = new Thread(() -> {
+            while( ! done.get()) {
+                int n = 0;
+                for(String contact : customer.getContacts()) {
+                    if(contact == null)
+                        readerFailed.set(true);
+                    n++;
+                }
+                if(n < 1)
+                    readerFailed.set(true);
+            }
+        });
+        reader.start();
+        try {
+            runConcurrently(thread -> {
+                for(int i=0; i < 200; i++) {
+                    // every contact is added by two threads
+                    customer.addContact("c" + ((thread / 2) * 200 + i) + "@gmail.com");
+                }
+            });
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        assertTrue( ! readerFailed.get());
+        var contacts = new HashSet<String>();
+        customer.getContacts().forEach(contacts::add);
+        assertEquals(1 + (threads / 2) * 200, customer.contactsCount());
+        assertEquals(customer.contactsCount(), contacts.size());
+    }
+
+    /*
+     * Regular test case 130: prices of articles created concurrently are
+     * stored in all pricing categories.
+     */
+    @Test @Order(130)
+    void test130_ConcurrentPricesRegularCases() throws Exception {
+        var created = new ArrayList<List<Article>>();
+        for(int t=0; t < threads; t++) {
+            created.add(new ArrayList<>());
+        }
+        runConcurrently(thread -> {
+            for(int i=0; i < 2_000; i++) {
+                created.get(thread).add(factory.createArticle("Teller", 500 + i, BasePricing).get());
+            }
+        });
+        for(var articles : created) {
+            assertEquals(2_000, articles.size());
+            for(int i=0; i < articles.size(); i++) {
+                var article = articles.get(i);
+                assertEquals(500L + i, BasePricing.pricing().unitPrice(article));
+                for(var category : Pricing.PricingCategory.values()) {
+                    assertTrue(category.pricing().contains(article));
+                    assertTrue(category.pricing().unitPrice(article) > 0L);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package datamodel;
+
+import components.DataFactory;
+import components.impl.ComponentsImpl;
+
+import org.junit.jupiter.api.Test;
+import static datamodel.Pricing.PricingCategory.BasePricing;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Order_100_ItemStore_Tests {
+
+    private final DataFactory factory = ComponentsImpl.getInstance().getDataFactory();
+
+    private Order createOrder() {
+        var customer = factory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+        return new Order(1000000001L, customer, BasePricing.pricing(), LocalDateTime.now());
+    }
+
+    @Test
+    public void test100_ItemStoreRegularCases() {
+        var order = createOrder();
+        var articles = new ArrayList<Article>();
+        for(int i=0; i < 1000; i++) {
+            var article = factory.createArticle("Tasse", 299 + i, BasePricing).get();
+            articles.add(article);
+            order.addItem(article, i + 1);
+        }
+        assertEquals(1000L, order.itemsCount());
+        int i = 0;
+        for(OrderItem item : order.getOrderItems()) {
+            assertSame(articles.get(i), item.article());
+            assertEquals(i + 1L, item.unitsOrdered());
+            assertSame(articles.get(i), order.itemArticle(i));
+            assertEquals(articles.get(i).getSlot(), order.itemArticleSlot(i));
+            assertEquals(i + 1L, order.itemUnitsOrdered(i++));
+        }
+        assertEquals(1000, i);
+    }
+
+    @Test
+    public void test110_DeleteItemRegularCases() {
+        var order = createOrder();
+        var a = factory.createArticle("Tasse", 299, BasePricing).get();
+        var b = factory.createArticle("Kanne", 1999, BasePricing).get();
+        order.addItem(a, 1).addItem(b, 2).addItem(a, 3);
+        order.deleteItem(1);
+        assertEquals(List.of(new OrderItem(a, 1), new OrderItem(a, 3)), toList(order));
+    }
+
+    @Test
+    public void test115_DeleteItemsRegularCases() {
+        var order = createOrder();
+        var articles = new ArrayList<Article>();
+        for(int i=0; i < 10; i++) {
+            articles.add(factory.createArticle("Tasse", 100 + i, BasePricing).get());
+            order.addItem(articles.get(i), i);
+        }
+        // indices refer to original positions, duplicates are ignored
+        order.deleteItems(List.of(9, 0, 3, 4, 3));
+        var expected = new ArrayList<OrderItem>();
+        for(int i : new int[] { 1, 2, 5, 6, 7, 8 }) {
+            expected.add(new OrderItem(articles.get(i), i));
+        }
+        assertEquals(expected, toList(order));
+        order.deleteItems(List.of());
+        assertEquals(expected, toList(order));
+        order.deleteItems(List.of(0, 1, 2, 3, 4, 5));
+        assertEquals(0L, order.itemsCount());
+    }
+
+    @Test
+    public void test116_DeleteItemsExceptionCases() {
+        var order = createOrder();
+        var a = factory.createArticle("Tasse", 299, BasePricing).get();
+        order.addItem(a, 1).addItem(a, 2);
+        assertThrows(IndexOutOfBoundsException.class, () -> order.deleteItems(List.of(0, 2)));
+        assertEquals(2L, order.itemsCount());   // nothing deleted
+        assertThrows(IllegalArgumentException.class, () -> order.deleteItems(null));
+    }
+
+    @Test
+    public void test117_CoalesceItemsRegularCases() {
+        var order = createOrder();
+        var a = factory.createArticle("Tasse", 299, BasePricing).get();
+        var b = factory.createArticle("Kanne", 1999, BasePricing).get();
+        order.addItem(a, 1).addItem(b, 2).addItem(a, 3);
+        order.coalesceItems(true);     // merges existing items of same article
+        assertEquals(List.of(new OrderItem(a, 4), new OrderItem(b, 2)), toList(order));
+        order.addItem(b, 5).addItem(a, 1);
+        assertEquals(List.of(new OrderItem(a, 5), new OrderItem(b, 7)), toList(order));
+        order.deleteItem(0);
+        order.addItem(b, 1).addItem(a, 2);
+        assertEquals(List.of(new OrderItem(b, 8), new OrderItem(a, 2)), toList(order));
+        order.coalesceItems(false).addItem(a, 1);
+        assertEquals(3L, order.itemsCount());
+    }
+
+    @Test
+    public void test118_CoalesceItemsLargeOrderRegularCases() {
+        var order = createOrder().coalesceItems(true);
+        var articles = new ArrayList<Article>();
+        for(int i=0; i < 500; i++) {
+            articles.add(factory.createArticle("Tasse", 100 + i, BasePricing).get());
+        }
+        for(int round=0; round < 4; round++) {
+            for(int i=0; i < articles.size(); i++) {
+                order.addItem(articles.get((i * 7) % articles.size()), 1);
+            }
+        }
+        assertEquals(500L, order.itemsCount());
+        for(OrderItem item : order.getOrderItems()) {
+            assertEquals(4L, item.unitsOrdered());
+        }
+    }
+
+    @Test
+    public void test120_ItemStoreExceptionCases() {
+        var order = createOrder();
+        assertThrows(IndexOutOfBoundsException.class, () -> order.deleteItem(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> order.itemArticleSlot(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> Pricing.article(-1));
+    }
+
+    private static List<OrderItem> toList(Order order) {
+        var items = new ArrayList<OrderItem>();
+        order.getOrderItems().forEach(items::add);
+        return items;
+    }
+}
@@ -0,0 +1,138 @@
+package datamodel;
+
+import components.DataFactory;
+import components.impl.ComponentsImpl;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static datamodel.Pricing.PricingCategory.BasePricing;
+import static datamodel.Pricing.PricingCategory.SwissPricing;
+import static datamodel.Pricing.PricingCategory.UKPricing;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Tests for {@link Pricing}: [100..199] versioned price snapshots.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class Pricing_100_Snapshot_Tests {
+
+    private final DataFactory factory = ComponentsImpl.getInstance().getDataFactory();
+
+    /*
+     * Regular test case 100: a batch is published as one new version,
+     * older snapshots keep their prices.
+     */
+    @Test @Order(100)
+    void test100_BatchPublicationRegularCases() {
+        var a1 = factory.createArticle("Tasse", 299, BasePricing).get();
+        var a2 = factory.createArticle("Teller", 499, BasePricing).get();
+        var before = Pricing.snapshot();
+        var after = Pricing.update(batch -> batch
+            .put(a1, 399, Pricing.TAXRate.Reduced, BasePricing)
+            .put(a2, 599, Pricing.TAXRate.Regular, SwissPricing));
+        assertEquals(before.version() + 1, after.version());
+        assertSame(after, Pricing.snapshot());
+        assertEquals(299L, before.table(BasePricing).unitPrice(a1));
+        assertEquals(399L, after.table(BasePricing).unitPrice(a1));
+        assertEquals(Pricing.TAXRate.Reduced, after.table(UKPricing).taxRate(a1));
+        assertEquals(599L, after.table(SwissPricing).unitPrice(a2));
+        assertEquals(499L, after.table(BasePricing).unitPrice(a2));
+        assertEquals(399L, BasePricing.pricing().unitPrice(a1));
+        // empty batch publishes no version
+        assertSame(after, Pricing.update(batch -> { }));
+        // failed batch publishes neither prices nor price histories
+        int versions = BasePricing.pricing().priceVersions(a1);
+        assertThrows(IllegalStateException.class, () -> Pricing.update(batch -> {
+            batch.put(a1, 499, Pricing.TAXRate.Reduced, BasePricing);
+            throw new IllegalStateException("batch failed");
+        }));
+        assertSame(after, Pricing.snapshot());
+        assertEquals(versions, BasePricing.pricing().priceVersions(a1));
+        assertEquals(399L, BasePricing.pricing().unitPriceAsOf(a1, LocalDateTime.now()));
+    }
+
+    /*
+     * Regular test case 105: a back-dated price only changes the price
+     * history and is published with a new version of the price tables.
+     */
+    @Test @Order(105)
+    void test105_HistoryPublicationRegularCases() {
+        var article = factory.createArticle("Kanne", 1999, BasePricing).get();
+        var before = Pricing.snapshot();
+        var yesterday = LocalDateTime.now().minusDays(1);
+        var after = Pricing.update(batch -> batch.effectiveFrom(yesterday)
+            .put(article, 1899, Pricing.TAXRate.Regular, BasePricing));
+        assertEquals(before.version() + 1, after.version());
+        assertSame(after, Pricing.snapshot());
+        assertEquals(1999L, after.table(BasePricing).unitPrice(article));
+        assertEquals(2, BasePricing.pricing().priceVersions(article));
+        assertEquals(1899L, BasePricing.pricing().unitPriceAsOf(article, yesterday.plusHours(1)));
+    }
+
+    /*
+     * Regular test case 110: articles without prices.
+     */
+    @Test @Order(110)
+    void test110_MissingPricesRegularCases() {
+        var article = new Article("SKU-999999", "Unpriced");
+        var table = Pricing.snapshot().table(UKPricing);
+        assertFalse(table.contains(article));
+        assertEquals(0L, table.unitPrice(article));
+        assertEquals(Pricing.TAXRate.Regular, table.taxRate(article));
+        assertEquals(2000, table.taxRateBasisPointsAt(article.getSlot()));
+        assertThrows(IllegalArgumentException.class, () -> Pricing.update(null));
+    }
+
+    /*
+     * Regular test case 120: readers of a snapshot see either all or none
+     * of the prices of a batch under continuous repricing.
+     */
+    @Test @Order(120)
+    void test120_ConsistentReadsRegularCases() throws Exception {
+        var a1 = factory.createArticle("Tasse", 100, BasePricing).get();
+        var a2 = factory.createArticle("Teller", 100, BasePricing).get();
+        var done = new AtomicBoolean(false);
+        var inconsistent = new AtomicLong();
+        var reader = new Thread(() -> {
+            while( ! done.get()) {
+                var snapshot = Pricing.snapshot();
+                long p = snapshot.table(BasePricing).unitPrice(a1);
+                if(snapshot.table(BasePricing).unitPrice(a2) != p
+                        || snapshot.table(SwissPricing).unitPrice(a1) != p
+                        || snapshot.table(UKPricing).unitPrice(a2) != p)
+                    inconsistent.incrementAndGet();
+            }
+        });
+        Pricing.update(batch -> batch
+            .put(a1, 100, Pricing.TAXRate.Regular, SwissPricing)
+            .put(a2, 100, Pricing.TAXRate.Regular, UKPricing));
+        reader.start();
+        try {
+            for(long p=101; p < 20_000; p++) {
+                final long price = p;
+                Pricing.update(batch -> batch
+                    .put(a1, price, Pricing.TAXRate.Regular, BasePricing)
+                    .put(a2, price, Pricing.TAXRate.Regular, BasePricing)
+                    .put(a1, price, Pricing.TAXRate.Regular, SwissPricing)
+                    .put(a2, price, Pricing.TAXRate.Regular, UKPricing));
+            }
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        assertEquals(0L, inconsistent.get());
+        assertTrue(Pricing.snapshot().table(BasePricing).articles() >= 2);
+    }
+}
@@ -0,0 +1,126 @@
+package datamodel;
+
+import components.DataFactory;
+import components.impl.ComponentsImpl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static datamodel.Pricing.PricingCategory.BasePricing;
+import static datamodel.Pricing.PricingCategory.BlackFridayPricing;
+import static datamodel.Pricing.PricingCategory.SwissPricing;
+import static datamodel.Pricing.PricingCategory.UKPricing;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Tests for {@link Pricing}: [200..299] lazy derived category prices.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class Pricing_200_LazyDerived_Tests {
+
+    private final DataFactory factory = ComponentsImpl.getInstance().getDataFactory();
+
+    @AfterEach
+    public void tearDownAfterEach() {
+        Pricing.derivedPrices(Pricing.DerivedPrices.Stored);
+    }
+
+    /*
+     * Regular test case 200: lazy derived prices equal stored derived prices,
+     * derived categories store no prices.
+     */
+    @Test @Order(200)
+    void test200_LazyPricesRegularCases() {
+        var stored = factory.createArticle("Tasse", 2497, BasePricing, Pricing.TAXRate.Reduced).get();
+        Pricing.derivedPrices(Pricing.DerivedPrices.Lazy);
+        var lazy = factory.createArticle("Tasse", 2497, BasePricing, Pricing.TAXRate.Reduced).get();
+        var snapshot = Pricing.snapshot();
+        for(var category : Pricing.PricingCategory.values()) {
+            var table = snapshot.table(category);
+            assertEquals(table.unitPrice(stored), table.unitPrice(lazy), category.name());
+            assertEquals(Pricing.TAXRate.Reduced, table.taxRate(lazy));
+            assertTrue(table.contains(lazy));
+            assertTrue(table.isStored(stored));
+            assertEquals(category == BasePricing, table.isStored(lazy));
+        }
+        assertEquals(4495L, SwissPricing.pricing().unitPrice(lazy));
+        assertEquals(500, UKPricing.pricing().taxRateBasisPoints(lazy));
+    }
+
+    /*
+     * Regular test case 210: hits and misses of the cache of derived prices.
+     */
+    @Test @Order(210)
+    void test210_CacheStatsRegularCases() {
+        Pricing.derivedPrices(Pricing.DerivedPrices.Lazy);
+        var article = factory.createArticle("Teller", 1000, BasePricing).get();
+        var pricing = BlackFridayPricing.pricing();
+        var before = pricing.derivedPriceStats();
+        long price = pricing.unitPrice(article);
+        for(int i=0; i < 9; i++) {
+            assertEquals(price, pricing.unitPrice(article));
+        }
+        var after = pricing.derivedPriceStats();
+        assertEquals(BlackFridayPricing, after.category());
+        assertEquals(before.misses() + 1, after.misses());
+        assertEquals(before.hits() + 9, after.hits());
+        assertEquals(before.cached() + 1, after.cached());
+        // changed base price invalidates cached price
+        BasePricing.pricing().put(article, 2000, Pricing.TAXRate.Regular, BasePricing);
+        assertEquals(1605L, pricing.unitPrice(article));
+        assertEquals(after.misses() + 1, pricing.derivedPriceStats().misses());
+        assertEquals(after.cached() + 0, pricing.derivedPriceStats().cached());
+    }
+
+    /*
+     * Regular test case 215: prices beyond the range of cache entries are
+     * computed without the cache.
+     */
+    @Test @Order(215)
+    void test215_UncachedPricesRegularCases() {
+        Pricing.derivedPrices(Pricing.DerivedPrices.Lazy);
+        var article = factory.createArticle("Schrank", 5_000_000_000L, BasePricing).get();
+        var pricing = BlackFridayPricing.pricing();
+        var before = pricing.derivedPriceStats();
+        assertEquals(4_000_000_005L, pricing.unitPrice(article));
+        assertEquals(4_000_000_005L, pricing.unitPrice(article));
+        assertEquals(before.misses() + 2, pricing.derivedPriceStats().misses());
+        assertEquals(before.cached(), pricing.derivedPriceStats().cached());
+    }
+
+    /*
+     * Regular test case 220: overrides of derived prices, replaced by the
+     * next base price.
+     */
+    @Test @Order(220)
+    void test220_OverridesRegularCases() {
+        Pricing.derivedPrices(Pricing.DerivedPrices.Lazy);
+        var article = factory.createArticle("Becher", 1000, BasePricing).get();
+        int overrides = UKPricing.pricing().derivedPriceStats().overrides();
+        UKPricing.pricing().put(article, 777, Pricing.TAXRate.Excempt, UKPricing);
+        assertEquals(777L, UKPricing.pricing().unitPrice(article));
+        assertEquals(Pricing.TAXRate.Excempt, UKPricing.pricing().taxRate(article));
+        assertTrue(UKPricing.pricing().table().isStored(article));
+        assertEquals(overrides + 1, UKPricing.pricing().derivedPriceStats().overrides());
+        BasePricing.pricing().put(article, 1000, Pricing.TAXRate.Regular, BasePricing);
+        assertFalse(UKPricing.pricing().table().isStored(article));
+        assertEquals(1155L, UKPricing.pricing().unitPrice(article));
+        assertEquals(overrides, UKPricing.pricing().derivedPriceStats().overrides());
+    }
+
+    /*
+     * Exception test case 230: invalid mode.
+     */
+    @Test @Order(230)
+    void test230_DerivedPricesExceptionCases() {
+        assertThrows(IllegalArgumentException.class, () -> Pricing.derivedPrices(null));
+        assertEquals(Pricing.DerivedPrices.Stored, Pricing.derivedPrices());
+    }
+}
@@ -0,0 +1,159 @@
+package datamodel;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static datamodel.Pricing.PricingCategory.BasePricing;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+
+/**
+ * Tests for {@link Pricing}: [300..399] article slots, pages and footprint
+ * of columnar price tables.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class Pricing_300_Footprint_Tests {
+
+    /*
+     * Bytes of one allocated page: price and tax code arrays of 256 slots.
+     */
+    private static final long pageBytes = 2 * 16 + 256 * (Long.BYTES + 1);
+
+    /*
+     * Bytes of one allocated history page of 256 references and of a history
+     * with one version: object, from and price arrays, tax code array.
+     */
+    private static final long historyPageBytes = 16 + 256 * Integer.BYTES;
+    private static final long historyBytes = 24 + 2 * (16 + Long.BYTES) + 24;
+
+    private static int next = 0;
+
+    /*
+     * Create article and register it so that it receives its slot.
+     */
+    private static Article createArticle() {
+        var article = new Article(String.format("SKU-F%05d", next++), "Tasse");
+        Pricing.register(article);
+        return article;
+    }
+
+    /*
+     * Regular test case 300: articles receive dense, consecutive slots.
+     */
+    @Test @Order(300)
+    void test300_DenseSlotsRegularCases() {
+        var first = createArticle();
+        for(int i=1; i < 300; i++) {
+            var article = createArticle();
+            assertEquals(first.getSlot() + i, article.getSlot());
+            assertEquals(article, Pricing.article(article.getSlot()));
+        }
+    }
+
+    /*
+     * Regular test case 310: a page is allocated for the first price of an
+     * article that crosses the 256-slot page boundary, not for later prices.
+     */
+    @Test @Order(310)
+    void test310_PageBoundaryRegularCases() {
+        Article last;
+        do {
+            last = createArticle();
+        } while((last.getSlot() & 255) != 255);
+        var first = createArticle();
+        assertEquals(0, first.getSlot() & 255);
+        BasePricing.pricing().put(last, 100, Pricing.TAXRate.Regular, BasePricing);
+        var before = Pricing.snapshot().table(BasePricing);
+        BasePricing.pricing().put(first, 200, Pricing.TAXRate.Regular, BasePricing);
+        var after = Pricing.snapshot().table(BasePricing);
+        assertTrue(after.pageCapacity() > first.getSlot() >>> 8);
+        assertEquals(before.footprint().articles() + 1, after.footprint().articles());
+        assertEquals(pageBytes + 2L * (after.pageCapacity() - before.pageCapacity()) * Integer.BYTES,
+            after.footprint().tableBytes() - before.footprint().tableBytes());
+        var second = createArticle();
+        BasePricing.pricing().put(second, 300, Pricing.TAXRate.Regular, BasePricing);
+        assertEquals(after.footprint().tableBytes(), BasePricing.pricing().footprint().tableBytes());
+        assertEquals(200L, BasePricing.pricing().unitPrice(first));
+        assertEquals(100L, BasePricing.pricing().unitPrice(last));
+    }
+
+    /*
+     * Regular test case 320: bytes reported for a page of 256 new articles.
+     */
+    @Test @Order(320)
+    void test320_FootprintRegularCases() {
+        Article article;
+        do {
+            article = createArticle();
+        } while((article.getSlot() & 255) != 0);
+        var articles = new ArrayList<Article>();
+        articles.add(article);
+        for(int i=1; i < 256; i++) {
+            articles.add(createArticle());
+        }
+        var before = Pricing.snapshot().table(BasePricing);
+        var historiesBefore = BasePricing.pricing().footprint();
+        int historyCapacity = BasePricing.pricing().historyPageCapacity();
+        Pricing.update(batch -> articles.forEach(a -> batch.put(a, 100, Pricing.TAXRate.Reduced, BasePricing)));
+        var after = Pricing.snapshot().table(BasePricing);
+        var footprint = after.footprint();
+        assertEquals(BasePricing, footprint.category());
+        assertEquals(before.articles() + 256, footprint.articles());
+        assertEquals(footprint.articles() * (32L + 24L + 6L), footprint.mapBytes());
+        assertEquals(before.footprint().tableBytes() + pageBytes
+            + 2L * (after.pageCapacity() - before.pageCapacity()) * Integer.BYTES, footprint.tableBytes());
+        assertEquals(footprint.mapBytes() - footprint.tableBytes(), footprint.savedBytes());
+        assertEquals(0L, footprint.historyBytes());
+        // page of 256 histories with one version each
+        var histories = BasePricing.pricing().footprint();
+        assertEquals(historiesBefore.historyBytes() + historyPageBytes + 256 * historyBytes
+            + (long) (BasePricing.pricing().historyPageCapacity() - historyCapacity) * Integer.BYTES,
+            histories.historyBytes());
+        assertEquals(footprint.tableBytes(), histories.tableBytes());
+    }
+
+    /*
+     * Regular test case 330: articles receive a slot when first priced, a
+     * released article has no prices and no longer resolves by slot or id.
+     */
+    @Test @Order(330)
+    void test330_ReleaseRegularCases() {
+        var article = new Article(String.format("SKU-F%05d", next++), "Kanne");
+        assertEquals(-1, article.getSlot());
+        assertTrue(Pricing.article(article.getId()).isEmpty());
+        Pricing.update(batch -> batch
+            .put(article, 1999, Pricing.TAXRate.Regular, BasePricing)
+            .put(article, 1899, Pricing.TAXRate.Regular, Pricing.PricingCategory.BlackFridayPricing));
+        int slot = article.getSlot();
+        assertTrue(slot >= 0);
+        assertSame(article, Pricing.article(slot));
+        assertSame(article, Pricing.article(article.getId()).get());
+        Pricing.release(article);
+        assertFalse(BasePricing.pricing().contains(article));
+        assertFalse(Pricing.PricingCategory.BlackFridayPricing.pricing().contains(article));
+        assertTrue(Pricing.article(article.getId()).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> Pricing.article(slot));
+        assertEquals(slot, article.getSlot());
+    }
+
+    /*
+     * Regular test case 340: adding an unpriced article to an order registers it.
+     */
+    @Test @Order(340)
+    void test340_OrderRegistersRegularCases() {
+        var article = new Article(String.format("SKU-F%05d", next++), "Teller");
+        var order = new datamodel.Order(1L, null, BasePricing.pricing(), LocalDateTime.now());
+        order.addItem(article, 2);
+        assertTrue(article.getSlot() >= 0);
+        assertSame(article, order.itemArticle(0));
+    }
+}